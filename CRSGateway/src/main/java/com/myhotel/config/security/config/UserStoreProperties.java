@@ -0,0 +1,92 @@
+package com.myhotel.config.security.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Users of the gateway with their BCrypt hashed passwords, and the settings of
+ * the cache of resolved users.
+ */
+@ConfigurationProperties("gateway.security")
+public class UserStoreProperties {
+
+	private List<UserEntry> users = new ArrayList<>();
+
+	private UserCache userCache = new UserCache();
+
+	public List<UserEntry> getUsers() {
+		return users;
+	}
+
+	public void setUsers(List<UserEntry> users) {
+		this.users = users;
+	}
+
+	public UserCache getUserCache() {
+		return userCache;
+	}
+
+	public void setUserCache(UserCache userCache) {
+		this.userCache = userCache;
+	}
+
+	public static class UserEntry {
+
+		private String username;
+
+		private String password;
+
+		private List<String> roles = new ArrayList<>();
+
+		public String getUsername() {
+			return username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+		public List<String> getRoles() {
+			return roles;
+		}
+
+		public void setRoles(List<String> roles) {
+			this.roles = roles;
+		}
+	}
+
+	public static class UserCache {
+
+		private long maxSize = 10000;
+
+		private Duration ttl = Duration.ofMinutes(10);
+
+		public long getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(long maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+	}
+
+}
@@ -3,11 +3,16 @@ package com.myhotel.config.security.config.util;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -17,6 +22,14 @@ public class JwtUtil {
 
 	private static final String SECRET = "SecretKey";
 
+	private static final long MAX_VERIFIED_TOKENS = 10000;
+
+	// Verified tokens are kept until they expire, so a token is parsed once
+	private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder().maximumSize(MAX_VERIFIED_TOKENS)
+			.expireAfter(new TokenExpiry()).build();
+
+	private final Function<String, Claims> verifier = this::extractAllClaims;
+
 	public String generateToken(UserDetails userDetails) {
 		Map<String, Object> claims = new HashMap<>();
 		claims.put("authorities", userDetails.getAuthorities());
@@ -34,7 +47,7 @@ public class JwtUtil {
 	}
 
 	public <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-		final Claims claims = extractAllClaims(token);
+		final Claims claims = verifiedTokens.get(token, verifier);
 		return claimResolver.apply(claims);
 	}
 
@@ -54,4 +67,24 @@ public class JwtUtil {
 		String userName = extractUsername(token);
 		return userDetails.getUsername().equals(userName) && !isTokenExpired(token);
 	}
-}
\ No newline at end of file
+
+	private static class TokenExpiry implements Expiry<String, Claims> {
+
+		@Override
+		public long expireAfterCreate(String token, Claims claims, long currentTime) {
+			Date expiration = claims.getExpiration();
+			long remaining = expiration != null ? expiration.getTime() - System.currentTimeMillis() : 0;
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -39,8 +40,8 @@ public class PerRequestFilter extends OncePerRequestFilter {
 			userName = jwtUtil.extractUsername(token);
 		}
 		if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
-			if (jwtUtil.isValidToken(token, userDetails)) {
+			UserDetails userDetails = loadUser(userName);
+			if (userDetails != null && jwtUtil.isValidToken(token, userDetails)) {
 				UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
 						userDetails, authorizationHeader, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken
@@ -51,4 +52,13 @@ public class PerRequestFilter extends OncePerRequestFilter {
 
 		filterChain.doFilter(request, response);
 	}
+
+	// Tokens of users no longer in the store leave the request unauthenticated
+	private UserDetails loadUser(String userName) {
+		try {
+			return userDetailsService.loadUserByUsername(userName);
+		} catch (UsernameNotFoundException e) {
+			return null;
+		}
+	}
 }
\ No newline at end of file
@@ -1,31 +1,50 @@
 package com.myhotel.config.security.service.impl;
 
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myhotel.config.security.config.UserStoreProperties;
+
+/**
+ * Resolves the gateway users from the configured store. The passwords are held
+ * already hashed, so resolving a user never runs BCrypt, and resolved users are
+ * cached for the configured time.
+ */
 @Service
+@EnableConfigurationProperties(UserStoreProperties.class)
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-	@Bean
-	PasswordEncoder getEncoder() {
-		return new BCryptPasswordEncoder();
+	private final Map<String, UserDetails> users = new HashMap<>();
+
+	private final Cache<String, UserDetails> resolvedUsers;
+
+	public UserDetailsServiceImpl(UserStoreProperties properties) {
+		properties.getUsers().forEach(user -> users.put(user.getUsername(), User.withUsername(user.getUsername())
+				.password(user.getPassword()).roles(user.getRoles().toArray(new String[0])).build()));
+
+		resolvedUsers = Caffeine.newBuilder().maximumSize(properties.getUserCache().getMaxSize())
+				.expireAfterWrite(properties.getUserCache().getTtl()).build();
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+		// A copy is returned as authentication erases the credentials of the user it is given
+		return User.withUserDetails(resolvedUsers.get(username, this::findUser)).build();
+	}
 
-		if (username.equals("admin"))
-			return new User("admin", getEncoder().encode("admin"), Arrays.asList(() -> "ROLE_ADMIN"));
-		else
-			return new User("user", getEncoder().encode("user"), Arrays.asList(() -> "ROLE_USER"));
-
+	private UserDetails findUser(String username) {
+		UserDetails user = users.get(username);
+		if (user == null)
+			throw new UsernameNotFoundException("User " + username + " not found");
+		return user;
 	}
-}
\ No newline at end of file
+}
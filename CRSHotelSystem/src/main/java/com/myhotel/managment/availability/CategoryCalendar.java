@@ -0,0 +1,221 @@
+package com.myhotel.managment.availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.myhotel.managment.domain.RoomYear;
+
+/**
+ * Immutable snapshot of the booked nights of every room in one hotel category.
+ * Each room is held as a bitmap where bit {@code n} stands for the epoch day
+ * {@code origin + n}, so all rooms of the category share the same bit layout
+ * and a date range can be tested against a room with a single word-wide AND.
+ *
+ * @author Sushil Yadav
+ */
+class CategoryCalendar {
+
+	private final long origin;
+
+	private final Map<Long, BitSet> rooms;
+
+	private CategoryCalendar(long origin, Map<Long, BitSet> rooms) {
+		this.origin = origin;
+		this.rooms = Collections.unmodifiableMap(rooms);
+	}
+
+	/**
+	 * Builds a calendar straight from the yearly bitmaps of the rooms provided,
+	 * their words are copied bit by bit without creating any date.
+	 *
+	 * @param Map<Long, Collection<RoomYear>> bitmaps by room id.
+	 * @return the CategoryCalendar.
+	 */
+	static CategoryCalendar of(Map<Long, ? extends Collection<RoomYear>> roomYears) {
+		long origin = LocalDate.now().toEpochDay();
+		for (Collection<RoomYear> years : roomYears.values())
+			for (RoomYear year : years)
+				if (!year.getNights().isEmpty())
+					origin = Math.min(origin, firstEpochDay(year));
+
+		Map<Long, BitSet> rooms = new LinkedHashMap<>();
+		for (Map.Entry<Long, ? extends Collection<RoomYear>> entry : roomYears.entrySet()) {
+			BitSet bits = new BitSet();
+			for (RoomYear year : entry.getValue())
+				year.getNights().copyTo(bits, (int) (firstEpochDay(year) - origin));
+			rooms.put(entry.getKey(), bits);
+		}
+		return new CategoryCalendar(origin, rooms);
+	}
+
+	/**
+	 * Returns a copy of this calendar with the nights of one room replaced. The
+	 * bit layout is shifted when the room holds a night earlier than the current
+	 * origin.
+	 *
+	 * @param Long                  roomId.
+	 * @param Collection<LocalDate> bookedDates of the room.
+	 * @return the new CategoryCalendar.
+	 */
+	CategoryCalendar with(Long roomId, Collection<LocalDate> bookedDates) {
+		long newOrigin = Math.min(origin, minEpochDay(bookedDates));
+		int shift = (int) (origin - newOrigin);
+
+		Map<Long, BitSet> copy = new LinkedHashMap<>();
+		rooms.forEach((id, bits) -> copy.put(id, shift == 0 ? bits : shift(bits, shift)));
+		copy.put(roomId, toBits(newOrigin, bookedDates));
+		return new CategoryCalendar(newOrigin, copy);
+	}
+
+	/**
+	 * Returns a copy of this calendar with nights added to the ones already booked
+	 * for a room.
+	 *
+	 * @param Long                  roomId.
+	 * @param Collection<LocalDate> nights newly booked.
+	 * @return the new CategoryCalendar.
+	 */
+	CategoryCalendar plus(Long roomId, Collection<LocalDate> nights) {
+		List<LocalDate> bookedDates = bookedDates(roomId);
+		bookedDates.addAll(nights);
+		return with(roomId, bookedDates);
+	}
+
+	/**
+	 * Returns a copy of this calendar without the room provided.
+	 *
+	 * @param Long roomId.
+	 * @return the new CategoryCalendar.
+	 */
+	CategoryCalendar without(Long roomId) {
+		Map<Long, BitSet> copy = new LinkedHashMap<>(rooms);
+		copy.remove(roomId);
+		return new CategoryCalendar(origin, copy);
+	}
+
+	boolean contains(Long roomId) {
+		return rooms.containsKey(roomId);
+	}
+
+	/**
+	 * Get the rooms with no booked night between the dates provided, both
+	 * inclusive.
+	 *
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @return the List<Long> of room ids.
+	 */
+	List<Long> findAvailable(LocalDate from, LocalDate to) {
+		long last = to.toEpochDay() - origin;
+		if (last < 0)
+			return new ArrayList<>(rooms.keySet());
+
+		BitSet requested = new BitSet();
+		requested.set((int) Math.max(0, from.toEpochDay() - origin), (int) last + 1);
+
+		List<Long> available = new ArrayList<>();
+		rooms.forEach((id, bits) -> {
+			if (!bits.intersects(requested))
+				available.add(id);
+		});
+		return available;
+	}
+
+	/**
+	 * Get the number of free rooms on every date between the dates provided, both
+	 * inclusive.
+	 *
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @return the long[] of free rooms, index 0 standing for from.
+	 */
+	long[] countFree(LocalDate from, LocalDate to) {
+		long[] free = new long[(int) (to.toEpochDay() - from.toEpochDay()) + 1];
+		Arrays.fill(free, rooms.size());
+
+		long first = from.toEpochDay() - origin;
+		long last = to.toEpochDay() - origin;
+		if (last < 0)
+			return free;
+
+		rooms.values().forEach(bits -> {
+			for (int bit = bits.nextSetBit((int) Math.max(0, first)); bit >= 0 && bit <= last; bit = bits
+					.nextSetBit(bit + 1))
+				free[(int) (bit - first)]--;
+		});
+		return free;
+	}
+
+	/**
+	 * Get the number of rooms free for a stay of consecutive nights starting on
+	 * every date from which the stay ends by to. Each room is scanned once, its
+	 * run of free nights counting a stay whenever it reaches the length asked,
+	 * so a stay is only counted when a single room can hold all of it.
+	 *
+	 * @param LocalDate from, LocalDate to for the nights of the window.
+	 * @param int       nights, of the stay, at most the nights of the window.
+	 * @return the long[] of free rooms, index 0 standing for a stay starting on
+	 *         from.
+	 */
+	long[] countStays(LocalDate from, LocalDate to, int nights) {
+		int window = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+		long[] stays = new long[window - nights + 1];
+		long first = from.toEpochDay() - origin;
+
+		rooms.values().forEach(bits -> {
+			int free = 0;
+			for (int day = 0; day < window; day++) {
+				long bit = first + day;
+				free = bit >= 0 && bits.get((int) bit) ? 0 : free + 1;
+				if (free >= nights)
+					stays[day - nights + 1]++;
+			}
+		});
+		return stays;
+	}
+
+	/**
+	 * Get the booked dates of the room provided in ascending order.
+	 *
+	 * @param Long roomId.
+	 * @return the List<LocalDate>.
+	 */
+	List<LocalDate> bookedDates(Long roomId) {
+		List<LocalDate> dates = new ArrayList<>();
+		BitSet bits = rooms.get(roomId);
+		if (bits != null)
+			bits.stream().forEach(bit -> dates.add(LocalDate.ofEpochDay(origin + bit)));
+		return dates;
+	}
+
+	private static long firstEpochDay(RoomYear year) {
+		return LocalDate.ofYearDay(year.getId().getYear(), 1).toEpochDay();
+	}
+
+	private static long minEpochDay(Collection<LocalDate> dates) {
+		long min = Long.MAX_VALUE;
+		if (dates != null)
+			for (LocalDate date : dates)
+				min = Math.min(min, date.toEpochDay());
+		return min;
+	}
+
+	private static BitSet toBits(long origin, Collection<LocalDate> dates) {
+		BitSet bits = new BitSet();
+		if (dates != null)
+			dates.forEach(date -> bits.set((int) (date.toEpochDay() - origin)));
+		return bits;
+	}
+
+	private static BitSet shift(BitSet bits, int shift) {
+		BitSet shifted = new BitSet(bits.length() + shift);
+		bits.stream().forEach(bit -> shifted.set(bit + shift));
+		return shifted;
+	}
+
+}
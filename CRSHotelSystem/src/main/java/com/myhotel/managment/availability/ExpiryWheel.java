@@ -0,0 +1,95 @@
+package com.myhotel.managment.availability;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of keys expiring at a given time. Keys are hashed by the
+ * tick they expire at into a fixed ring of buckets, so scheduling and
+ * cancelling are constant time and every tick only visits its own bucket, no
+ * matter how many keys are pending. Keys further away than a turn of the wheel
+ * wait in their bucket until the turn they are due.
+ *
+ * @author Sushil Yadav
+ */
+public class ExpiryWheel<K> {
+
+	private final long tickMillis;
+	private final List<Map<K, Long>> buckets;
+	private final Map<K, Long> ticks = new HashMap<>();
+	private long currentTick;
+
+	public ExpiryWheel(int size, long tickMillis, long nowMillis) {
+		this.tickMillis = tickMillis;
+		this.buckets = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			buckets.add(new HashMap<>());
+		this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+	}
+
+	/**
+	 * Schedules a key, replacing its previous expiry.
+	 *
+	 * @param K    key.
+	 * @param long expiresAtMillis, epoch millis the key expires at.
+	 */
+	public synchronized void schedule(K key, long expiresAtMillis) {
+		cancel(key);
+		// Expired on the first tick reached at or after its time, and never on a past tick
+		long tick = Math.max(-Math.floorDiv(-expiresAtMillis, tickMillis), currentTick + 1);
+		bucket(tick).put(key, tick);
+		ticks.put(key, tick);
+	}
+
+	/**
+	 * Cancels a key.
+	 *
+	 * @param K key.
+	 * @return true when the key was pending.
+	 */
+	public synchronized boolean cancel(K key) {
+		Long tick = ticks.remove(key);
+		if (tick == null)
+			return false;
+		bucket(tick).remove(key);
+		return true;
+	}
+
+	/**
+	 * Moves the wheel up to the time provided.
+	 *
+	 * @param long nowMillis, epoch millis.
+	 * @return the List<K> of keys expired since the last move.
+	 */
+	public synchronized List<K> advance(long nowMillis) {
+		long nowTick = Math.floorDiv(nowMillis, tickMillis);
+		List<K> expired = new ArrayList<>();
+
+		// After a pause longer than a turn every bucket is visited once
+		for (long tick = Math.max(currentTick + 1, nowTick - buckets.size() + 1); tick <= nowTick; tick++) {
+			Iterator<Map.Entry<K, Long>> entries = bucket(tick).entrySet().iterator();
+			while (entries.hasNext()) {
+				Map.Entry<K, Long> entry = entries.next();
+				if (entry.getValue() <= nowTick) {
+					expired.add(entry.getKey());
+					ticks.remove(entry.getKey());
+					entries.remove();
+				}
+			}
+		}
+		currentTick = Math.max(currentTick, nowTick);
+		return expired;
+	}
+
+	public synchronized int size() {
+		return ticks.size();
+	}
+
+	private Map<K, Long> bucket(long tick) {
+		return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.myhotel.managment.availability;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.myhotel.managment.repository.RoomRepository;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled check that the night bitmaps still match the RoomNight rows they
+ * are derived from. Rooms found to differ are locked like a booking would, one
+ * transaction each, and their bitmaps rebuilt from the rows.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class NightReconciliationJob {
+
+	private RoomRepository roomRepository;
+	private RoomNightStore nightStore;
+	private TransactionTemplate transactionTemplate;
+
+	@Getter
+	@Setter
+	@Value("${hotel.nights.reconcile.enabled:true}")
+	private boolean enabled = true;
+
+	public NightReconciliationJob(RoomRepository roomRepository, RoomNightStore nightStore,
+			PlatformTransactionManager transactionManager) {
+		this.roomRepository = roomRepository;
+		this.nightStore = nightStore;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(cron = "${hotel.nights.reconcile.cron:0 30 4 * * SUN}")
+	public void run() {
+		if (enabled)
+			reconcile();
+	}
+
+	/**
+	 * Rebuilds the bitmaps of every room which differ from its RoomNight rows.
+	 *
+	 * @return the List<Long> of rooms repaired.
+	 */
+	public List<Long> reconcile() {
+		Set<Long> drifted = nightStore.findDrifted();
+		// Checked again under the lock, the room may have been booked while it was read
+		List<Long> repaired = drifted.stream().filter(roomId -> transactionTemplate.execute(status -> {
+			roomRepository.findByIdForUpdate(roomId);
+			return nightStore.rebuild(roomId);
+		})).collect(Collectors.toList());
+
+		if (!repaired.isEmpty())
+			log.warn("Rebuilt the night bitmaps of {} rooms which differed from their booked nights: {}",
+					repaired.size(), repaired);
+		return repaired;
+	}
+
+}
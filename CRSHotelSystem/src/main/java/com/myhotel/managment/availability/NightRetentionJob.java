@@ -0,0 +1,140 @@
+package com.myhotel.managment.availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.myhotel.managment.domain.RoomNightHistory;
+import com.myhotel.managment.domain.RoomNightId;
+import com.myhotel.managment.repository.RoomNightHistoryRepository;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled purge of the nights booked before the retention horizon. Nights are
+ * moved to the history table, or dropped when archiving is disabled, in batches
+ * of their own transaction. The rooms of a batch are locked like a booking
+ * would, and the job pauses between batches so live bookings keep going while
+ * a large backlog is worked through.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class NightRetentionJob {
+
+	private RoomRepository roomRepository;
+	private RoomNightRepository roomNightRepository;
+	private RoomNightHistoryRepository historyRepository;
+	private RoomNightStore nightStore;
+	private TransactionTemplate transactionTemplate;
+
+	@Getter
+	@Setter
+	@Value("${hotel.retention.enabled:true}")
+	private boolean enabled = true;
+
+	@Getter
+	@Setter
+	@Value("${hotel.retention.horizon-days:365}")
+	private int horizonDays = 365;
+
+	@Getter
+	@Setter
+	@Value("${hotel.retention.archive:true}")
+	private boolean archive = true;
+
+	@Getter
+	@Setter
+	@Value("${hotel.retention.batch-size:1000}")
+	private int batchSize = 1000;
+
+	@Getter
+	@Setter
+	@Value("${hotel.retention.pause-millis:200}")
+	private long pauseMillis = 200;
+
+	public NightRetentionJob(RoomRepository roomRepository, RoomNightRepository roomNightRepository,
+			RoomNightHistoryRepository historyRepository, RoomNightStore nightStore,
+			PlatformTransactionManager transactionManager) {
+		this.roomRepository = roomRepository;
+		this.roomNightRepository = roomNightRepository;
+		this.historyRepository = historyRepository;
+		this.nightStore = nightStore;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(cron = "${hotel.retention.cron:0 30 3 * * *}")
+	public void run() {
+		if (enabled)
+			purge(LocalDate.now().minusDays(horizonDays));
+	}
+
+	/**
+	 * Moves out every night before the date provided.
+	 *
+	 * @param LocalDate before, first night kept.
+	 * @return the number of nights moved out.
+	 */
+	public long purge(LocalDate before) {
+		long purged = 0;
+		int batch;
+		do {
+			batch = transactionTemplate.execute(status -> purgeBatch(before));
+			purged += batch;
+		} while (batch == batchSize && pause());
+
+		if (purged > 0)
+			log.info("Moved out {} nights booked before {}", purged, before);
+		return purged;
+	}
+
+	private int purgeBatch(LocalDate before) {
+		List<RoomNightId> ids = roomNightRepository.findIdsBefore(before, PageRequest.of(0, batchSize));
+		if (ids.isEmpty())
+			return 0;
+
+		if (archive) {
+			// A night booked again after it was archived is already in the history
+			Set<RoomNightId> archived = historyRepository.findAllById(ids).stream().map(RoomNightHistory::getId)
+					.collect(Collectors.toSet());
+			historyRepository.saveAll(ids.stream().filter(id -> !archived.contains(id)).map(RoomNightHistory::new)
+					.collect(Collectors.toList()));
+		}
+
+		// Rooms are locked in ascending id order, the order the ids are read in
+		Map<Long, List<LocalDate>> nightsByRoom = new TreeMap<>();
+		ids.forEach(id -> nightsByRoom.computeIfAbsent(id.getRoomId(), roomId -> new ArrayList<>()).add(id.getNight()));
+		nightsByRoom.forEach((roomId, nights) -> {
+			roomRepository.findByIdForUpdate(roomId);
+			nightStore.remove(roomId, nights);
+		});
+		return ids.size();
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(pauseMillis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
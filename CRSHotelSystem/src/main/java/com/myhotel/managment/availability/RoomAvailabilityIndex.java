@@ -0,0 +1,201 @@
+package com.myhotel.managment.availability;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.domain.RoomYear;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * In-memory availability index of the rooms of each hotel category. A category
+ * is loaded lazily on its first search and is then kept in sync by the room
+ * service on every add and update, so searches are answered without touching
+ * the database. Changes are applied once the transaction writing them commits,
+ * and a category loaded while a change of its hotel committed is not kept, as
+ * it may have been read before the change. The index only sees the writes of
+ * its own instance, disable it with {@code hotel.availability.index.enabled}
+ * when several instances of the service share the database.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+	private final Map<CategoryKey, CategoryCalendar> calendars = new ConcurrentHashMap<>();
+
+	// Moved on every committed change of a hotel, before the change is applied
+	private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+	@Getter
+	@Setter
+	@Value("${hotel.availability.index.enabled:true}")
+	private boolean enabled = true;
+
+	/**
+	 * Get the rooms of the hotel category that are free for all the dates
+	 * between from and to, both inclusive.
+	 *
+	 * @param Long                                hotelId.
+	 * @param Long                                categoryId.
+	 * @param LocalDate                           from, LocalDate to for the date
+	 *                                            range.
+	 * @param Supplier<Map<Long, List<RoomYear>>>, loading the night bitmaps by
+	 *                                            room id of the category when
+	 *                                            it is not indexed yet.
+	 * @return the List<Long> of available room ids.
+	 */
+	public List<Long> findAvailable(Long hotelId, Long categoryId, LocalDate from, LocalDate to,
+			Supplier<Map<Long, List<RoomYear>>> loader) {
+		return calendar(hotelId, categoryId, loader).findAvailable(from, to);
+	}
+
+	/**
+	 * Get the booked dates of an indexed room.
+	 *
+	 * @param Long hotelId.
+	 * @param Long categoryId.
+	 * @param Long roomId.
+	 * @return the List<LocalDate> in ascending order.
+	 */
+	public List<LocalDate> getBookedDates(Long hotelId, Long categoryId, Long roomId) {
+		CategoryCalendar calendar = calendars.get(new CategoryKey(hotelId, categoryId));
+		return calendar != null ? calendar.bookedDates(roomId) : List.of();
+	}
+
+	/**
+	 * Get the number of rooms of the hotel category free for a stay of
+	 * consecutive nights starting on every date of the window. When the index is
+	 * disabled the category is read for this call only.
+	 *
+	 * @param Long                                hotelId.
+	 * @param Long                                categoryId.
+	 * @param LocalDate                           from, LocalDate to for the
+	 *                                            nights of the window.
+	 * @param int                                 nights, of the stay.
+	 * @param Supplier<Map<Long, List<RoomYear>>>, loading the night bitmaps by
+	 *                                            room id of the category when
+	 *                                            it is not indexed.
+	 * @return the long[] of free rooms, index 0 standing for a stay starting on
+	 *         from.
+	 */
+	public long[] countStays(Long hotelId, Long categoryId, LocalDate from, LocalDate to, int nights,
+			Supplier<Map<Long, List<RoomYear>>> loader) {
+		CategoryCalendar calendar = enabled ? calendar(hotelId, categoryId, loader) : CategoryCalendar.of(loader.get());
+		return calendar.countStays(from, to, nights);
+	}
+
+	/**
+	 * Get the number of free rooms of an indexed category on every date between
+	 * from and to, both inclusive.
+	 *
+	 * @param Long      hotelId.
+	 * @param Long      categoryId.
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @return the long[] of free rooms, index 0 standing for from, empty when
+	 *         the category is not indexed.
+	 */
+	public Optional<long[]> countFree(Long hotelId, Long categoryId, LocalDate from, LocalDate to) {
+		CategoryCalendar calendar = calendars.get(new CategoryKey(hotelId, categoryId));
+		return calendar != null ? Optional.of(calendar.countFree(from, to)) : Optional.empty();
+	}
+
+	/**
+	 * Records the current state of a saved room once the current transaction, if
+	 * any, commits. Categories which are not indexed yet are left untouched, they
+	 * will read the room on their first search.
+	 *
+	 * @param Room                  , as saved in the repository.
+	 * @param Collection<LocalDate> bookedDates, all the nights booked for the
+	 *                              room.
+	 */
+	public void record(Room room, Collection<LocalDate> bookedDates) {
+		Long hotelId = room.getHotel().getId();
+		Long roomId = room.getId();
+		CategoryKey key = new CategoryKey(hotelId, room.getCategory().getId());
+		List<LocalDate> nights = List.copyOf(bookedDates);
+
+		afterCommit(hotelId, () -> {
+			calendars.replaceAll((other, calendar) -> !other.equals(key) && other.getHotelId().equals(hotelId)
+					&& calendar.contains(roomId) ? calendar.without(roomId) : calendar);
+			calendars.computeIfPresent(key, (k, calendar) -> calendar.with(roomId, nights));
+		});
+	}
+
+	/**
+	 * Records nights newly booked for a room once the current transaction, if
+	 * any, commits.
+	 *
+	 * @param Room                  , booked.
+	 * @param Collection<LocalDate> nights, booked.
+	 */
+	public void recordBooking(Room room, Collection<LocalDate> nights) {
+		Long roomId = room.getId();
+		CategoryKey key = new CategoryKey(room.getHotel().getId(), room.getCategory().getId());
+		List<LocalDate> booked = List.copyOf(nights);
+
+		afterCommit(key.getHotelId(),
+				() -> calendars.computeIfPresent(key, (k, calendar) -> calendar.plus(roomId, booked)));
+	}
+
+	/**
+	 * Drops every indexed category, they are reloaded on their next search.
+	 */
+	public void clear() {
+		calendars.clear();
+	}
+
+	// Loaded outside of the map, a search does not wait for the load of another
+	private CategoryCalendar calendar(Long hotelId, Long categoryId, Supplier<Map<Long, List<RoomYear>>> loader) {
+		CategoryKey key = new CategoryKey(hotelId, categoryId);
+		CategoryCalendar indexed = calendars.get(key);
+		if (indexed != null)
+			return indexed;
+
+		Long version = versions.get(hotelId);
+		CategoryCalendar loaded = CategoryCalendar.of(loader.get());
+		CategoryCalendar calendar = calendars.compute(key, (k, current) -> current != null ? current
+				: Objects.equals(version, versions.get(hotelId)) ? loaded : null);
+		return calendar != null ? calendar : loaded;
+	}
+
+	private void afterCommit(Long hotelId, Runnable change) {
+		Runnable apply = () -> {
+			versions.merge(hotelId, 1L, Long::sum);
+			change.run();
+		};
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			apply.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				apply.run();
+			}
+		});
+	}
+
+	@lombok.Value
+	private static class CategoryKey {
+
+		private Long hotelId;
+
+		private Long categoryId;
+
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.myhotel.managment.availability;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.myhotel.managment.domain.RoomHold;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.repository.RoomHoldRepository;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory store of the nights held for bookings in progress. Holds are kept
+ * by id and their nights by room, so a room is checked for holds without going
+ * to the database, and expire on an ExpiryWheel moved by a scheduled tick. An
+ * expired hold may be seen for up to a tick by the availability filter, but is
+ * never returned to be confirmed.
+ *
+ * Holds are written to the database only when they are configured to persist,
+ * which keeps them across restarts. Each instance still only knows the holds
+ * taken through it.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class RoomHoldStore implements ApplicationRunner {
+
+	// Buckets of the wheel, a turn of 512 ticks covers a hold of 8 minutes at one tick a second
+	private static final int WHEEL_SIZE = 512;
+
+	private RoomHoldRepository roomHoldRepository;
+	private ExpiryWheel<String> wheel;
+	private final Map<String, RoomHold> holds = new ConcurrentHashMap<>();
+	private final Map<Long, NavigableMap<LocalDate, String>> heldNights = new ConcurrentHashMap<>();
+
+	@Getter
+	@Setter
+	@Value("${hotel.holds.persist:false}")
+	private boolean persist;
+
+	public RoomHoldStore(RoomHoldRepository roomHoldRepository,
+			@Value("${hotel.holds.tick-millis:1000}") long tickMillis) {
+		this.roomHoldRepository = roomHoldRepository;
+		this.wheel = new ExpiryWheel<>(WHEEL_SIZE, tickMillis, System.currentTimeMillis());
+	}
+
+	/**
+	 * Adds a hold, none of its nights may be held already.
+	 *
+	 * @param RoomHold hold.
+	 * @return the RoomHold added.
+	 * @throws BookingConflictException when any of the nights is already held.
+	 */
+	public synchronized RoomHold add(RoomHold hold) {
+		List<LocalDate> held = findHeldNights(hold.getRoomId(), hold.getNights(), null);
+		if (!held.isEmpty())
+			throw new BookingConflictException(hold.getRoomId(), held);
+
+		put(hold);
+		if (persist)
+			roomHoldRepository.save(hold);
+		return hold;
+	}
+
+	private void put(RoomHold hold) {
+		NavigableMap<LocalDate, String> nights = heldNights.computeIfAbsent(hold.getRoomId(),
+				roomId -> new ConcurrentSkipListMap<>());
+		hold.getNights().forEach(night -> nights.put(night, hold.getId()));
+		holds.put(hold.getId(), hold);
+		wheel.schedule(hold.getId(), hold.getExpiresAt().toEpochMilli());
+	}
+
+	/**
+	 * Get a hold which has not expired.
+	 *
+	 * @param String holdId.
+	 * @return the Optional<RoomHold>.
+	 */
+	public Optional<RoomHold> get(String holdId) {
+		RoomHold hold = holds.get(holdId);
+		return hold != null && !hold.isExpired(Instant.now()) ? Optional.of(hold) : Optional.empty();
+	}
+
+	/**
+	 * Releases a hold, freeing its nights.
+	 *
+	 * @param String holdId.
+	 * @return true when the hold was present.
+	 */
+	public synchronized boolean release(String holdId) {
+		RoomHold hold = holds.remove(holdId);
+		if (hold == null)
+			return false;
+
+		wheel.cancel(holdId);
+		NavigableMap<LocalDate, String> nights = heldNights.get(hold.getRoomId());
+		hold.getNights().forEach(night -> nights.remove(night, holdId));
+		if (nights.isEmpty())
+			heldNights.remove(hold.getRoomId());
+
+		if (persist)
+			roomHoldRepository.deleteById(holdId);
+		return true;
+	}
+
+	/**
+	 * Get the nights of a room held by any hold other than the one provided.
+	 *
+	 * @param Long                  roomId.
+	 * @param Collection<LocalDate> nights, to check.
+	 * @param String                holdId, hold whose nights are not counted, or
+	 *                              null.
+	 * @return the List<LocalDate> of held nights.
+	 */
+	public List<LocalDate> findHeldNights(Long roomId, Collection<LocalDate> nights, String holdId) {
+		NavigableMap<LocalDate, String> held = heldNights.get(roomId);
+		if (held == null || nights == null)
+			return List.of();
+		return nights.stream().distinct().filter(night -> {
+			String heldBy = held.get(night);
+			return heldBy != null && !heldBy.equals(holdId);
+		}).sorted().collect(Collectors.toList());
+	}
+
+	/**
+	 * Check if any night of the date range is held for the room.
+	 *
+	 * @param Long roomId.
+	 * @parm LocalDate from, LocalDate to for the date range.
+	 * @return boolean.
+	 */
+	public boolean isHeld(Long roomId, LocalDate from, LocalDate to) {
+		NavigableMap<LocalDate, String> held = heldNights.get(roomId);
+		return held != null && !held.subMap(from, true, to, true).isEmpty();
+	}
+
+	public int size() {
+		return holds.size();
+	}
+
+	@Scheduled(fixedDelayString = "${hotel.holds.tick-millis:1000}")
+	public void expire() {
+		expire(System.currentTimeMillis());
+	}
+
+	/**
+	 * Releases the holds expired up to the time provided.
+	 *
+	 * @param long nowMillis, epoch millis.
+	 * @return the number of holds released.
+	 */
+	public int expire(long nowMillis) {
+		int released = 0;
+		for (String holdId : wheel.advance(nowMillis))
+			if (release(holdId))
+				released++;
+		if (released > 0)
+			log.debug("Released {} expired holds", released);
+		return released;
+	}
+
+	/**
+	 * Loads the holds persisted by a previous run, dropping the expired ones.
+	 */
+	@Override
+	public void run(ApplicationArguments args) {
+		if (!persist)
+			return;
+
+		Instant now = Instant.now();
+		Map<Boolean, List<RoomHold>> persisted = roomHoldRepository.findAll().stream()
+				.collect(Collectors.partitioningBy(hold -> hold.isExpired(now)));
+		roomHoldRepository.deleteAll(persisted.get(true));
+
+		synchronized (this) {
+			persisted.get(false).forEach(this::put);
+		}
+		log.info("Loaded {} room holds", persisted.get(false).size());
+	}
+
+}
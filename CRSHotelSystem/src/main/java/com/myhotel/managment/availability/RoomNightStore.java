@@ -0,0 +1,277 @@
+package com.myhotel.managment.availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.myhotel.managment.domain.RoomNight;
+import com.myhotel.managment.domain.RoomNightId;
+import com.myhotel.managment.domain.RoomYear;
+import com.myhotel.managment.domain.RoomYearId;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomYearRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Storage of the nights booked for the rooms. The RoomNight rows are the
+ * authoritative store: their key keeps a night from being booked twice and they
+ * answer the availability queries run in the database. The RoomYear bitmaps are
+ * derived from them, one per room and year, and are the read store: nights are
+ * read back from them, and the availability index copies their bits without
+ * creating any date. A write touches only the bitmaps of the years it changes.
+ * Both are written here only, in the transaction of the booking and under the
+ * lock of the room, and the reconciliation job rebuilds the bitmaps of any room
+ * found to differ from its rows.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class RoomNightStore implements ApplicationRunner {
+
+	private RoomNightRepository roomNightRepository;
+	private RoomYearRepository roomYearRepository;
+
+	public RoomNightStore(RoomNightRepository roomNightRepository, RoomYearRepository roomYearRepository) {
+		this.roomNightRepository = roomNightRepository;
+		this.roomYearRepository = roomYearRepository;
+	}
+
+	/**
+	 * Adds nights to a room. The nights must not be booked yet and the caller must
+	 * hold the lock of the room, so that concurrent bookings do not overwrite each
+	 * other's bitmaps.
+	 *
+	 * @param Long                  roomId.
+	 * @param Collection<LocalDate> nights, to add.
+	 * @param Long                  reservationId, the nights are booked for, or
+	 *                              null.
+	 */
+	public void add(Long roomId, Collection<LocalDate> nights, Long reservationId) {
+		if (nights.isEmpty())
+			return;
+
+		List<RoomNight> roomNights = new ArrayList<>();
+		Map<Integer, List<LocalDate>> nightsByYear = new TreeMap<>();
+		nights.forEach(night -> {
+			roomNights.add(new RoomNight(roomId, night, reservationId));
+			nightsByYear.computeIfAbsent(night.getYear(), year -> new ArrayList<>()).add(night);
+		});
+		roomNightRepository.saveAll(roomNights);
+
+		Map<Integer, RoomYear> years = new LinkedHashMap<>();
+		roomYearRepository.findAllById(yearIds(roomId, nightsByYear.keySet()))
+				.forEach(year -> years.put(year.getId().getYear(), year));
+
+		List<RoomYear> changed = new ArrayList<>();
+		nightsByYear.forEach((year, yearNights) -> {
+			RoomYear roomYear = years.computeIfAbsent(year, y -> new RoomYear(roomId, y));
+			roomYear.setNights(roomYear.getNights().with(yearNights));
+			changed.add(roomYear);
+		});
+		roomYearRepository.saveAll(changed);
+	}
+
+	/**
+	 * Removes nights from a room, dropping the yearly bitmaps left empty. The
+	 * caller must hold the lock of the room.
+	 *
+	 * @param Long                  roomId.
+	 * @param Collection<LocalDate> nights, to remove.
+	 */
+	public void remove(Long roomId, Collection<LocalDate> nights) {
+		if (nights.isEmpty())
+			return;
+
+		roomNightRepository.deleteNights(roomId, nights);
+
+		Map<Integer, List<LocalDate>> nightsByYear = new TreeMap<>();
+		nights.forEach(night -> nightsByYear.computeIfAbsent(night.getYear(), year -> new ArrayList<>()).add(night));
+
+		List<RoomYear> changed = new ArrayList<>();
+		List<RoomYear> emptied = new ArrayList<>();
+		roomYearRepository.findAllById(yearIds(roomId, nightsByYear.keySet())).forEach(roomYear -> {
+			List<LocalDate> yearNights = nightsByYear.get(roomYear.getId().getYear());
+			roomYear.setNights(roomYear.getNights().without(yearNights));
+			(roomYear.getNights().isEmpty() ? emptied : changed).add(roomYear);
+		});
+		roomYearRepository.saveAll(changed);
+		roomYearRepository.deleteAll(emptied);
+	}
+
+	/**
+	 * Get the yearly bitmaps of the rooms provided, as stored, for the readers
+	 * which work on bits rather than dates.
+	 *
+	 * @param Collection<Long> roomIds.
+	 * @return the Map<Long, List<RoomYear>> of bitmaps in ascending order by
+	 *         year, with an entry for every room provided.
+	 */
+	public Map<Long, List<RoomYear>> findYearsByRoomIds(Collection<Long> roomIds) {
+		Map<Long, List<RoomYear>> years = new LinkedHashMap<>();
+		roomIds.forEach(roomId -> years.put(roomId, new ArrayList<>()));
+		if (!roomIds.isEmpty())
+			roomYearRepository.findAllByRoomIds(years.keySet())
+					.forEach(year -> years.get(year.getId().getRoomId()).add(year));
+		return years;
+	}
+
+	/**
+	 * Get the booked nights of the rooms provided.
+	 *
+	 * @param Collection<Long> roomIds.
+	 * @return the Map<Long, List<LocalDate>> of nights in ascending order by room
+	 *         id, with an entry for every room provided.
+	 */
+	public Map<Long, List<LocalDate>> findByRoomIds(Collection<Long> roomIds) {
+		Map<Long, List<LocalDate>> bookedDates = new LinkedHashMap<>();
+		findYearsByRoomIds(roomIds).forEach((roomId, years) -> {
+			List<LocalDate> dates = new ArrayList<>();
+			years.forEach(year -> dates.addAll(year.getNights().toDates(year.getId().getYear())));
+			bookedDates.put(roomId, dates);
+		});
+		return bookedDates;
+	}
+
+	/**
+	 * Get the booked nights of a room.
+	 *
+	 * @param Long roomId.
+	 * @return the List<LocalDate> in ascending order.
+	 */
+	public List<LocalDate> findByRoomId(Long roomId) {
+		return findByRoomIds(List.of(roomId)).get(roomId);
+	}
+
+	/**
+	 * Get the rooms whose bitmaps differ from their RoomNight rows. Rows and
+	 * bitmaps are both read in room and year order and compared one room year at
+	 * a time, a room booked while they are read may be reported without being out
+	 * of sync.
+	 *
+	 * @return the Set<Long> of room ids in ascending order.
+	 */
+	@Transactional(readOnly = true)
+	public Set<Long> findDrifted() {
+		Set<Long> drifted = new TreeSet<>();
+		try (Stream<RoomNightId> ids = roomNightRepository.streamAllIds();
+				Stream<RoomYear> stored = roomYearRepository.streamAll()) {
+			Iterator<RoomYear> storedYears = stored.iterator();
+			RoomYear[] next = { storedYears.hasNext() ? storedYears.next() : null };
+			forEachRoomYear(ids.iterator(), roomYear -> {
+				while (next[0] != null && compare(next[0], roomYear) < 0) {
+					drifted.add(next[0].getId().getRoomId());
+					next[0] = storedYears.hasNext() ? storedYears.next() : null;
+				}
+				if (next[0] == null || compare(next[0], roomYear) > 0
+						|| !next[0].getNights().equals(roomYear.getNights())) {
+					drifted.add(roomYear.getId().getRoomId());
+					return;
+				}
+				next[0] = storedYears.hasNext() ? storedYears.next() : null;
+			});
+			for (; next[0] != null; next[0] = storedYears.hasNext() ? storedYears.next() : null)
+				drifted.add(next[0].getId().getRoomId());
+		}
+		return drifted;
+	}
+
+	/**
+	 * Rebuilds the bitmaps of a room from its RoomNight rows, only the years that
+	 * differ are written. The caller must hold the lock of the room.
+	 *
+	 * @param Long roomId.
+	 * @return true when a bitmap was rewritten or dropped.
+	 */
+	public boolean rebuild(Long roomId) {
+		Map<Integer, RoomYear> years = new LinkedHashMap<>();
+		roomYearRepository.findAllByRoomIds(List.of(roomId)).forEach(year -> years.put(year.getId().getYear(), year));
+
+		List<RoomYear> changed = new ArrayList<>();
+		forEachRoomYear(roomNightRepository.findIdsByRoomId(roomId).iterator(), built -> {
+			RoomYear roomYear = years.remove(built.getId().getYear());
+			if (roomYear == null)
+				changed.add(built);
+			else if (!roomYear.getNights().equals(built.getNights())) {
+				roomYear.setNights(built.getNights());
+				changed.add(roomYear);
+			}
+		});
+		roomYearRepository.saveAll(changed);
+		roomYearRepository.deleteAll(new ArrayList<>(years.values()));
+		return !changed.isEmpty() || !years.isEmpty();
+	}
+
+	/**
+	 * Builds the bitmaps from the RoomNight rows on the first start with this
+	 * storage, rows are read in order so only one bitmap is built at a time.
+	 */
+	@Override
+	@Transactional
+	public void run(ApplicationArguments args) {
+		if (roomYearRepository.count() > 0 || roomNightRepository.count() == 0)
+			return;
+
+		long[] years = { 0 };
+		try (Stream<RoomNightId> ids = roomNightRepository.streamAllIds()) {
+			forEachRoomYear(ids.iterator(), roomYear -> {
+				roomYearRepository.save(roomYear);
+				years[0]++;
+			});
+		}
+		log.info("Built {} room year bitmaps from the booked nights", years[0]);
+	}
+
+	/**
+	 * Groups night ids read in room and night order into the bitmap of each room
+	 * and year, handing them over one at a time.
+	 */
+	private void forEachRoomYear(Iterator<RoomNightId> ids, Consumer<RoomYear> action) {
+		RoomYear current = null;
+		List<LocalDate> nights = new ArrayList<>();
+		while (ids.hasNext()) {
+			RoomNightId id = ids.next();
+			if (current == null || !current.getId().getRoomId().equals(id.getRoomId())
+					|| current.getId().getYear() != id.getNight().getYear()) {
+				accept(current, nights, action);
+				current = new RoomYear(id.getRoomId(), id.getNight().getYear());
+				nights = new ArrayList<>();
+			}
+			nights.add(id.getNight());
+		}
+		accept(current, nights, action);
+	}
+
+	private void accept(RoomYear roomYear, List<LocalDate> nights, Consumer<RoomYear> action) {
+		if (roomYear == null)
+			return;
+		roomYear.setNights(roomYear.getNights().with(nights));
+		action.accept(roomYear);
+	}
+
+	private List<RoomYearId> yearIds(Long roomId, Collection<Integer> years) {
+		return years.stream().map(year -> new RoomYearId(roomId, year)).collect(Collectors.toList());
+	}
+
+	private int compare(RoomYear left, RoomYear right) {
+		int byRoom = left.getId().getRoomId().compareTo(right.getId().getRoomId());
+		return byRoom != 0 ? byRoom : Integer.compare(left.getId().getYear(), right.getId().getYear());
+	}
+
+}
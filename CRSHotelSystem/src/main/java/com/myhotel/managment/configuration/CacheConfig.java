@@ -0,0 +1,34 @@
+package com.myhotel.managment.configuration;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Caffeine caches named and specified by the spring.cache properties. Puts and
+ * evictions made inside a transaction are only applied once it commits, so a
+ * lookup running alongside a write does not cache the row it replaces.
+ *
+ * @author Sushil Yadav
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+	@Bean
+	public CacheManager cacheManager(CacheProperties cacheProperties) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		String spec = cacheProperties.getCaffeine().getSpec();
+		if (StringUtils.hasText(spec))
+			cacheManager.setCacheSpecification(spec);
+		if (!cacheProperties.getCacheNames().isEmpty())
+			cacheManager.setCacheNames(cacheProperties.getCacheNames());
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+
+}
@@ -12,5 +12,17 @@ public class HotelConstants {
 	
 	
 	public static final String SUCCESS = "Success";
+
+	public static final String HOTEL_CACHE = "hotels";
+	public static final String CATEGORY_CACHE = "categories";
+	public static final String OFFER_CACHE = "offers";
+	public static final String CALENDAR_CACHE = "calendars";
+
+	public static final int MAX_PAGE_SIZE = 500;
+	public static final int MAX_CALENDAR_DAYS = 366;
+	public static final int MAX_SEARCH_RESULTS = 100;
+	public static final int MAX_GROUP_ROOMS = 200;
+	// Rows pulled from the database per round trip by the streaming queries
+	public static final String STREAM_FETCH_SIZE = "500";
 	
 }
\ No newline at end of file
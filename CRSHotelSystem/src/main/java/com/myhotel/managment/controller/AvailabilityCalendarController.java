@@ -0,0 +1,37 @@
+package com.myhotel.managment.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RefreshScope
+@Api(tags = "Availability", value = "Availability Calendar Controller")
+@RequestMapping("/api/v1/hotels/{hotel_id}/")
+public interface AvailabilityCalendarController {
+
+	@ApiOperation(value = "Get the free rooms of every category of the hotel on every date.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Availability calendar fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("availability/calendar")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<AvailabilityCalendarDTO> get(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to);
+
+}
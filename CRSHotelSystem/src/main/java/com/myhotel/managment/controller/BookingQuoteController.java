@@ -0,0 +1,39 @@
+package com.myhotel.managment.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.myhotel.managment.dto.BookingQuoteDTO;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RefreshScope
+@Api(tags = "Quotes", value = "Booking Quote Controller")
+@RequestMapping("/api/v1/hotels/{hotel_id}/")
+public interface BookingQuoteController {
+
+	@ApiOperation(value = "Get the free rooms, charges and offer for booking a category.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Booking quote fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("quote")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<BookingQuoteDTO> get(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam("category_id") Long categoryId,
+			@RequestParam(name = "offer_id", required = false) Long offerId,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to);
+
+}
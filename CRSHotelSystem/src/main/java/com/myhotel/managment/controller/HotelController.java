@@ -3,6 +3,7 @@ package com.myhotel.managment.controller;
 import java.util.List;
 
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +12,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -51,4 +55,22 @@ public interface HotelController {
 	@PreAuthorize("hasAnyRole('USER','ADMIN')")
 	public ResponseEntity<List<HotelDTO>> getAll();
 
+	@ApiOperation(value = "Get Hotels information, one page at a time.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Hotel information fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("/page")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<HotelPageDTO> getPage(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int size);
+
+	@ApiOperation(value = "Stream All Hotels information as newline delimited JSON.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "All Hotel information streamed successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<StreamingResponseBody> stream();
+
 }
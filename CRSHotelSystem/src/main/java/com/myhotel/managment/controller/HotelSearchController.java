@@ -0,0 +1,38 @@
+package com.myhotel.managment.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.myhotel.managment.dto.HotelSearchDTO;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RefreshScope
+@Api(tags = "Search", value = "Hotel Search Controller")
+@RequestMapping("/api/v1/hotels")
+public interface HotelSearchController {
+
+	@ApiOperation(value = "Search the cheapest hotel categories free for the dates.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Hotels searched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("/search")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<HotelSearchDTO> search(@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+			@RequestParam(required = false) String category, @RequestParam(required = false) String address,
+			@RequestParam(name = "max_charges", required = false) Double maxCharges,
+			@RequestParam(defaultValue = "10") int limit);
+
+}
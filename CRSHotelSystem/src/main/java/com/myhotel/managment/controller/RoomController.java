@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +15,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -46,6 +51,39 @@ public interface RoomController {
 	public ResponseEntity<RoomDTO> update(@PathVariable("hotel_id") Long hotelId, @PathVariable("room_id") Long roomId,
 			@RequestBody RoomDTO roomDTO);
 
+	@ApiOperation(value = "Book the nights of a Room.")
+	@ApiResponses(value = { @ApiResponse(code = 201, message = "Room booked successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Room already booked for some of the nights"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PostMapping("rooms/{room_id}/bookings")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<RoomDTO> book(@PathVariable("hotel_id") Long hotelId, @PathVariable("room_id") Long roomId,
+			@RequestBody RoomDTO roomDTO);
+
+	@ApiOperation(value = "Book the nights of several Rooms, all of them or none.")
+	@ApiResponses(value = { @ApiResponse(code = 201, message = "Rooms booked successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Some Room already booked for some of the nights, none booked"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PostMapping("rooms/bookings")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<List<RoomDTO>> bookAll(@PathVariable("hotel_id") Long hotelId,
+			@RequestBody List<RoomDTO> roomDTOs);
+
+	@ApiOperation(value = "Release and book nights of a Room in one change.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Room booking changed successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Room already booked for some of the nights, nothing changed"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PostMapping("rooms/{room_id}/bookings/changes")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<RoomDTO> change(@PathVariable("hotel_id") Long hotelId, @PathVariable("room_id") Long roomId,
+			@RequestBody BookingChangeDTO changeDTO);
+
 	@ApiOperation(value = "Get all Rooms information.")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "Rooms information fetched successfully."),
 			@ApiResponse(code = 401, message = "Authentication failed."),
@@ -53,7 +91,29 @@ public interface RoomController {
 			@ApiResponse(code = 500, message = "Internal Server Error") })
 	@GetMapping("rooms")
 	@PreAuthorize("hasAnyRole('USER','ADMIN')")
-	public ResponseEntity<List<RoomDTO>> getAll(@PathVariable("hotel_id") Long hotelId);
+	public ResponseEntity<List<RoomDTO>> getAll(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam(defaultValue = "full") String dates);
+
+	@ApiOperation(value = "Get Rooms information, one page at a time.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Rooms information fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("rooms/page")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<RoomPageDTO> getPage(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size,
+			@RequestParam(defaultValue = "full") String dates);
+
+	@ApiOperation(value = "Stream all Rooms information as newline delimited JSON.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Rooms information streamed successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping(value = "rooms/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<StreamingResponseBody> stream(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam(defaultValue = "full") String dates);
 
 	@ApiOperation(value = "Get Available Rooms.")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "Available Rooms  information fetched successfully."),
@@ -64,6 +124,20 @@ public interface RoomController {
 	@PreAuthorize("hasAnyRole('USER','ADMIN')")
 	public ResponseEntity<List<RoomDTO>> getAvailable(@PathVariable(required = true, name = "hotel_id") Long hotelId,
 			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
-			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to, @RequestParam Long categoryId);
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to, @RequestParam Long categoryId,
+			@RequestParam(defaultValue = "full") String dates);
+
+	@ApiOperation(value = "Get the free stays of a number of nights within a date window.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Free stays fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@GetMapping("rooms/availability/flexible")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<FlexibleAvailabilityDTO> getFlexible(
+			@PathVariable(required = true, name = "hotel_id") Long hotelId,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to, @RequestParam int nights,
+			@RequestParam(required = false) Long categoryId);
 
 }
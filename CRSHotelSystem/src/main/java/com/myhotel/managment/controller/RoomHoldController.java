@@ -0,0 +1,57 @@
+package com.myhotel.managment.controller;
+
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RefreshScope
+@Api(tags = "Holds", value = "Room Hold Controller")
+@RequestMapping("/api/v1/hotels/{hotel_id}/")
+public interface RoomHoldController {
+
+	@ApiOperation(value = "Hold nights of a Room while a booking is in progress.")
+	@ApiResponses(value = { @ApiResponse(code = 201, message = "Nights held successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Room already booked or held for some of the nights"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PostMapping("rooms/{room_id}/holds")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<RoomHoldDTO> hold(@PathVariable("hotel_id") Long hotelId,
+			@PathVariable("room_id") Long roomId, @RequestBody RoomHoldDTO roomHoldDTO);
+
+	@ApiOperation(value = "Confirm a hold by booking its nights.")
+	@ApiResponses(value = { @ApiResponse(code = 201, message = "Hold confirmed successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Hold not found or expired"),
+			@ApiResponse(code = 409, message = "Room booked for some of the nights since"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PostMapping("holds/{hold_id}/confirm")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<RoomDTO> confirm(@PathVariable("hotel_id") Long hotelId,
+			@PathVariable("hold_id") String holdId);
+
+	@ApiOperation(value = "Release a hold.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Hold released successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Hold not found or expired"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@DeleteMapping("holds/{hold_id}")
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	public ResponseEntity<Void> release(@PathVariable("hotel_id") Long hotelId,
+			@PathVariable("hold_id") String holdId);
+
+}
@@ -0,0 +1,78 @@
+package com.myhotel.managment.controller.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.controller.AvailabilityCalendarController;
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+import com.myhotel.managment.service.AvailabilityCalendarService;
+import com.myhotel.managment.service.OwnershipService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller Class for the availability calendar of hotels.
+ *
+ * @author Sushil Yadav
+ */
+@RestController
+@Slf4j
+public class AvailabilityCalendarControllerImpl implements AvailabilityCalendarController {
+
+	@Autowired
+	private AvailabilityCalendarService calendarService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
+	/**
+	 * Get the free rooms of every category of the hotel for each date between
+	 * from and to, both inclusive.
+	 *
+	 * @param Long hotelId.
+	 * @parm LocalDate from, LocalDate to for the date range, at most a year.
+	 * @return the ResponseEntity<AvailabilityCalendarDTO>.
+	 */
+	@Override
+	public ResponseEntity<AvailabilityCalendarDTO> get(Long hotelId, LocalDate from, LocalDate to) {
+
+		try {
+			if (!validateDates(from, to))
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+			if (!ownershipService.existsHotel(hotelId)) {
+				log.info("Unable to find hotel with id : {}", hotelId);
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			return new ResponseEntity<>(calendarService.get(hotelId, from, to), HttpStatus.OK);
+		} catch (RuntimeException e) {
+			log.info("Getting availability calendar failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Validate if the dates are valid type.
+	 * 
+	 * @param LocalDate from, LocalDate to.
+	 * @return boolean.
+	 */
+	private boolean validateDates(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			log.error("From date should be less than to date");
+			return false;
+		}
+		if (ChronoUnit.DAYS.between(from, to) >= HotelConstants.MAX_CALENDAR_DAYS) {
+			log.error("Calendar can not span more than {} days", HotelConstants.MAX_CALENDAR_DAYS);
+			return false;
+		}
+		return true;
+	}
+
+}
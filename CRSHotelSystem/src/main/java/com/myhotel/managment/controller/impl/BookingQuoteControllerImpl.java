@@ -0,0 +1,73 @@
+package com.myhotel.managment.controller.impl;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.myhotel.managment.controller.BookingQuoteController;
+import com.myhotel.managment.dto.BookingQuoteDTO;
+import com.myhotel.managment.service.BookingQuoteService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller Class quoting bookings.
+ *
+ * @author Sushil Yadav
+ */
+@RestController
+@Slf4j
+public class BookingQuoteControllerImpl implements BookingQuoteController {
+
+	@Autowired
+	private BookingQuoteService bookingQuoteService;
+
+	/**
+	 * Get the free rooms, the nightly charge, the offer applied and the total for
+	 * booking the category of the hotel on the dates provided. The hotel and
+	 * category are validated by the quote itself.
+	 *
+	 * @param Long hotelId.
+	 * @param Long categoryId.
+	 * @param Long offerId, optional offer to apply.
+	 * @parm LocalDate from, LocalDate to for the date range.
+	 * @return the ResponseEntity<BookingQuoteDTO>.
+	 */
+	@Override
+	public ResponseEntity<BookingQuoteDTO> get(Long hotelId, Long categoryId, Long offerId, LocalDate from,
+			LocalDate to) {
+
+		try {
+			if (!validateDates(from, to))
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+			BookingQuoteDTO quote = bookingQuoteService.get(hotelId, categoryId, offerId, from, to);
+			if (quote.getCategoryId() == null) {
+				log.info("Unable to find category with id : {} in hotel with id : {}", categoryId, hotelId);
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			return new ResponseEntity<>(quote, HttpStatus.OK);
+		} catch (RuntimeException e) {
+			log.info("Getting booking quote failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Validate if the dates are valid type.
+	 * 
+	 * @param LocalDate from, LocalDate to.
+	 * @return boolean.
+	 */
+	private boolean validateDates(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			log.error("From date should be less than to date");
+			return false;
+		}
+		return true;
+	}
+
+}
@@ -10,6 +10,7 @@ import com.myhotel.managment.controller.CategoryController;
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.CategoryService;
 import com.myhotel.managment.util.Response;
 
@@ -27,6 +28,9 @@ public class CategoryControllerImpl implements CategoryController {
 	@Autowired
 	private CategoryService categoryService;
 
+	@Autowired
+	private OwnershipService ownershipService;
+
 	/**
 	 * Creates a Category for the hotel id provided. Use the returned instance for
 	 * further operations on the clients end.
@@ -154,9 +158,7 @@ public class CategoryControllerImpl implements CategoryController {
 	 */
 	private boolean validateHotel(Long hotelId) {
 
-		Hotel hotel = categoryService.getHotel(hotelId);
-
-		if (hotel.getId() == null) {
+		if (!ownershipService.existsHotel(hotelId)) {
 			log.info("Unable to find hotel with id : {}", hotelId);
 			return false;
 		}
@@ -164,29 +166,19 @@ public class CategoryControllerImpl implements CategoryController {
 	}
 
 	/**
-	 * Validate if the category is present.
+	 * Validate if the category is present in the hotel.
 	 * 
+	 * @param Long hotelId, to validate hotel.
 	 * @param Long categoryId, to validate category.
 	 * @return boolean.
 	 */
-	private boolean validateCategory(Long categoryId) {
-		Category category = categoryService.getCategory(categoryId);
-		if (category.getId() == null) {
-			log.info("Unable to find category with id : {} ", categoryId);
+	private boolean validateHotelAndCategory(Long hotelId, Long categoryId) {
+
+		if (!ownershipService.existsCategory(hotelId, categoryId)) {
+			log.info("Unable to find category with id : {} in hotel with id : {}", categoryId, hotelId);
 			return false;
 		}
 		return true;
 	}
 
-	/**
-	 * Validate if the hotel and category both are present.
-	 * 
-	 * @param categoryId, to category category.
-	 * @param Long        hotelId, to validate hotel.
-	 * @return boolean.
-	 */
-	private boolean validateHotelAndCategory(Long hotelId, Long categoryId) {
-		return (validateHotel(hotelId) && validateCategory(categoryId));
-	}
-
 }
@@ -4,13 +4,19 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.myhotel.managment.controller.HotelController;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 import com.myhotel.managment.service.HotelService;
+import com.myhotel.managment.util.NdjsonWriter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,6 +32,9 @@ public class HotelControllerImpl implements HotelController {
 	@Autowired
 	private HotelService hotelService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * Creates a Hotel. Use the returned instance for further operations on the
 	 * clients end.
@@ -81,6 +90,37 @@ public class HotelControllerImpl implements HotelController {
 		}
 	}
 
+	/**
+	 * Get a page of Hotels. Use the returned cursor to fetch the next page.
+	 * 
+	 * @param String cursor, returned with the previous page.
+	 * @param int    size, of the page.
+	 * @return the ResponseEntity<HotelPageDTO>.
+	 */
+	@Override
+	public ResponseEntity<HotelPageDTO> getPage(String cursor, int size) {
+		try {
+			return new ResponseEntity<>(hotelService.getPage(cursor, size), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			log.info("Invalid cursor : {}", cursor);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Stream all Hotels, one JSON document per line written as the hotels are
+	 * read.
+	 * 
+	 * @return the ResponseEntity<StreamingResponseBody>.
+	 */
+	@Override
+	public ResponseEntity<StreamingResponseBody> stream() {
+		StreamingResponseBody body = out -> hotelService.streamAll(new NdjsonWriter(objectMapper, out));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	/**
 	 * Validate if the hotel is present.
 	 * 
@@ -0,0 +1,74 @@
+package com.myhotel.managment.controller.impl;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.controller.HotelSearchController;
+import com.myhotel.managment.dto.HotelSearchDTO;
+import com.myhotel.managment.service.HotelSearchService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller Class searching all the hotels.
+ *
+ * @author Sushil Yadav
+ */
+@RestController
+@Slf4j
+public class HotelSearchControllerImpl implements HotelSearchController {
+
+	@Autowired
+	private HotelSearchService hotelSearchService;
+
+	/**
+	 * Search the hotels with a category free for all the dates between from and
+	 * to, cheapest first.
+	 *
+	 * @parm LocalDate from, LocalDate to for the date range.
+	 * @param String category, optional description of the category.
+	 * @param String address, optional part of the hotel address.
+	 * @param Double maxCharges, optional maximum nightly charges.
+	 * @param int    limit, number of results.
+	 * @return the ResponseEntity<HotelSearchDTO>.
+	 */
+	@Override
+	public ResponseEntity<HotelSearchDTO> search(LocalDate from, LocalDate to, String category, String address,
+			Double maxCharges, int limit) {
+
+		try {
+			if (!validateDates(from, to))
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+
+			if (limit < 1 || limit > HotelConstants.MAX_SEARCH_RESULTS) {
+				log.info("Invalid search limit : {}", limit);
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+			}
+			return new ResponseEntity<>(hotelSearchService.search(from, to, category, address, maxCharges, limit),
+					HttpStatus.OK);
+		} catch (RuntimeException e) {
+			log.info("Searching hotels failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Validate if the dates are valid type.
+	 * 
+	 * @param LocalDate from, LocalDate to.
+	 * @return boolean.
+	 */
+	private boolean validateDates(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			log.error("From date should be less than to date");
+			return false;
+		}
+		return true;
+	}
+
+}
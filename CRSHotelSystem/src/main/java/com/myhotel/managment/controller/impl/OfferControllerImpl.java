@@ -8,10 +8,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.myhotel.managment.controller.OfferController;
-import com.myhotel.managment.domain.Category;
-import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Offer;
 import com.myhotel.managment.dto.OfferDTO;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.OfferService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +27,9 @@ public class OfferControllerImpl implements OfferController {
 	@Autowired
 	private OfferService offerService;
 
+	@Autowired
+	private OwnershipService ownershipService;
+
 	/**
 	 * Creates a Offer for the hotel id provided. Use the returned instance for
 	 * further operations on the clients end.
@@ -114,7 +116,7 @@ public class OfferControllerImpl implements OfferController {
 		try {
 
 			log.info("test sleuth2");
-			if (validateHotelAndCategory(hotelId, categoryId))
+			if (validateHotelAndCategoryAndOffer(hotelId, categoryId, offerlId))
 				return new ResponseEntity<>(offerService.get(offerlId), HttpStatus.OK);
 			else
 				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -155,66 +157,46 @@ public class OfferControllerImpl implements OfferController {
 	 */
 	private boolean validateHotel(Long hotelId) {
 
-		Hotel hotel = offerService.getHotel(hotelId);
-
-		if (hotel.getId() == null) {
-			log.info("Unable to find guest with id : {}", hotelId);
+		if (!ownershipService.existsHotel(hotelId)) {
+			log.info("Unable to find hotel with id : {}", hotelId);
 			return false;
 		}
 		return true;
 	}
 
 	/**
-	 * Validate if the category is present.
+	 * Validate if the category is present in the hotel.
 	 * 
-	 * @param Long categoryId, to category category.
+	 * @param Long hotelId, to validate hotel.
+	 * @param Long categoryId, to validate category.
 	 * @return boolean.
 	 */
-	private boolean validateCategory(Long categoryId) {
+	private boolean validateHotelAndCategory(Long hotelId, Long categoryId) {
 
-		Category category = offerService.getCategory(categoryId);
-		if (category.getId() == null) {
-			log.info("Unable to find category with id : {} ", categoryId);
+		if (!ownershipService.existsCategory(hotelId, categoryId)) {
+			log.info("Unable to find category with id : {} in hotel with id : {}", categoryId, hotelId);
 			return false;
 		}
 		return true;
 	}
 
 	/**
-	 * Validate if the offer is present.
+	 * Validate if the offer is present in the category, and the category in the
+	 * hotel.
 	 * 
+	 * @param Long hotelId, to validate hotel.
+	 * @param Long categoryId, to validate category.
 	 * @param Long offerId, to validate offer.
 	 * @return boolean.
 	 */
-	private boolean validateOffer(Long offerId) {
-		Offer offer = offerService.getOffer(offerId);
-		if (offer.getId() == null) {
-			log.info("Unable to find offer with id : {} ", offerId);
+	private boolean validateHotelAndCategoryAndOffer(Long hotelId, Long categoryId, Long offerId) {
+
+		if (!ownershipService.existsOffer(hotelId, categoryId, offerId)) {
+			log.info("Unable to find offer with id : {} in category with id : {} of hotel with id : {}", offerId,
+					categoryId, hotelId);
 			return false;
 		}
 		return true;
 	}
 
-	/**
-	 * Validate if the hotel and category both are present.
-	 * 
-	 * @param categoryId, to category category.
-	 * @param Long        hotelId, to validate hotel.
-	 * @return boolean.
-	 */
-	private boolean validateHotelAndCategory(Long hotelId, Long categoryId) {
-		return validateHotel(hotelId) && validateCategory(categoryId);
-	}
-
-	/**
-	 * Validate if the hotel and offer both are present.
-	 * 
-	 * @param categoryId, to category category.
-	 * @param Long        offerId, to validate offer.
-	 * @return boolean.
-	 */
-	private boolean validateHotelAndCategoryAndOffer(Long hotelId, Long categoryId, Long offerId) {
-		return validateHotel(hotelId) && validateCategory(categoryId) && validateOffer(offerId);
-	}
-
 }
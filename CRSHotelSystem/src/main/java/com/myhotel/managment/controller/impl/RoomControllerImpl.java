@@ -1,19 +1,30 @@
 package com.myhotel.managment.controller.impl;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.controller.RoomController;
-import com.myhotel.managment.domain.Category;
-import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.RoomService;
+import com.myhotel.managment.util.NdjsonWriter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,6 +40,12 @@ public class RoomControllerImpl implements RoomController {
 	@Autowired
 	private RoomService roomService;
 
+	@Autowired
+	private OwnershipService ownershipService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * Creates a Room for the hotel id provided. Use the returned instance for
 	 * further operations on the clients end.
@@ -80,21 +97,112 @@ public class RoomControllerImpl implements RoomController {
 
 	}
 
+	/**
+	 * Books the nights provided as booked dates for the hotel id and room id
+	 * provided. A conflict is returned when any of the nights is already booked so
+	 * the client can retry with another room.
+	 *
+	 * @param Long    hotelId , to validate hotel present.
+	 * @param Long    roomId , to validate room present and then book it.
+	 * @param RoomDTO , with the nights to book.
+	 * @return the booked ResponseEntity<RoomDTO>.
+	 */
+	@Override
+	public ResponseEntity<RoomDTO> book(Long hotelId, Long roomId, RoomDTO roomDTO) {
+
+		roomDTO.setHotelId(hotelId);
+		roomDTO.setId(roomId);
+
+		try {
+			if (validateHotelAndRoom(hotelId, roomId) && validateNights(roomDTO.getBookedDates()))
+				return new ResponseEntity<>(roomService.book(roomDTO), HttpStatus.CREATED);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (BookingConflictException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.info("Booking Room failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Books the nights provided as booked dates of every room for the hotel id
+	 * provided, in one transaction. A conflict is returned when any of the nights
+	 * of any room is already booked, and no room is booked then.
+	 *
+	 * @param Long          hotelId , to validate the rooms are of the hotel.
+	 * @param List<RoomDTO> roomDTOs , with the room ids and the nights to book.
+	 * @return the booked ResponseEntity<List<RoomDTO>>.
+	 */
+	@Override
+	public ResponseEntity<List<RoomDTO>> bookAll(Long hotelId, List<RoomDTO> roomDTOs) {
+
+		try {
+			if (validateRooms(hotelId, roomDTOs))
+				return new ResponseEntity<>(roomService.bookAll(roomDTOs), HttpStatus.CREATED);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (BookingConflictException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.info("Booking Rooms failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Releases and books nights of the room for the hotel id and room id provided,
+	 * only the nights which change. A conflict is returned when any of the nights
+	 * to book is already booked, and nothing is changed then.
+	 *
+	 * @param Long             hotelId , to validate hotel present.
+	 * @param Long             roomId , to validate room present and then change
+	 *                         it.
+	 * @param BookingChangeDTO , with the nights to release and to book.
+	 * @return the changed ResponseEntity<RoomDTO>.
+	 */
+	@Override
+	public ResponseEntity<RoomDTO> change(Long hotelId, Long roomId, BookingChangeDTO changeDTO) {
+
+		changeDTO.setHotelId(hotelId);
+		changeDTO.setRoomId(roomId);
+
+		try {
+			if (validateHotelAndRoom(hotelId, roomId) && validateChange(changeDTO))
+				return new ResponseEntity<>(roomService.change(changeDTO), HttpStatus.OK);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (BookingConflictException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.info("Changing Room booking failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
 	/**
 	 * Get all Rooms for the hotel id provided. Use the returned instance for
 	 * further operations on the clients end.
 	 * 
-	 * @param Long hotelId, to validate hotel present and fetch all rooms mapped.
+	 * @param Long   hotelId, to validate hotel present and fetch all rooms mapped.
+	 * @param String dates, full, ranges or none for the booked dates.
 	 * @return the ResponseEntity<List<RoomDTO>>.
 	 */
 	@Override
-	public ResponseEntity<List<RoomDTO>> getAll(Long hotelId) {
+	public ResponseEntity<List<RoomDTO>> getAll(Long hotelId, String dates) {
 
 		try {
 			if (validateHotel(hotelId))
-				return new ResponseEntity<>(roomService.getAll(hotelId), HttpStatus.OK);
+				return new ResponseEntity<>(roomService.getAll(hotelId, BookedDatesFormat.of(dates)), HttpStatus.OK);
 			else
 				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info("Invalid dates format : {}", dates);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 		} catch (RuntimeException e) {
 			log.info("Getting all Room failed");
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -102,6 +210,62 @@ public class RoomControllerImpl implements RoomController {
 
 	}
 
+	/**
+	 * Get a page of the Rooms for the hotel id provided. Use the returned cursor to
+	 * fetch the next page.
+	 * 
+	 * @param Long   hotelId, to validate hotel present and fetch the rooms mapped.
+	 * @param String cursor, returned with the previous page.
+	 * @param int    size, of the page.
+	 * @param String dates, full, ranges or none for the booked dates.
+	 * @return the ResponseEntity<RoomPageDTO>.
+	 */
+	@Override
+	public ResponseEntity<RoomPageDTO> getPage(Long hotelId, String cursor, int size, String dates) {
+
+		try {
+			if (validateHotel(hotelId))
+				return new ResponseEntity<>(roomService.getPage(hotelId, cursor, size, BookedDatesFormat.of(dates)),
+						HttpStatus.OK);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info("Invalid cursor : {} or dates format : {}", cursor, dates);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.info("Getting Rooms page failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Stream all Rooms for the hotel id provided, one JSON document per line
+	 * written as the rooms are read.
+	 * 
+	 * @param Long   hotelId, to validate hotel present and fetch all rooms mapped.
+	 * @param String dates, full, ranges or none for the booked dates.
+	 * @return the ResponseEntity<StreamingResponseBody>.
+	 */
+	@Override
+	public ResponseEntity<StreamingResponseBody> stream(Long hotelId, String dates) {
+
+		BookedDatesFormat format;
+		try {
+			format = BookedDatesFormat.of(dates);
+			if (!validateHotel(hotelId))
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info("Invalid dates format : {}", dates);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.info("Streaming Rooms failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+		StreamingResponseBody body = out -> roomService.streamAll(hotelId, format,
+				new NdjsonWriter(objectMapper, out));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	/**
 	 * Get available rooms for the hotel id ,category id and the dates provided. Use
 	 * the returned instance for further operations on the clients end.
@@ -109,22 +273,56 @@ public class RoomControllerImpl implements RoomController {
 	 * @param Long hotelId , to validate hotel present.
 	 * @parm LocalDate from, LocalDate to for the date range.
 	 * @param Long categoryId , to validate category present
+	 * @param String dates, full, ranges or none for the booked dates.
 	 * @return the ResponseEntity<List<RoomDTO>>.
 	 */
 	@Override
-	public ResponseEntity<List<RoomDTO>> getAvailable(Long hotelId, LocalDate from, LocalDate to, Long categoryId) {
+	public ResponseEntity<List<RoomDTO>> getAvailable(Long hotelId, LocalDate from, LocalDate to, Long categoryId,
+			String dates) {
 
 		try {
 			if (validateHotelAndCategory(hotelId, categoryId) && validateDates(from, to))
-				return new ResponseEntity<>(roomService.getByParams(hotelId, from, to, categoryId), HttpStatus.OK);
+				return new ResponseEntity<>(
+						roomService.getByParams(hotelId, from, to, categoryId, BookedDatesFormat.of(dates)),
+						HttpStatus.OK);
 			else
 				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info("Invalid dates format : {}", dates);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 		} catch (RuntimeException e) {
 			log.info("Getting Rooms failed");
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
 		}
 	}
 
+	/**
+	 * Get the stays of the number of nights provided which are free within the
+	 * date window, for one or all the categories of the hotel.
+	 *
+	 * @param Long hotelId , to validate hotel present.
+	 * @parm LocalDate from, LocalDate to for the nights of the window.
+	 * @param int  nights, of the stay.
+	 * @param Long categoryId , optional, to validate category present.
+	 * @return the ResponseEntity<FlexibleAvailabilityDTO>.
+	 */
+	@Override
+	public ResponseEntity<FlexibleAvailabilityDTO> getFlexible(Long hotelId, LocalDate from, LocalDate to, int nights,
+			Long categoryId) {
+
+		try {
+			boolean valid = categoryId == null ? validateHotel(hotelId) : validateHotelAndCategory(hotelId, categoryId);
+			if (valid && validateDates(from, to) && validateWindow(from, to, nights))
+				return new ResponseEntity<>(roomService.getFlexible(hotelId, from, to, nights, categoryId),
+						HttpStatus.OK);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.info("Getting flexible stays failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
 	/**
 	 * Validate if the hotel is present.
 	 * 
@@ -133,8 +331,7 @@ public class RoomControllerImpl implements RoomController {
 	 */
 	private boolean validateHotel(Long hotelId) {
 
-		Hotel hotel = roomService.getHotel(hotelId);
-		if (hotel.getId() == null) {
+		if (!ownershipService.existsHotel(hotelId)) {
 			log.info("Unable to find hotel with id : {}", hotelId);
 			return false;
 		}
@@ -142,70 +339,139 @@ public class RoomControllerImpl implements RoomController {
 	}
 
 	/**
-	 * Validate if the category is present.
+	 * Validate if the dates are valid type.
 	 * 
-	 * @param Long categoryId, to validate category.
+	 * @param LocalDate from, LocalDate to.
 	 * @return boolean.
 	 */
-	private boolean validateCategory(Long categoryId) {
+	private boolean validateDates(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			log.error("From date should be less than to date");
+			return false;
+		}
+		return true;
+	}
 
-		Category category = roomService.getCategory(categoryId);
-		if (category.getId() == null) {
-			log.info("Unable to find category with id : {}", categoryId);
+	/**
+	 * Validate if nights are provided for booking.
+	 * 
+	 * @param List<LocalDate> nights.
+	 * @return boolean.
+	 */
+	private boolean validateNights(List<LocalDate> nights) {
+		if (nights == null || nights.isEmpty()) {
+			log.error("No nights provided for booking");
 			return false;
 		}
 		return true;
 	}
 
 	/**
-	 * Validate if the rooms is present.
+	 * Validate if the room is present in the hotel.
 	 * 
-	 * @param Long roomId, to validate category.
+	 * @param Long hotelId, to validate hotel.
+	 * @param Long roomId, to validate room.
 	 * @return boolean.
 	 */
-	private boolean validateRoom(Long roomId) {
-		Room room = roomService.get(roomId);
-		if (room.getId() == null) {
-			log.info("Unable to find room with id : {}", roomId);
+	private boolean validateHotelAndRoom(Long hotelId, Long roomId) {
+
+		if (!ownershipService.existsRoom(hotelId, roomId)) {
+			log.info("Unable to find room with id : {} in hotel with id : {}", roomId, hotelId);
 			return false;
 		}
 		return true;
 	}
 
 	/**
-	 * Validate if the dates are valid type.
+	 * Validate if a booking change has nights to release or to book.
 	 * 
-	 * @param LocalDate from, LocalDate to.
+	 * @param BookingChangeDTO changeDTO.
 	 * @return boolean.
 	 */
-	private boolean validateDates(LocalDate from, LocalDate to) {
-		if (from.isAfter(to)) {
-			log.error("From date should be less than to date");
+	private boolean validateChange(BookingChangeDTO changeDTO) {
+		if ((changeDTO.getRelease() == null || changeDTO.getRelease().isEmpty())
+				&& (changeDTO.getBook() == null || changeDTO.getBook().isEmpty())) {
+			log.error("No nights provided to release or book");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Validate if every room of a group booking is present in the hotel, once, with
+	 * nights to book.
+	 * 
+	 * @param Long          hotelId, to validate hotel.
+	 * @param List<RoomDTO> roomDTOs, to validate.
+	 * @return boolean.
+	 */
+	private boolean validateRooms(Long hotelId, List<RoomDTO> roomDTOs) {
+		if (roomDTOs == null || roomDTOs.isEmpty() || roomDTOs.size() > HotelConstants.MAX_GROUP_ROOMS) {
+			log.error("Between 1 and {} rooms should be booked at once", HotelConstants.MAX_GROUP_ROOMS);
 			return false;
 		}
+		if (roomDTOs.stream().map(RoomDTO::getId).distinct().count() < roomDTOs.size()) {
+			log.error("A room should be booked once in a group booking");
+			return false;
+		}
+		for (RoomDTO roomDTO : roomDTOs) {
+			roomDTO.setHotelId(hotelId);
+			if (roomDTO.getId() == null || !validateHotelAndRoom(hotelId, roomDTO.getId())
+					|| !validateNights(roomDTO.getBookedDates()))
+				return false;
+		}
 		return true;
 	}
 
 	/**
-	 * Validate if the hotel and category both are present.
+	 * Validate if the category is present in the hotel.
 	 * 
-	 * @param categoryId, to category category.
-	 * @param Long        hotelId, to validate hotel.
+	 * @param Long hotelId, to validate hotel.
+	 * @param Long categoryId, to validate category.
 	 * @return boolean.
 	 */
 	private boolean validateHotelAndCategory(Long hotelId, Long categoryId) {
-		return validateHotel(hotelId) && validateCategory(categoryId);
+
+		if (!ownershipService.existsCategory(hotelId, categoryId)) {
+			log.info("Unable to find category with id : {} in hotel with id : {}", categoryId, hotelId);
+			return false;
+		}
+		return true;
 	}
 
 	/**
-	 * Validate if the hotel, category and rooms are present.
+	 * Validate if the room is present in the category, and the category in the
+	 * hotel.
 	 * 
-	 * @param Long categoryId, to category category.
 	 * @param Long hotelId, to validate hotel.
 	 * @param Long categoryId, to validate category.
+	 * @param Long roomId, to validate room.
 	 * @return boolean.
 	 */
 	private boolean validateHotelAndCategoryAndRoom(Long hotelId, Long categoryId, Long roomId) {
-		return validateHotel(hotelId) && validateCategory(categoryId) && validateRoom(roomId);
+
+		if (!ownershipService.existsRoom(hotelId, categoryId, roomId)) {
+			log.info("Unable to find room with id : {} in category with id : {} of hotel with id : {}", roomId,
+					categoryId, hotelId);
+			return false;
+		}
+		return true;
 	}
+
+	/**
+	 * Validate if a stay of the nights provided fits the window, at most a year.
+	 * 
+	 * @param LocalDate from, LocalDate to.
+	 * @param int       nights.
+	 * @return boolean.
+	 */
+	private boolean validateWindow(LocalDate from, LocalDate to, int nights) {
+		long window = ChronoUnit.DAYS.between(from, to) + 1;
+		if (nights < 1 || nights > window || window > HotelConstants.MAX_CALENDAR_DAYS) {
+			log.error("Stay of {} nights does not fit the window from {} to {}", nights, from, to);
+			return false;
+		}
+		return true;
+	}
+
 }
@@ -0,0 +1,143 @@
+package com.myhotel.managment.controller.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.myhotel.managment.controller.RoomHoldController;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.service.OwnershipService;
+import com.myhotel.managment.service.RoomHoldService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller Class holding the nights of a Room while a booking is in progress.
+ *
+ * @author Sushil Yadav
+ */
+@RestController
+@Slf4j
+public class RoomHoldControllerImpl implements RoomHoldController {
+
+	@Autowired
+	private RoomHoldService roomHoldService;
+
+	@Autowired
+	private OwnershipService ownershipService;
+
+	/**
+	 * Holds the nights provided for the hotel id and room id provided. A conflict
+	 * is returned when any of the nights is already booked or held.
+	 *
+	 * @param Long        hotelId , to validate hotel present.
+	 * @param Long        roomId , to validate room present and then hold it.
+	 * @param RoomHoldDTO , with the nights to hold and the minutes to hold them.
+	 * @return the held ResponseEntity<RoomHoldDTO>.
+	 */
+	@Override
+	public ResponseEntity<RoomHoldDTO> hold(Long hotelId, Long roomId, RoomHoldDTO roomHoldDTO) {
+
+		roomHoldDTO.setHotelId(hotelId);
+		roomHoldDTO.setRoomId(roomId);
+
+		try {
+			if (validateHotelAndRoom(hotelId, roomId) && validateHold(roomHoldDTO))
+				return new ResponseEntity<>(roomHoldService.hold(roomHoldDTO), HttpStatus.CREATED);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (BookingConflictException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.info("Holding Room failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Confirms the hold id provided by booking its nights.
+	 *
+	 * @param Long   hotelId.
+	 * @param String holdId.
+	 * @return the booked ResponseEntity<RoomDTO>.
+	 */
+	@Override
+	public ResponseEntity<RoomDTO> confirm(Long hotelId, String holdId) {
+
+		try {
+			RoomDTO room = roomHoldService.confirm(hotelId, holdId);
+			if (room != null)
+				return new ResponseEntity<>(room, HttpStatus.CREATED);
+
+			log.info("Unable to find hold with id : {} in hotel with id : {}", holdId, hotelId);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (BookingConflictException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.info("Confirming hold failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Releases the hold id provided.
+	 *
+	 * @param Long   hotelId.
+	 * @param String holdId.
+	 * @return the ResponseEntity.
+	 */
+	@Override
+	public ResponseEntity<Void> release(Long hotelId, String holdId) {
+
+		try {
+			if (roomHoldService.release(hotelId, holdId))
+				return new ResponseEntity<>(HttpStatus.OK);
+
+			log.info("Unable to find hold with id : {} in hotel with id : {}", holdId, hotelId);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.info("Releasing hold failed");
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Validate if the hold has nights and positive minutes.
+	 * 
+	 * @param RoomHoldDTO roomHoldDTO.
+	 * @return boolean.
+	 */
+	private boolean validateHold(RoomHoldDTO roomHoldDTO) {
+		if (roomHoldDTO.getNights() == null || roomHoldDTO.getNights().isEmpty()) {
+			log.error("No nights provided for hold");
+			return false;
+		}
+		if (roomHoldDTO.getMinutes() != null && roomHoldDTO.getMinutes() < 1) {
+			log.error("Hold minutes should be positive");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Validate if the room is present in the hotel.
+	 * 
+	 * @param Long hotelId, to validate hotel.
+	 * @param Long roomId, to validate room.
+	 * @return boolean.
+	 */
+	private boolean validateHotelAndRoom(Long hotelId, Long roomId) {
+
+		if (!ownershipService.existsRoom(hotelId, roomId)) {
+			log.info("Unable to find room with id : {} in hotel with id : {}", roomId, hotelId);
+			return false;
+		}
+		return true;
+	}
+
+}
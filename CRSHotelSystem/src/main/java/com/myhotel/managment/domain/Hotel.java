@@ -3,6 +3,8 @@ package com.myhotel.managment.domain;
 import java.util.List;
 
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -32,6 +34,9 @@ public class Hotel {
 
 	private Long contact;
 
+	@Enumerated(EnumType.STRING)
+	private RoomAssignment roomAssignment;
+
 	@OneToMany(mappedBy = "hotel")
 	private List<Offer> offers;
 
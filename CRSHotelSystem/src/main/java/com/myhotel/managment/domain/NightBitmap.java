@@ -0,0 +1,133 @@
+package com.myhotel.managment.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of the nights of one year, bit {@code n} standing for the day
+ * of year {@code n + 1}. A whole year fits in six longs on the heap and in at
+ * most 46 bytes once stored, against one row and one boxed date per night.
+ *
+ * @author Sushil Yadav
+ */
+public final class NightBitmap {
+
+	// 366 days rounded up to whole longs
+	private static final int WORDS = 6;
+
+	public static final NightBitmap EMPTY = new NightBitmap(new long[WORDS]);
+
+	private final long[] words;
+
+	private NightBitmap(long[] words) {
+		this.words = words;
+	}
+
+	/**
+	 * Returns a copy of this bitmap with the nights provided added. Nights are
+	 * expected to belong to the year of this bitmap.
+	 *
+	 * @param Collection<LocalDate> nights, to add.
+	 * @return the new NightBitmap.
+	 */
+	public NightBitmap with(Collection<LocalDate> nights) {
+		long[] copy = words.clone();
+		for (LocalDate night : nights) {
+			int bit = night.getDayOfYear() - 1;
+			copy[bit >> 6] |= 1L << bit;
+		}
+		return new NightBitmap(copy);
+	}
+
+	/**
+	 * Returns a copy of this bitmap with the nights provided removed. Nights are
+	 * expected to belong to the year of this bitmap.
+	 *
+	 * @param Collection<LocalDate> nights, to remove.
+	 * @return the new NightBitmap.
+	 */
+	public NightBitmap without(Collection<LocalDate> nights) {
+		long[] copy = words.clone();
+		for (LocalDate night : nights) {
+			int bit = night.getDayOfYear() - 1;
+			copy[bit >> 6] &= ~(1L << bit);
+		}
+		return new NightBitmap(copy);
+	}
+
+	public boolean isEmpty() {
+		return equals(EMPTY);
+	}
+
+	/**
+	 * Get the nights of the bitmap in ascending order.
+	 *
+	 * @param int year, of the bitmap.
+	 * @return the List<LocalDate>.
+	 */
+	public List<LocalDate> toDates(int year) {
+		List<LocalDate> dates = new ArrayList<>();
+		for (int word = 0; word < words.length; word++)
+			for (long bits = words[word]; bits != 0; bits &= bits - 1)
+				dates.add(LocalDate.ofYearDay(year, (word << 6) + Long.numberOfTrailingZeros(bits) + 1));
+		return dates;
+	}
+
+	/**
+	 * Sets the nights of the bitmap in the bits provided without creating any
+	 * date, the first day of the year landing on bit offset.
+	 *
+	 * @param BitSet bits, to set the nights in.
+	 * @param int    offset, of the first day of the year.
+	 */
+	public void copyTo(BitSet bits, int offset) {
+		for (int word = 0; word < words.length; word++)
+			for (long set = words[word]; set != 0; set &= set - 1)
+				bits.set(offset + (word << 6) + Long.numberOfTrailingZeros(set));
+	}
+
+	/**
+	 * Little-endian bytes of the bitmap, trailing empty bytes left out.
+	 *
+	 * @return the byte[].
+	 */
+	public byte[] toBytes() {
+		byte[] bytes = new byte[words.length * Long.BYTES];
+		int length = 0;
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) (words[i >> 3] >>> ((i & 7) << 3));
+			if (bytes[i] != 0)
+				length = i + 1;
+		}
+		return Arrays.copyOf(bytes, length);
+	}
+
+	/**
+	 * Reads a bitmap written by {@link #toBytes()}.
+	 *
+	 * @param byte[] bytes, null for no nights.
+	 * @return the NightBitmap.
+	 */
+	public static NightBitmap fromBytes(byte[] bytes) {
+		long[] words = new long[WORDS];
+		if (bytes != null)
+			for (int i = 0; i < bytes.length; i++)
+				words[i >> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+		return new NightBitmap(words);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof NightBitmap && Arrays.equals(words, ((NightBitmap) other).words);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+}
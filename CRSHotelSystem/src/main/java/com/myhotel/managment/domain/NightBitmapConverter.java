@@ -0,0 +1,24 @@
+package com.myhotel.managment.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores a NightBitmap as its compact binary form.
+ *
+ * @author Sushil Yadav
+ */
+@Converter
+public class NightBitmapConverter implements AttributeConverter<NightBitmap, byte[]> {
+
+	@Override
+	public byte[] convertToDatabaseColumn(NightBitmap nights) {
+		return nights != null ? nights.toBytes() : null;
+	}
+
+	@Override
+	public NightBitmap convertToEntityAttribute(byte[] bytes) {
+		return NightBitmap.fromBytes(bytes);
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.myhotel.managment.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores a list of nights as their ISO dates separated by commas.
+ *
+ * @author Sushil Yadav
+ */
+@Converter
+public class NightListConverter implements AttributeConverter<List<LocalDate>, String> {
+
+	@Override
+	public String convertToDatabaseColumn(List<LocalDate> nights) {
+		return nights != null ? nights.stream().map(LocalDate::toString).collect(Collectors.joining(",")) : null;
+	}
+
+	@Override
+	public List<LocalDate> convertToEntityAttribute(String nights) {
+		if (nights == null || nights.isEmpty())
+			return new ArrayList<>();
+		return Stream.of(nights.split(",")).map(LocalDate::parse).collect(Collectors.toList());
+	}
+
+}
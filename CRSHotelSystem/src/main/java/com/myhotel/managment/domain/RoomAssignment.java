@@ -0,0 +1,55 @@
+package com.myhotel.managment.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How a hotel orders its free rooms for a booking, the first room being the one
+ * assigned.
+ *
+ * @author Sushil Yadav
+ */
+public enum RoomAssignment {
+
+	/**
+	 * Rooms by ascending id, the assignment of hotels which did not choose one.
+	 */
+	FIRST_FREE,
+
+	/**
+	 * Rooms whose free gap around the stay is the smallest that fits it, so
+	 * stays fill gaps between bookings instead of leaving single free nights
+	 * across all the rooms. Chosen per hotel.
+	 */
+	BEST_FIT;
+
+	// Free nights counted on a side with no booking, more than any real gap
+	private static final long OPEN = 1_000_000;
+
+	/**
+	 * Get the assignment of a hotel, first free unless set, so hotels keep the
+	 * room order they had before choosing one.
+	 *
+	 * @param RoomAssignment assignment, of the hotel.
+	 * @return the RoomAssignment.
+	 */
+	public static RoomAssignment of(RoomAssignment assignment) {
+		return assignment != null ? assignment : FIRST_FREE;
+	}
+
+	/**
+	 * Get the free nights a stay leaves around it in a room, before its first
+	 * night and after its last one.
+	 *
+	 * @param LocalDate from, LocalDate to for the nights of the stay.
+	 * @param LocalDate previous, last night booked before the stay, null if none.
+	 * @param LocalDate next, first night booked after the stay, null if none.
+	 * @return the long of free nights left.
+	 */
+	public static long leftover(LocalDate from, LocalDate to, LocalDate previous, LocalDate next) {
+		long before = previous != null ? ChronoUnit.DAYS.between(previous, from) - 1 : OPEN;
+		long after = next != null ? ChronoUnit.DAYS.between(to, next) - 1 : OPEN;
+		return before + after;
+	}
+
+}
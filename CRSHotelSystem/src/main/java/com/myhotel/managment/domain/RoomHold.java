@@ -0,0 +1,80 @@
+package com.myhotel.managment.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Nights of a room held for a booking in progress until they are confirmed,
+ * released or the hold expires. Holds live in memory and are only written to
+ * the room_holds table when holds are configured to persist.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "room_holds")
+public class RoomHold implements Persistable<String> {
+
+	@Id
+	@Column(name = "id", length = 36)
+	private String id;
+
+	@Column(name = "hotel_id")
+	private Long hotelId;
+
+	@Column(name = "room_id")
+	private Long roomId;
+
+	@Convert(converter = NightListConverter.class)
+	@Column(name = "nights", length = 4000)
+	private List<LocalDate> nights;
+
+	@Column(name = "expires_at")
+	private Instant expiresAt;
+
+	// The id is assigned, without this flag every insert would be preceded by a select
+	@Transient
+	private boolean persisted;
+
+	public RoomHold(String id, Long hotelId, Long roomId, List<LocalDate> nights, Instant expiresAt) {
+		this.id = id;
+		this.hotelId = hotelId;
+		this.roomId = roomId;
+		this.nights = nights;
+		this.expiresAt = expiresAt;
+	}
+
+	public boolean isExpired(Instant now) {
+		return !expiresAt.isAfter(now);
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		persisted = true;
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.myhotel.managment.domain;
+
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A night booked for a room. Nights are only ever inserted, so booking a room
+ * costs one row per night booked whatever the history of the room. The key of
+ * the room and night keeps a night from being booked twice, tables created
+ * before it need db/room_booked_dates_primary_key.sql run once.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "room_booked_dates")
+public class RoomNight implements Persistable<RoomNightId> {
+
+	@EmbeddedId
+	private RoomNightId id;
+
+	// Reservation the night is booked for, a booking of it delivered again is not a conflict
+	@Column(name = "reservation_id")
+	private Long reservationId;
+
+	// The id is assigned, without this flag every insert would be preceded by a select
+	@Transient
+	private boolean persisted;
+
+	public RoomNight(Long roomId, LocalDate night) {
+		this.id = new RoomNightId(roomId, night);
+	}
+
+	public RoomNight(Long roomId, LocalDate night, Long reservationId) {
+		this(roomId, night);
+		this.reservationId = reservationId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		persisted = true;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.myhotel.managment.domain;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A past night of a room, moved out of the booked nights by the retention job
+ * so that availability reads only carry the nights still relevant.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "room_booked_dates_history")
+public class RoomNightHistory implements Persistable<RoomNightId> {
+
+	@EmbeddedId
+	private RoomNightId id;
+
+	// The id is assigned, without this flag every insert would be preceded by a select
+	@Transient
+	private boolean persisted;
+
+	public RoomNightHistory(RoomNightId id) {
+		this.id = id;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		persisted = true;
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.myhotel.managment.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoomNightId implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Column(name = "room_id")
+	private Long roomId;
+
+	@Column(name = "booked_dates")
+	private LocalDate night;
+
+}
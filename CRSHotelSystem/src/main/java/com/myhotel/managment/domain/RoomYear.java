@@ -0,0 +1,59 @@
+package com.myhotel.managment.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The nights booked for a room in one year, kept as a single bitmap. It holds
+ * the same nights as the RoomNight rows of the room and is the form they are
+ * read back in, one row per room and year instead of one per night.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "room_year_nights")
+public class RoomYear implements Persistable<RoomYearId> {
+
+	@EmbeddedId
+	private RoomYearId id;
+
+	@Convert(converter = NightBitmapConverter.class)
+	@Column(name = "nights", columnDefinition = "varbinary(46)")
+	private NightBitmap nights;
+
+	// The id is assigned, without this flag every insert would be preceded by a select
+	@Transient
+	private boolean persisted;
+
+	public RoomYear(Long roomId, Integer year) {
+		this.id = new RoomYearId(roomId, year);
+		this.nights = NightBitmap.EMPTY;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		persisted = true;
+	}
+
+}
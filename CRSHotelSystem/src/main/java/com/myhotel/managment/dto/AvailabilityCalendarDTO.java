@@ -0,0 +1,26 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AvailabilityCalendarDTO {
+
+	private Long hotelId;
+
+	private LocalDate from;
+
+	private LocalDate to;
+
+	private List<CategoryAvailabilityDTO> categories;
+}
@@ -0,0 +1,75 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Representation of the booked dates in RoomDTO payloads, chosen by the client
+ * with the {@code dates} request parameter.
+ * <ul>
+ * <li>FULL, every night as an ISO date in bookedDates.</li>
+ * <li>RANGES, sorted [start, end) epoch-day ranges in bookedRanges.</li>
+ * <li>NONE, no dates at all.</li>
+ * </ul>
+ *
+ * @author Sushil Yadav
+ */
+public enum BookedDatesFormat {
+
+	FULL, RANGES, NONE;
+
+	/**
+	 * Get the format for the request parameter provided, case insensitive.
+	 *
+	 * @param String name, of the format.
+	 * @return the BookedDatesFormat.
+	 * @throws IllegalArgumentException when the format is unknown.
+	 */
+	public static BookedDatesFormat of(String name) {
+		return valueOf(name.toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Sets the booked dates provided on the room in this format.
+	 *
+	 * @param RoomDTO         room.
+	 * @param List<LocalDate> bookedDates, of the room.
+	 * @return the RoomDTO.
+	 */
+	public RoomDTO apply(RoomDTO room, List<LocalDate> bookedDates) {
+		if (this == FULL)
+			room.setBookedDates(bookedDates);
+		else if (this == RANGES)
+			room.setBookedRanges(toRanges(bookedDates));
+		return room;
+	}
+
+	/**
+	 * Encodes nights as sorted [start, end) epoch-day ranges, consecutive nights
+	 * sharing one range.
+	 *
+	 * @param List<LocalDate> nights, in any order.
+	 * @return the List<long[]> of ranges.
+	 */
+	public static List<long[]> toRanges(List<LocalDate> nights) {
+		List<long[]> ranges = new ArrayList<>();
+		if (nights == null)
+			return ranges;
+
+		long[] range = null;
+		for (LocalDate night : new TreeSet<>(nights)) {
+			long day = night.toEpochDay();
+			if (range != null && range[1] == day) {
+				range[1] = day + 1;
+			} else {
+				range = new long[] { day, day + 1 };
+				ranges.add(range);
+			}
+		}
+		return ranges;
+	}
+
+}
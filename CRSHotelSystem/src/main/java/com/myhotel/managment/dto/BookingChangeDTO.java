@@ -0,0 +1,32 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingChangeDTO {
+
+	private Long hotelId;
+
+	private Long roomId;
+
+	// Nights no longer booked, released even when some are not booked anymore
+	private List<LocalDate> release;
+
+	// Nights newly booked, all of them must be free
+	private List<LocalDate> book;
+
+	// Reservation changed, only its nights are released and its nights booked again are no conflict
+	private Long reservationId;
+
+}
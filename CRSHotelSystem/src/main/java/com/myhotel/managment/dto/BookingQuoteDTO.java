@@ -0,0 +1,40 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingQuoteDTO {
+
+	private Long hotelId;
+
+	private Long categoryId;
+
+	private LocalDate from;
+
+	private LocalDate to;
+
+	private Long roomId;
+
+	private List<Long> roomIds;
+
+	private Double charges;
+
+	private Long offerId;
+
+	private Double offerValue;
+
+	private Long nights;
+
+	private Double total;
+}
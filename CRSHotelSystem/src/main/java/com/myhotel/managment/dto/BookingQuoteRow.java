@@ -0,0 +1,31 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+
+import com.myhotel.managment.domain.RoomAssignment;
+
+/**
+ * Row of the booking quote query, one per free room of the category.
+ *
+ * @author Sushil Yadav
+ */
+public interface BookingQuoteRow {
+
+	Long getCategoryId();
+
+	Double getCharges();
+
+	Long getOfferId();
+
+	Double getOfferValue();
+
+	Long getRoomId();
+
+	RoomAssignment getRoomAssignment();
+
+	// Nights booked for the room closest to the stay, null when there are none
+	LocalDate getPreviousNight();
+
+	LocalDate getNextNight();
+
+}
@@ -0,0 +1,20 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Row of the availability calendar queries, the rooms of a category or the
+ * nights booked in a category on one date.
+ *
+ * @author Sushil Yadav
+ */
+public interface CalendarCountRow {
+
+	Long getCategoryId();
+
+	// Null when counting the rooms of the category
+	LocalDate getNight();
+
+	Long getCount();
+
+}
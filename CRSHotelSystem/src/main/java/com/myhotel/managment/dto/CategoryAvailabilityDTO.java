@@ -0,0 +1,24 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CategoryAvailabilityDTO {
+
+	private Long categoryId;
+
+	private Long rooms;
+
+	private Map<LocalDate, Long> free;
+}
@@ -0,0 +1,25 @@
+package com.myhotel.managment.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlexibleAvailabilityDTO {
+
+	private Long hotelId;
+
+	private Integer nights;
+
+	private List<FlexibleStayDTO> stays;
+
+	private FlexibleStayDTO cheapest;
+}
@@ -0,0 +1,28 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FlexibleStayDTO {
+
+	private Long categoryId;
+
+	// First and last night of the stay
+	private LocalDate from;
+
+	private LocalDate to;
+
+	private Long freeRooms;
+
+	private Double total;
+}
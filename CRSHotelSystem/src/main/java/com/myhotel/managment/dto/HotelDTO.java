@@ -1,5 +1,7 @@
 package com.myhotel.managment.dto;
 
+import com.myhotel.managment.domain.RoomAssignment;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,4 +21,7 @@ public class HotelDTO {
 
 	private Long contact;
 
+	// First free when not set
+	private RoomAssignment roomAssignment;
+
 }
@@ -0,0 +1,23 @@
+package com.myhotel.managment.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HotelPageDTO {
+
+	private List<HotelDTO> hotels;
+
+	// Cursor of the next page, null on the last page
+	private String next;
+
+}
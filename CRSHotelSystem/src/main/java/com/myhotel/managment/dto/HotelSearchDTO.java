@@ -0,0 +1,27 @@
+package com.myhotel.managment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HotelSearchDTO {
+
+	private LocalDate from;
+
+	private LocalDate to;
+
+	// False when the deadline passed before every hotel was searched
+	private boolean complete;
+
+	private List<HotelSearchResultDTO> results;
+}
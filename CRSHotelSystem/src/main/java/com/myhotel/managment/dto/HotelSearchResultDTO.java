@@ -0,0 +1,29 @@
+package com.myhotel.managment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HotelSearchResultDTO {
+
+	private Long hotelId;
+
+	private Long categoryId;
+
+	private String description;
+
+	private Double charges;
+
+	private Integer freeRooms;
+
+	private Long nights;
+
+	private Double total;
+}
@@ -3,6 +3,9 @@ package com.myhotel.managment.dto;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,7 +23,22 @@ public class RoomDTO {
 
 	private Long categoryId;
 
+	@JsonInclude(Include.NON_NULL)
 	private List<LocalDate> bookedDates;
 
+	// Booked nights as [start, end) epoch-day ranges, only set when requested
+	@JsonInclude(Include.NON_NULL)
+	private List<long[]> bookedRanges;
+
 	private Long hotelId;
+
+	// Reservation the nights are booked for, a booking of it sent again succeeds
+	@JsonInclude(Include.NON_NULL)
+	private Long reservationId;
+
+	public RoomDTO(Long id, Long categoryId, Long hotelId) {
+		this.id = id;
+		this.categoryId = categoryId;
+		this.hotelId = hotelId;
+	}
 }
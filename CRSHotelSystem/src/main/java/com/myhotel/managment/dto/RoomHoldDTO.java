@@ -0,0 +1,37 @@
+package com.myhotel.managment.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoomHoldDTO {
+
+	private String id;
+
+	private Long hotelId;
+
+	private Long roomId;
+
+	private List<LocalDate> nights;
+
+	// Minutes the nights are held for, the configured default when not provided
+	@JsonInclude(Include.NON_NULL)
+	private Integer minutes;
+
+	private Instant expiresAt;
+
+}
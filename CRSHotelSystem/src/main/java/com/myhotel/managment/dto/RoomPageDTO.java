@@ -0,0 +1,23 @@
+package com.myhotel.managment.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoomPageDTO {
+
+	private List<RoomDTO> rooms;
+
+	// Cursor of the next page, null on the last page
+	private String next;
+
+}
@@ -0,0 +1,21 @@
+package com.myhotel.managment.dto;
+
+import com.myhotel.managment.domain.NightBitmap;
+
+/**
+ * Row of the room streaming query, one per year a room has nights booked in and
+ * a single row with no year for rooms never booked.
+ *
+ * @author Sushil Yadav
+ */
+public interface RoomYearRow {
+
+	Long getRoomId();
+
+	Long getCategoryId();
+
+	Integer getYear();
+
+	NightBitmap getNights();
+
+}
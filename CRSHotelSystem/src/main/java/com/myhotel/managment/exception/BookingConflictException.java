@@ -0,0 +1,28 @@
+package com.myhotel.managment.exception;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Thrown when some of the nights requested for a room are already booked.
+ *
+ * @author Sushil Yadav
+ */
+@Getter
+public class BookingConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Long roomId;
+
+	private final List<LocalDate> bookedNights;
+
+	public BookingConflictException(Long roomId, List<LocalDate> bookedNights) {
+		super("Room with id: " + roomId + " is already booked for " + bookedNights);
+		this.roomId = roomId;
+		this.bookedNights = bookedNights;
+	}
+
+}
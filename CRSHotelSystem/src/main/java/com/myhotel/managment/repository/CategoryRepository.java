@@ -1,19 +1,98 @@
 package com.myhotel.managment.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Category;
+import com.myhotel.managment.dto.BookingQuoteRow;
+import com.myhotel.managment.dto.CategoryDTO;
 import com.myhotel.managment.domain.Hotel;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	/**
+	 * Get the category of the id provided, cached as a read-only DTO so no entity
+	 * outlives its session. Every write of the repository evicts it once the
+	 * transaction commits.
+	 */
+	@Cacheable(cacheNames = HotelConstants.CATEGORY_CACHE, unless = "#result == null")
+	@Query("select new com.myhotel.managment.dto.CategoryDTO(c.id, c.description, c.charges, c.hotel.id) "
+			+ "from Category c where c.id = :id")
+	Optional<CategoryDTO> findDTOById(@Param("id") Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Category> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Category> S saveAndFlush(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, allEntries = true)
+	<S extends Category> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	void delete(Category entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE)
+	void deleteById(Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, allEntries = true)
+	void deleteAll(Iterable<? extends Category> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, allEntries = true)
+	void deleteAll();
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, allEntries = true)
+	void deleteInBatch(Iterable<Category> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.CATEGORY_CACHE, allEntries = true)
+	void deleteAllInBatch();
+
 	List<Category> findAllByHotel(Hotel hotel);
 
+	@Query("select new com.myhotel.managment.dto.CategoryDTO(c.id, c.description, c.charges, c.hotel.id) "
+			+ "from Category c where c.hotel.id = :hotelId order by c.id")
+	List<CategoryDTO> findAllDTOsByHotelId(@Param("hotelId") Long hotelId);
+
 	Optional<Category> findByIdAndHotel(Long categoryCode, Hotel hotel);
 
-}
\ No newline at end of file
+	@Query("select case when count(c) > 0 then true else false end from Category c "
+			+ "where c.id = :categoryId and c.hotel.id = :hotelId")
+	boolean existsInHotel(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId);
+
+	@Query("select c.id as categoryId, c.charges as charges, o.id as offerId, o.value as offerValue, r.id as roomId, "
+			+ "h.roomAssignment as roomAssignment, (select max(n.id.night) from RoomNight n where n.id.roomId = r.id "
+			+ "and n.id.night < :from) as previousNight, (select min(n.id.night) from RoomNight n "
+			+ "where n.id.roomId = r.id and n.id.night > :to) as nextNight from Category c join c.hotel h left join Offer o on o.id = :offerId and o.category = c and o.hotel = c.hotel "
+			+ "left join Room r on r.category = c and r.hotel = c.hotel and not exists (select n from RoomNight n "
+			+ "where n.id.roomId = r.id and n.id.night between :from and :to) "
+			+ "where c.id = :categoryId and c.hotel.id = :hotelId order by r.id")
+	List<BookingQuoteRow> findBookingQuote(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId,
+			@Param("offerId") Long offerId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query("select new com.myhotel.managment.dto.CategoryDTO(c.id, c.description, c.charges, c.hotel.id) "
+			+ "from Category c join c.hotel h where (:description is null or lower(c.description) = lower(:description)) "
+			+ "and c.charges is not null and (:maxCharges is null or c.charges <= :maxCharges) "
+			+ "and (:address is null or lower(h.address) like lower(concat('%', :address, '%'))) "
+			+ "order by c.charges, c.id")
+	List<CategoryDTO> findSearchCandidates(@Param("description") String description,
+			@Param("maxCharges") Double maxCharges, @Param("address") String address);
+}
@@ -1,11 +1,84 @@
 package com.myhotel.managment.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Hotel;
+import com.myhotel.managment.dto.HotelDTO;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
-}
\ No newline at end of file
+	/**
+	 * Get the hotel of the id provided, cached as a read-only DTO so no entity
+	 * outlives its session. Every write of the repository evicts it once the
+	 * transaction commits.
+	 */
+	@Cacheable(cacheNames = HotelConstants.HOTEL_CACHE, unless = "#result == null")
+	@Query("select new com.myhotel.managment.dto.HotelDTO(h.id, h.address, h.contact, h.roomAssignment) "
+			+ "from Hotel h where h.id = :id")
+	Optional<HotelDTO> findDTOById(@Param("id") Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Hotel> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Hotel> S saveAndFlush(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, allEntries = true)
+	<S extends Hotel> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	void delete(Hotel entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE)
+	void deleteById(Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, allEntries = true)
+	void deleteAll(Iterable<? extends Hotel> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, allEntries = true)
+	void deleteAll();
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, allEntries = true)
+	void deleteInBatch(Iterable<Hotel> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.HOTEL_CACHE, allEntries = true)
+	void deleteAllInBatch();
+
+	@Query("select new com.myhotel.managment.dto.HotelDTO(h.id, h.address, h.contact, h.roomAssignment) "
+			+ "from Hotel h order by h.id")
+	List<HotelDTO> findAllDTOs();
+
+	@Query("select new com.myhotel.managment.dto.HotelDTO(h.id, h.address, h.contact, h.roomAssignment) from Hotel h "
+			+ "where h.id > :afterId order by h.id")
+	List<HotelDTO> findAllDTOsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = HotelConstants.STREAM_FETCH_SIZE))
+	@Query("select new com.myhotel.managment.dto.HotelDTO(h.id, h.address, h.contact, h.roomAssignment) "
+			+ "from Hotel h order by h.id")
+	Stream<HotelDTO> streamAllDTOs();
+
+}
@@ -3,17 +3,79 @@ package com.myhotel.managment.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Offer;
+import com.myhotel.managment.dto.OfferDTO;
 
 @Repository
 public interface OfferRepository extends JpaRepository<Offer, Long> {
 
+	/**
+	 * Get the offer of the id provided, cached as a read-only DTO so no entity
+	 * outlives its session. Every write of the repository evicts it once the
+	 * transaction commits.
+	 */
+	@Cacheable(cacheNames = HotelConstants.OFFER_CACHE, unless = "#result == null")
+	@Query("select new com.myhotel.managment.dto.OfferDTO(o.id, o.hotel.id, o.category.id, o.value) from Offer o "
+			+ "where o.id = :id")
+	Optional<OfferDTO> findDTOById(@Param("id") Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Offer> S save(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	<S extends Offer> S saveAndFlush(S entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, allEntries = true)
+	<S extends Offer> List<S> saveAll(Iterable<S> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, key = "#p0.id", condition = "#p0.id != null")
+	void delete(Offer entity);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE)
+	void deleteById(Long id);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, allEntries = true)
+	void deleteAll(Iterable<? extends Offer> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, allEntries = true)
+	void deleteAll();
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, allEntries = true)
+	void deleteInBatch(Iterable<Offer> entities);
+
+	@Override
+	@CacheEvict(cacheNames = HotelConstants.OFFER_CACHE, allEntries = true)
+	void deleteAllInBatch();
+
 	Optional<List<Offer>> findByHotelAndCategory(Hotel hotel, Category category);
 
+	@Query("select new com.myhotel.managment.dto.OfferDTO(o.id, o.hotel.id, o.category.id, o.value) from Offer o "
+			+ "where o.hotel.id = :hotelId and o.category.id = :categoryId order by o.id")
+	List<OfferDTO> findAllDTOsByHotelIdAndCategoryId(@Param("hotelId") Long hotelId,
+			@Param("categoryId") Long categoryId);
+
 	Optional<Offer> findByIdAndHotelAndCategory(Long offerId, Hotel hotel, Category category);
+
+	@Query("select case when count(o) > 0 then true else false end from Offer o join o.category c "
+			+ "where o.id = :offerId and o.hotel.id = :hotelId and c.id = :categoryId and c.hotel.id = :hotelId")
+	boolean existsInCategory(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId,
+			@Param("offerId") Long offerId);
 }
\ No newline at end of file
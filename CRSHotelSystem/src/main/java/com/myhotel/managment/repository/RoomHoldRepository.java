@@ -0,0 +1,11 @@
+package com.myhotel.managment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.myhotel.managment.domain.RoomHold;
+
+@Repository
+public interface RoomHoldRepository extends JpaRepository<RoomHold, String> {
+
+}
@@ -0,0 +1,12 @@
+package com.myhotel.managment.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.myhotel.managment.domain.RoomNightHistory;
+import com.myhotel.managment.domain.RoomNightId;
+
+@Repository
+public interface RoomNightHistoryRepository extends JpaRepository<RoomNightHistory, RoomNightId> {
+
+}
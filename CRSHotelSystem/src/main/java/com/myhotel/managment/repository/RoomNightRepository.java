@@ -0,0 +1,59 @@
+package com.myhotel.managment.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.domain.RoomNight;
+import com.myhotel.managment.domain.RoomNightId;
+import com.myhotel.managment.dto.CalendarCountRow;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNightId> {
+
+	@Query("select n.id.night from RoomNight n where n.id.roomId = :roomId and n.id.night in :nights order by n.id.night")
+	List<LocalDate> findBookedNights(@Param("roomId") Long roomId, @Param("nights") Collection<LocalDate> nights);
+
+	@Query("select n.id.night from RoomNight n where n.id.roomId = :roomId and n.id.night in :nights "
+			+ "and n.reservationId = :reservationId order by n.id.night")
+	List<LocalDate> findNightsOfReservation(@Param("roomId") Long roomId, @Param("nights") Collection<LocalDate> nights,
+			@Param("reservationId") Long reservationId);
+
+	@Query("select n.id.night from RoomNight n where n.id.roomId = :roomId and n.id.night in :nights "
+			+ "and (n.reservationId is null or n.reservationId = :reservationId) order by n.id.night")
+	List<LocalDate> findReleasableNights(@Param("roomId") Long roomId, @Param("nights") Collection<LocalDate> nights,
+			@Param("reservationId") Long reservationId);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = HotelConstants.STREAM_FETCH_SIZE))
+	@Query("select n.id from RoomNight n order by n.id.roomId, n.id.night")
+	Stream<RoomNightId> streamAllIds();
+
+	@Query("select n.id from RoomNight n where n.id.roomId = :roomId order by n.id.night")
+	List<RoomNightId> findIdsByRoomId(@Param("roomId") Long roomId);
+
+	@Query("select r.category.id as categoryId, n.id.night as night, count(n) as count from RoomNight n, Room r "
+			+ "where r.id = n.id.roomId and r.hotel.id = :hotelId and n.id.night between :from and :to "
+			+ "group by r.category.id, n.id.night")
+	List<CalendarCountRow> countBookedByCategory(@Param("hotelId") Long hotelId, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
+	@Query("select n.id from RoomNight n where n.id.night < :before order by n.id.roomId, n.id.night")
+	List<RoomNightId> findIdsBefore(@Param("before") LocalDate before, Pageable pageable);
+
+	@Modifying
+	@Query("delete from RoomNight n where n.id.roomId = :roomId and n.id.night in :nights")
+	int deleteNights(@Param("roomId") Long roomId, @Param("nights") Collection<LocalDate> nights);
+
+}
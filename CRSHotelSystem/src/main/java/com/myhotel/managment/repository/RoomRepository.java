@@ -1,14 +1,28 @@
 package com.myhotel.managment.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.dto.CalendarCountRow;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomYearRow;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
@@ -17,5 +31,50 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
 	Optional<List<Room>> findAllByHotelAndCategory(Hotel hotel, Category category);
 
+	@Query("select new com.myhotel.managment.dto.RoomDTO(r.id, r.category.id, r.hotel.id) from Room r "
+			+ "where r.hotel.id = :hotelId order by r.id")
+	List<RoomDTO> findAllDTOsByHotelId(@Param("hotelId") Long hotelId);
+
+	@Query("select new com.myhotel.managment.dto.RoomDTO(r.id, r.category.id, r.hotel.id) from Room r "
+			+ "where r.hotel.id = :hotelId and r.id > :afterId order by r.id")
+	List<RoomDTO> findAllDTOsByHotelIdAfter(@Param("hotelId") Long hotelId, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = HotelConstants.STREAM_FETCH_SIZE))
+	@Query("select new com.myhotel.managment.dto.RoomDTO(r.id, r.category.id, r.hotel.id) from Room r "
+			+ "where r.hotel.id = :hotelId order by r.id")
+	Stream<RoomDTO> streamDTOsByHotelId(@Param("hotelId") Long hotelId);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = HotelConstants.STREAM_FETCH_SIZE))
+	@Query("select r.id as roomId, r.category.id as categoryId, y.id.year as year, y.nights as nights from Room r "
+			+ "left join RoomYear y on y.id.roomId = r.id where r.hotel.id = :hotelId order by r.id, y.id.year")
+	Stream<RoomYearRow> streamNightsByHotelId(@Param("hotelId") Long hotelId);
+
+	@Query("select r.id from Room r where r.hotel.id = :hotelId and r.category.id = :categoryId order by r.id")
+	List<Long> findIdsByHotelIdAndCategoryId(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId);
+
 	Optional<Room> findByIdAndHotelAndCategory(Long roomId, Hotel hotel, Category category);
-}
\ No newline at end of file
+
+	@Query("select case when count(r) > 0 then true else false end from Room r "
+			+ "where r.id = :roomId and r.hotel.id = :hotelId")
+	boolean existsInHotel(@Param("hotelId") Long hotelId, @Param("roomId") Long roomId);
+
+	@Query("select case when count(r) > 0 then true else false end from Room r join r.category c "
+			+ "where r.id = :roomId and r.hotel.id = :hotelId and c.id = :categoryId and c.hotel.id = :hotelId")
+	boolean existsInCategory(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId,
+			@Param("roomId") Long roomId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select r from Room r where r.id = :roomId")
+	Optional<Room> findByIdForUpdate(@Param("roomId") Long roomId);
+
+	@Query("select r.id from Room r where r.hotel.id = :hotelId and r.category.id = :categoryId "
+			+ "and not exists (select n from RoomNight n where n.id.roomId = r.id "
+			+ "and n.id.night between :from and :to) order by r.id")
+	List<Long> findAvailableRoomIds(@Param("hotelId") Long hotelId, @Param("categoryId") Long categoryId,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Query("select r.category.id as categoryId, count(r) as count from Room r where r.hotel.id = :hotelId "
+			+ "group by r.category.id order by r.category.id")
+	List<CalendarCountRow> countByCategory(@Param("hotelId") Long hotelId);
+}
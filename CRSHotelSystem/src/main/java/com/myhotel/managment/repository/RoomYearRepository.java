@@ -0,0 +1,29 @@
+package com.myhotel.managment.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.domain.RoomYear;
+import com.myhotel.managment.domain.RoomYearId;
+
+@Repository
+public interface RoomYearRepository extends JpaRepository<RoomYear, RoomYearId> {
+
+	@Query("select y from RoomYear y where y.id.roomId in :roomIds order by y.id.roomId, y.id.year")
+	List<RoomYear> findAllByRoomIds(@Param("roomIds") Collection<Long> roomIds);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = HotelConstants.STREAM_FETCH_SIZE))
+	@Query("select y from RoomYear y order by y.id.roomId, y.id.year")
+	Stream<RoomYear> streamAll();
+
+}
@@ -1,10 +1,6 @@
 package com.myhotel.managment.security.filter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -13,14 +9,13 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.myhotel.managment.security.util.JwtUtil;
+import com.myhotel.managment.security.util.VerifiedToken;
 
 @Service
 public class PerRequestFilter extends OncePerRequestFilter {
@@ -33,23 +28,15 @@ public class PerRequestFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		String authorization = request.getHeader("Authorization");
-		Collection<? extends GrantedAuthority> grantedAuthorities = null;
+		VerifiedToken verified = null;
 		if (authorization != null && authorization.startsWith(BEARER)) {
 			String token = authorization.substring(7);
-			grantedAuthorities = jwtUtil.extractAuthorities(token);
+			verified = jwtUtil.verify(token);
 		}
 
-		if (grantedAuthorities != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			Map<String, String> authority = (Map<String, String>) ((ArrayList) grantedAuthorities).get(0);
-
-			List<GrantedAuthority> authorities = new ArrayList<>();
-
-			for (Map.Entry<String, String> entry : authority.entrySet()) {
-				SimpleGrantedAuthority simpleGrantedAuthority = new SimpleGrantedAuthority(entry.getValue());
-				authorities.add(simpleGrantedAuthority);
-			}
+		if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 			UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(null, null,
-					authorities);
+					verified.getAuthorities());
 			token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 			SecurityContextHolder.getContext().setAuthentication(token);
 		}
@@ -0,0 +1,47 @@
+package com.myhotel.managment.security.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+/**
+ * Claims of a token whose signature has been verified, with the authorities
+ * they grant built once.
+ *
+ * @author Sushil Yadav
+ */
+@Getter
+public class VerifiedToken {
+
+	private final Claims claims;
+
+	private final List<GrantedAuthority> authorities;
+
+	VerifiedToken(Claims claims) {
+		this.claims = claims;
+		this.authorities = Collections.unmodifiableList(toAuthorities(claims.get("authorities", Collection.class)));
+	}
+
+	public String getUsername() {
+		return claims.getSubject();
+	}
+
+	// The authorities claim holds the serialised authorities, as {"authority": "ROLE_USER"}
+	private static List<GrantedAuthority> toAuthorities(Collection<?> claim) {
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		if (claim != null)
+			for (Object authority : claim)
+				for (Object role : ((Map<?, ?>) authority).values())
+					authorities.add(new SimpleGrantedAuthority(role.toString()));
+		return authorities;
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.myhotel.managment.service;
+
+import java.time.LocalDate;
+
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+
+public interface AvailabilityCalendarService {
+
+	AvailabilityCalendarDTO get(Long hotelId, LocalDate from, LocalDate to);
+
+	void evict(Long hotelId);
+
+}
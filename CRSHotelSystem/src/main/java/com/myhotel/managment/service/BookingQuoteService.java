@@ -0,0 +1,11 @@
+package com.myhotel.managment.service;
+
+import java.time.LocalDate;
+
+import com.myhotel.managment.dto.BookingQuoteDTO;
+
+public interface BookingQuoteService {
+
+	BookingQuoteDTO get(Long hotelId, Long categoryId, Long offerId, LocalDate from, LocalDate to);
+
+}
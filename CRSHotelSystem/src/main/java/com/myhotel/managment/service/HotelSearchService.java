@@ -0,0 +1,12 @@
+package com.myhotel.managment.service;
+
+import java.time.LocalDate;
+
+import com.myhotel.managment.dto.HotelSearchDTO;
+
+public interface HotelSearchService {
+
+	HotelSearchDTO search(LocalDate from, LocalDate to, String category, String address, Double maxCharges,
+			int limit);
+
+}
@@ -1,9 +1,11 @@
 package com.myhotel.managment.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 
 public interface HotelService {
 
@@ -11,6 +13,10 @@ public interface HotelService {
 
 	List<HotelDTO> getAll();
 
+	HotelPageDTO getPage(String cursor, int size);
+
+	void streamAll(Consumer<? super HotelDTO> consumer);
+
 	HotelDTO update(HotelDTO hotelDTO);
 
 	Hotel get(Long hotelId);
@@ -0,0 +1,15 @@
+package com.myhotel.managment.service;
+
+public interface OwnershipService {
+
+	boolean existsHotel(Long hotelId);
+
+	boolean existsCategory(Long hotelId, Long categoryId);
+
+	boolean existsRoom(Long hotelId, Long roomId);
+
+	boolean existsRoom(Long hotelId, Long categoryId, Long roomId);
+
+	boolean existsOffer(Long hotelId, Long categoryId, Long offerId);
+
+}
@@ -0,0 +1,14 @@
+package com.myhotel.managment.service;
+
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+
+public interface RoomHoldService {
+
+	RoomHoldDTO hold(RoomHoldDTO roomHoldDTO);
+
+	RoomDTO confirm(Long hotelId, String holdId);
+
+	boolean release(Long hotelId, String holdId);
+
+}
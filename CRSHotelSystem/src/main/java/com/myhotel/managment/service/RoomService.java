@@ -2,11 +2,16 @@ package com.myhotel.managment.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
 
 public interface RoomService {
 
@@ -14,9 +19,23 @@ public interface RoomService {
 
 	RoomDTO update(RoomDTO roomDTO);
 
-	List<RoomDTO> getAll(Long hotelId);
+	RoomDTO book(RoomDTO roomDTO);
 
-	List<RoomDTO> getByParams(Long hotelId, LocalDate from, LocalDate to, Long categoryId);
+	RoomDTO book(RoomDTO roomDTO, String holdId);
+
+	List<RoomDTO> bookAll(List<RoomDTO> roomDTOs);
+
+	RoomDTO change(BookingChangeDTO changeDTO);
+
+	List<RoomDTO> getAll(Long hotelId, BookedDatesFormat dates);
+
+	RoomPageDTO getPage(Long hotelId, String cursor, int size, BookedDatesFormat dates);
+
+	void streamAll(Long hotelId, BookedDatesFormat dates, Consumer<? super RoomDTO> consumer);
+
+	List<RoomDTO> getByParams(Long hotelId, LocalDate from, LocalDate to, Long categoryId, BookedDatesFormat dates);
+
+	FlexibleAvailabilityDTO getFlexible(Long hotelId, LocalDate from, LocalDate to, int nights, Long categoryId);
 
 	List<LocalDate> getListOfDates(LocalDate from, LocalDate to);
 
@@ -0,0 +1,153 @@
+package com.myhotel.managment.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myhotel.managment.availability.RoomAvailabilityIndex;
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+import com.myhotel.managment.dto.CalendarCountRow;
+import com.myhotel.managment.dto.CategoryAvailabilityDTO;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.AvailabilityCalendarService;
+
+import lombok.Value;
+
+/**
+ * Service Class building the availability calendar of a hotel, the free rooms
+ * of every category on every date.
+ *
+ * @author Sushil Yadav
+ */
+@Service
+public class AvailabilityCalendarServiceImpl implements AvailabilityCalendarService {
+
+	private RoomRepository roomRepository;
+	private RoomNightRepository roomNightRepository;
+	private RoomAvailabilityIndex availabilityIndex;
+	private Cache calendarCache;
+
+	// Calendars are cached under the version of their hotel, a booking moves the
+	// hotel to a new version so its cached calendars are never read again
+	private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+	public AvailabilityCalendarServiceImpl(RoomRepository roomRepository, RoomNightRepository roomNightRepository,
+			RoomAvailabilityIndex availabilityIndex, CacheManager cacheManager) {
+		this.roomRepository = roomRepository;
+		this.roomNightRepository = roomNightRepository;
+		this.availabilityIndex = availabilityIndex;
+		this.calendarCache = cacheManager.getCache(HotelConstants.CALENDAR_CACHE);
+	}
+
+	/**
+	 * Get the free rooms of every category of the hotel for the dates provided.
+	 * Counts are read from the availability index when all the categories are
+	 * indexed, otherwise with a single query grouping the booked nights by
+	 * category and date. Calendars are cached until the next booking of the
+	 * hotel.
+	 *
+	 * @param Long      hotelId.
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @return the AvailabilityCalendarDTO.
+	 */
+	@Override
+	public AvailabilityCalendarDTO get(Long hotelId, LocalDate from, LocalDate to) {
+		CalendarKey key = new CalendarKey(hotelId, versions.getOrDefault(hotelId, 0L), from, to);
+		return calendarCache.get(key, () -> load(hotelId, from, to));
+	}
+
+	/**
+	 * Drops the cached calendars of a hotel once the current transaction, if any,
+	 * commits.
+	 *
+	 * @param Long hotelId.
+	 */
+	@Override
+	public void evict(Long hotelId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			versions.merge(hotelId, 1L, Long::sum);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				versions.merge(hotelId, 1L, Long::sum);
+			}
+		});
+	}
+
+	private AvailabilityCalendarDTO load(Long hotelId, LocalDate from, LocalDate to) {
+		List<CalendarCountRow> roomCounts = roomRepository.countByCategory(hotelId);
+
+		List<CategoryAvailabilityDTO> categories = fromIndex(hotelId, roomCounts, from, to);
+		if (categories == null)
+			categories = fromBookedNights(hotelId, roomCounts, from, to);
+
+		return AvailabilityCalendarDTO.builder().hotelId(hotelId).from(from).to(to).categories(categories).build();
+	}
+
+	// Null unless every category of the hotel is indexed
+	private List<CategoryAvailabilityDTO> fromIndex(Long hotelId, List<CalendarCountRow> roomCounts, LocalDate from,
+			LocalDate to) {
+		if (!availabilityIndex.isEnabled())
+			return null;
+
+		List<CategoryAvailabilityDTO> categories = new ArrayList<>();
+		for (CalendarCountRow row : roomCounts) {
+			Optional<long[]> free = availabilityIndex.countFree(hotelId, row.getCategoryId(), from, to);
+			if (free.isEmpty())
+				return null;
+
+			Map<LocalDate, Long> freeByDate = new LinkedHashMap<>();
+			long[] counts = free.get();
+			for (int day = 0; day < counts.length; day++)
+				freeByDate.put(from.plusDays(day), counts[day]);
+			categories.add(new CategoryAvailabilityDTO(row.getCategoryId(), row.getCount(), freeByDate));
+		}
+		return categories;
+	}
+
+	private List<CategoryAvailabilityDTO> fromBookedNights(Long hotelId, List<CalendarCountRow> roomCounts,
+			LocalDate from, LocalDate to) {
+		Map<Long, Map<LocalDate, Long>> booked = new HashMap<>();
+		roomNightRepository.countBookedByCategory(hotelId, from, to).forEach(row -> booked
+				.computeIfAbsent(row.getCategoryId(), id -> new HashMap<>()).put(row.getNight(), row.getCount()));
+
+		List<CategoryAvailabilityDTO> categories = new ArrayList<>();
+		roomCounts.forEach(row -> {
+			Map<LocalDate, Long> bookedByDate = booked.getOrDefault(row.getCategoryId(), Map.of());
+			Map<LocalDate, Long> freeByDate = new LinkedHashMap<>();
+			from.datesUntil(to.plusDays(1))
+					.forEach(date -> freeByDate.put(date, row.getCount() - bookedByDate.getOrDefault(date, 0L)));
+			categories.add(new CategoryAvailabilityDTO(row.getCategoryId(), row.getCount(), freeByDate));
+		});
+		return categories;
+	}
+
+	@Value
+	private static class CalendarKey {
+
+		private Long hotelId;
+
+		private Long version;
+
+		private LocalDate from;
+
+		private LocalDate to;
+
+	}
+
+}
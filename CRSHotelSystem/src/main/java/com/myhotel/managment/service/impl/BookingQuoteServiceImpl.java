@@ -0,0 +1,78 @@
+package com.myhotel.managment.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.domain.RoomAssignment;
+import com.myhotel.managment.dto.BookingQuoteDTO;
+import com.myhotel.managment.dto.BookingQuoteRow;
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.service.BookingQuoteService;
+
+/**
+ * Service Class quoting a booking of a hotel category.
+ *
+ * @author Sushil Yadav
+ */
+@Service
+public class BookingQuoteServiceImpl implements BookingQuoteService {
+
+	private CategoryRepository categoryRepository;
+	private RoomHoldStore holdStore;
+
+	public BookingQuoteServiceImpl(CategoryRepository categoryRepository, RoomHoldStore holdStore) {
+		this.categoryRepository = categoryRepository;
+		this.holdStore = holdStore;
+	}
+
+	/**
+	 * Quotes a booking of the category for the dates provided. The free rooms, the
+	 * nightly charge and the offer are read with a single query, along with the
+	 * nights booked around the stay in every free room so the rooms are ordered
+	 * by the assignment of the hotel in the same pass. Rooms held for another
+	 * booking in progress are not quoted.
+	 *
+	 * @param Long      hotelId.
+	 * @param Long      categoryId.
+	 * @param Long      offerId, optional offer to apply.
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @return the BookingQuoteDTO, without category id when the category is not
+	 *         found in the hotel.
+	 */
+	@Override
+	public BookingQuoteDTO get(Long hotelId, Long categoryId, Long offerId, LocalDate from, LocalDate to) {
+		List<BookingQuoteRow> rows = categoryRepository.findBookingQuote(hotelId, categoryId, offerId, from, to);
+		if (rows.isEmpty())
+			return new BookingQuoteDTO();
+
+		BookingQuoteRow row = rows.get(0);
+		List<Long> roomIds = assign(rows, from, to);
+
+		long nights = ChronoUnit.DAYS.between(from, to) + 1;
+		Double charges = row.getCharges() != null ? row.getCharges() : 0;
+		Double offerValue = row.getOfferValue() != null ? row.getOfferValue() : 0;
+
+		return BookingQuoteDTO.builder().hotelId(hotelId).categoryId(row.getCategoryId()).from(from).to(to)
+				.roomId(roomIds.isEmpty() ? null : roomIds.get(0)).roomIds(roomIds).charges(charges)
+				.offerId(row.getOfferId()).offerValue(offerValue).nights(nights).total((charges - offerValue) * nights)
+				.build();
+	}
+
+	// Free rooms in the order they should be assigned, rows come by ascending room id
+	private List<Long> assign(List<BookingQuoteRow> rows, LocalDate from, LocalDate to) {
+		Stream<BookingQuoteRow> freeRooms = rows.stream()
+				.filter(row -> row.getRoomId() != null && !holdStore.isHeld(row.getRoomId(), from, to));
+		if (RoomAssignment.of(rows.get(0).getRoomAssignment()) == RoomAssignment.BEST_FIT)
+			freeRooms = freeRooms.sorted(Comparator.comparingLong(
+					row -> RoomAssignment.leftover(from, to, row.getPreviousNight(), row.getNextNight())));
+		return freeRooms.map(BookingQuoteRow::getRoomId).collect(Collectors.toList());
+	}
+
+}
@@ -1,6 +1,5 @@
 package com.myhotel.managment.service.impl;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -56,28 +55,26 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	/**
-	 * Get all Categories for the hotel id provided.
+	 * Get all Categories for the hotel id provided, read straight into
+	 * CategoryDTO.
 	 * 
 	 * @param Long hotelId, to fetch all categories mapped.
 	 * @return the list of CategoryDTO.
 	 */
 	@Override
 	public List<CategoryDTO> getAll(Long hotelId) {
-
-		Hotel hotel = Hotel.builder().id(hotelId).build();
-		List<Category> categories = categoryRepository.findAllByHotel(hotel);
-		return convertEntityToDTO(categories);
+		return categoryRepository.findAllDTOsByHotelId(hotelId);
 	}
 
 	/**
-	 * Get a Category for the categoryId provided.
+	 * Get a Category for the categoryId provided, read from the category cache.
 	 * 
 	 * @param Long categoryId , to get category by id.
 	 * @return the CategoryDTO.
 	 */
 	@Override
 	public CategoryDTO get(Long categoryId) {
-		return convertEntityToDTO(getCategory(categoryId));
+		return categoryRepository.findDTOById(categoryId).orElseGet(CategoryDTO::new);
 	}
 
 	/**
@@ -126,17 +123,4 @@ public class CategoryServiceImpl implements CategoryService {
 
 	}
 
-	/**
-	 * Convert List<Category> Entity to List<CategoryDTO> entity
-	 * 
-	 * @param List<Category> , for converting.
-	 * @return the converted List<CategoryDTO>.
-	 */
-	private List<CategoryDTO> convertEntityToDTO(List<Category> categories) {
-
-		List<CategoryDTO> categoryDTO = new ArrayList<>();
-		categories.forEach(category -> categoryDTO.add(convertEntityToDTO(category)));
-		return categoryDTO;
-	}
-
 }
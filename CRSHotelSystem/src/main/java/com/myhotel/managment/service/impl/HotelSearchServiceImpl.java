@@ -0,0 +1,167 @@
+package com.myhotel.managment.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.dto.HotelSearchDTO;
+import com.myhotel.managment.dto.HotelSearchResultDTO;
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.service.HotelSearchService;
+import com.myhotel.managment.service.RoomService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Class searching the free categories of all the hotels.
+ *
+ * @author Sushil Yadav
+ */
+@Service
+@Slf4j
+public class HotelSearchServiceImpl implements HotelSearchService {
+
+	private CategoryRepository categoryRepository;
+	private RoomService roomService;
+	private ThreadPoolExecutor executor;
+	private long deadlineMillis;
+
+	public HotelSearchServiceImpl(CategoryRepository categoryRepository, RoomService roomService,
+			@Value("${hotel.search.parallelism:8}") int parallelism,
+			@Value("${hotel.search.deadline-millis:2000}") long deadlineMillis) {
+		this.categoryRepository = categoryRepository;
+		this.roomService = roomService;
+		this.deadlineMillis = deadlineMillis;
+		// A full queue makes the request thread search the hotel itself
+		this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(1000), new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Search the hotels with a category free for all the dates between from and
+	 * to, both inclusive. Categories matching the filters are read with one query
+	 * and the hotels are searched in parallel, cheapest first. Only the cheapest
+	 * results are kept, and categories which can no longer make it into them are
+	 * not searched. Results found when the deadline passes are returned as
+	 * incomplete.
+	 *
+	 * @param LocalDate from, LocalDate to for the date range.
+	 * @param String    category, optional description of the category.
+	 * @param String    address, optional part of the hotel address.
+	 * @param Double    maxCharges, optional maximum nightly charges.
+	 * @param int       limit, number of results.
+	 * @return the HotelSearchDTO with the results by ascending total.
+	 */
+	@Override
+	public HotelSearchDTO search(LocalDate from, LocalDate to, String category, String address, Double maxCharges,
+			int limit) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+		long nights = ChronoUnit.DAYS.between(from, to) + 1;
+
+		Map<Long, List<CategoryDTO>> candidates = new LinkedHashMap<>();
+		categoryRepository.findSearchCandidates(category, maxCharges, address).forEach(
+				candidate -> candidates.computeIfAbsent(candidate.getHotelId(), id -> new ArrayList<>()).add(candidate));
+
+		TopResults results = new TopResults(limit);
+		List<CompletableFuture<Void>> searches = new ArrayList<>();
+		candidates.values().forEach(hotelCategories -> searches.add(CompletableFuture
+				.runAsync(() -> searchHotel(hotelCategories, from, to, nights, results, deadline), executor)));
+
+		boolean complete = await(searches, deadline);
+		return HotelSearchDTO.builder().from(from).to(to).complete(complete).results(results.sorted()).build();
+	}
+
+	// Categories are in ascending charges, once one can not make it into the
+	// results the next ones can not either
+	private void searchHotel(List<CategoryDTO> categories, LocalDate from, LocalDate to, long nights,
+			TopResults results, long deadline) {
+		for (CategoryDTO category : categories) {
+			if (System.nanoTime() > deadline || !results.accepts(category.getCharges() * nights))
+				return;
+
+			int freeRooms = roomService
+					.getByParams(category.getHotelId(), from, to, category.getId(), BookedDatesFormat.NONE).size();
+			if (freeRooms > 0)
+				results.offer(new HotelSearchResultDTO(category.getHotelId(), category.getId(),
+						category.getDescription(), category.getCharges(), freeRooms, nights,
+						category.getCharges() * nights));
+		}
+	}
+
+	private boolean await(List<CompletableFuture<Void>> searches, long deadline) {
+		try {
+			CompletableFuture.allOf(searches.toArray(new CompletableFuture[0])).get(deadline - System.nanoTime(),
+					TimeUnit.NANOSECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			log.info("Search deadline passed, returning the results found");
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Searching hotels failed", e.getCause());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * The cheapest results found so far, kept in a heap with the most expensive
+	 * on top so it is the one replaced by a cheaper result.
+	 */
+	private static class TopResults {
+
+		private static final Comparator<HotelSearchResultDTO> CHEAPEST = Comparator
+				.comparing(HotelSearchResultDTO::getTotal).thenComparing(HotelSearchResultDTO::getHotelId)
+				.thenComparing(HotelSearchResultDTO::getCategoryId);
+
+		private final int limit;
+
+		private final PriorityQueue<HotelSearchResultDTO> heap;
+
+		TopResults(int limit) {
+			this.limit = limit;
+			this.heap = new PriorityQueue<>(limit, CHEAPEST.reversed());
+		}
+
+		synchronized boolean accepts(double total) {
+			return heap.size() < limit || total < heap.peek().getTotal();
+		}
+
+		synchronized void offer(HotelSearchResultDTO result) {
+			heap.offer(result);
+			if (heap.size() > limit)
+				heap.poll();
+		}
+
+		synchronized List<HotelSearchResultDTO> sorted() {
+			List<HotelSearchResultDTO> sorted = new ArrayList<>(heap);
+			sorted.sort(CHEAPEST);
+			return sorted;
+		}
+
+	}
+
+}
@@ -1,13 +1,18 @@
 package com.myhotel.managment.service.impl;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 import com.myhotel.managment.repository.HotelRepository;
 import com.myhotel.managment.service.HotelService;
 
@@ -52,15 +57,49 @@ public class HotelServiceImpl implements HotelService {
 	}
 
 	/**
-	 * Get all Hotels
+	 * Get all Hotels, read straight into HotelDTO.
 	 * 
 	 * @return the list of HotelDTO.
 	 */
 	@Override
 	public List<HotelDTO> getAll() {
+		return hotelRepository.findAllDTOs();
+	}
+
+	/**
+	 * Get a page of Hotels ordered by id.
+	 * 
+	 * @param String cursor, of the page to fetch, null for the first page.
+	 * @param int    size, of the page.
+	 * @return the HotelPageDTO.
+	 * @throws IllegalArgumentException when the cursor is malformed.
+	 */
+	@Override
+	public HotelPageDTO getPage(String cursor, int size) {
+		int limit = Math.max(1, Math.min(size, HotelConstants.MAX_PAGE_SIZE));
+		Long afterId = cursor != null ? Long.valueOf(cursor) : 0L;
+
+		// One row past the page is fetched, its presence tells a next page exists
+		List<HotelDTO> rows = hotelRepository.findAllDTOsAfter(afterId, PageRequest.of(0, limit + 1));
+		if (rows.size() <= limit)
+			return HotelPageDTO.builder().hotels(rows).build();
 
-		List<Hotel> hotels = hotelRepository.findAll();
-		return convertEntityToDTO(hotels);
+		List<HotelDTO> hotels = rows.subList(0, limit);
+		return HotelPageDTO.builder().hotels(hotels).next(String.valueOf(hotels.get(limit - 1).getId())).build();
+	}
+
+	/**
+	 * Hands every Hotel to the consumer provided as it is read from a forward-only
+	 * cursor, so memory use does not grow with the number of hotels.
+	 * 
+	 * @param Consumer<HotelDTO> consumer, of the hotels.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(Consumer<? super HotelDTO> consumer) {
+		try (Stream<HotelDTO> hotels = hotelRepository.streamAllDTOs()) {
+			hotels.forEach(consumer);
+		}
 	}
 
 	/**
@@ -72,7 +111,7 @@ public class HotelServiceImpl implements HotelService {
 	private Hotel convertDTOToEntity(HotelDTO hotelDTO) {
 
 		return Hotel.builder().id(hotelDTO.getId()).address(hotelDTO.getAddress()).contact(hotelDTO.getContact())
-				.build();
+				.roomAssignment(hotelDTO.getRoomAssignment()).build();
 
 	}
 
@@ -84,21 +123,9 @@ public class HotelServiceImpl implements HotelService {
 	 */
 	private HotelDTO convertEntityToDTO(Hotel hotel) {
 
-		return HotelDTO.builder().address(hotel.getAddress()).contact(hotel.getContact()).id(hotel.getId()).build();
-
-	}
-
-	/**
-	 * Convert List<Hotel> Entity to List<HotelDTO> entity
-	 * 
-	 * @param List<Hotel> , for converting.
-	 * @return the converted List<HotelDTO>.
-	 */
-	private List<HotelDTO> convertEntityToDTO(List<Hotel> hotels) {
+		return HotelDTO.builder().address(hotel.getAddress()).contact(hotel.getContact()).id(hotel.getId())
+				.roomAssignment(hotel.getRoomAssignment()).build();
 
-		List<HotelDTO> hotelDTO = new ArrayList<>();
-		hotels.forEach(hotel -> hotelDTO.add(convertEntityToDTO(hotel)));
-		return hotelDTO;
 	}
 
 	/**
@@ -73,26 +73,26 @@ public class OfferServiceImpl implements OfferService {
 	}
 
 	/**
-	 * Get all Offers for the hotel id and category id provided.
+	 * Get all Offers for the hotel id and category id provided, read straight
+	 * into OfferDTO.
 	 * 
 	 * @param Long hotelId, Long categoryId to fetch all offers mapped.
 	 * @return the List<OfferDTO>.
 	 */
 	@Override
 	public List<OfferDTO> getAll(Long hotelId, Long categoryId) {
-		List<Offer> offer = getOffers(hotelId, categoryId);
-		return converteEntityToDTO(offer);
+		return offerRepository.findAllDTOsByHotelIdAndCategoryId(hotelId, categoryId);
 	}
 
 	/**
-	 * Get a Offer for the offer id provided.
+	 * Get a Offer for the offer id provided, read from the offer cache.
 	 * 
 	 * @param Long offerId , to get offer by id.
 	 * @return the OfferDTO.
 	 */
 	@Override
 	public OfferDTO get(Long offerlId) {
-		return converteEntityToDTO(getOffer(offerlId));
+		return offerRepository.findDTOById(offerlId).orElseGet(OfferDTO::new);
 	}
 
 	/**
@@ -130,18 +130,6 @@ public class OfferServiceImpl implements OfferService {
 				.hotelId(offer.getHotel().getId()).build();
 	}
 
-	/**
-	 * Convert List<Offer> Entity to List<OfferDTO> entity
-	 * 
-	 * @param List<Offer> , for converting.
-	 * @return the converted List<OfferDTO>.
-	 */
-	private List<OfferDTO> converteEntityToDTO(List<Offer> offers) {
-		List<OfferDTO> offerDTO = new ArrayList<>();
-		offers.forEach(offer -> offerDTO.add(converteEntityToDTO(offer)));
-		return offerDTO;
-	}
-
 	/**
 	 * Responsible to get the Hotel entity from repository by the hotelId provided
 	 * 
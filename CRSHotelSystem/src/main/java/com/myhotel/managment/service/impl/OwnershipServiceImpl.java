@@ -0,0 +1,121 @@
+package com.myhotel.managment.service.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.repository.HotelRepository;
+import com.myhotel.managment.repository.OfferRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.OwnershipService;
+
+/**
+ * Service implementation Class validating that entities exist and belong to the
+ * hotel and category they are addressed through. Each chain is confirmed with a
+ * single query, and the answer is kept for the rest of the request.
+ *
+ * @author Sushil Yadav
+ */
+@Service
+@RequestScope
+public class OwnershipServiceImpl implements OwnershipService {
+
+	private static final String HOTEL = "hotel";
+	private static final String CATEGORY = "category";
+	private static final String ROOM = "room";
+	private static final String OFFER = "offer";
+
+	private HotelRepository hotelRepository;
+	private CategoryRepository categoryRepository;
+	private RoomRepository roomRepository;
+	private OfferRepository offerRepository;
+
+	private final Map<List<Object>, Boolean> checked = new HashMap<>();
+
+	public OwnershipServiceImpl(HotelRepository hotelRepository, CategoryRepository categoryRepository,
+			RoomRepository roomRepository, OfferRepository offerRepository) {
+		this.hotelRepository = hotelRepository;
+		this.categoryRepository = categoryRepository;
+		this.roomRepository = roomRepository;
+		this.offerRepository = offerRepository;
+	}
+
+	/**
+	 * Validate if the hotel is present.
+	 * 
+	 * @param Long hotelId.
+	 * @return boolean.
+	 */
+	@Override
+	public boolean existsHotel(Long hotelId) {
+		return check(() -> hotelRepository.findDTOById(hotelId).isPresent(), HOTEL, hotelId);
+	}
+
+	/**
+	 * Validate if the category is present in the hotel.
+	 * 
+	 * @param Long hotelId.
+	 * @param Long categoryId.
+	 * @return boolean.
+	 */
+	@Override
+	public boolean existsCategory(Long hotelId, Long categoryId) {
+		return check(() -> categoryRepository.existsInHotel(hotelId, categoryId), CATEGORY, hotelId,
+				categoryId);
+	}
+
+	/**
+	 * Validate if the room is present in the hotel.
+	 * 
+	 * @param Long hotelId.
+	 * @param Long roomId.
+	 * @return boolean.
+	 */
+	@Override
+	public boolean existsRoom(Long hotelId, Long roomId) {
+		return check(() -> roomRepository.existsInHotel(hotelId, roomId), ROOM, hotelId, roomId);
+	}
+
+	/**
+	 * Validate if the room is present in the category, and the category in the
+	 * hotel.
+	 * 
+	 * @param Long hotelId.
+	 * @param Long categoryId.
+	 * @param Long roomId.
+	 * @return boolean.
+	 */
+	@Override
+	public boolean existsRoom(Long hotelId, Long categoryId, Long roomId) {
+		return check(() -> roomRepository.existsInCategory(hotelId, categoryId, roomId), ROOM, hotelId, categoryId,
+				roomId);
+	}
+
+	/**
+	 * Validate if the offer is present in the category, and the category in the
+	 * hotel.
+	 * 
+	 * @param Long hotelId.
+	 * @param Long categoryId.
+	 * @param Long offerId.
+	 * @return boolean.
+	 */
+	@Override
+	public boolean existsOffer(Long hotelId, Long categoryId, Long offerId) {
+		return check(() -> offerRepository.existsInCategory(hotelId, categoryId, offerId), OFFER, hotelId,
+				categoryId, offerId);
+	}
+
+	private boolean check(Supplier<Boolean> query, Object... key) {
+		if (Arrays.asList(key).contains(null))
+			return false;
+		return checked.computeIfAbsent(Arrays.asList(key), k -> query.get());
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.myhotel.managment.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.domain.RoomHold;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.RoomHoldService;
+import com.myhotel.managment.service.RoomService;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Service Class holding the nights of a Room while a booking is in progress.
+ *
+ * @author Sushil Yadav
+ */
+@Service
+public class RoomHoldServiceImpl implements RoomHoldService {
+
+	private RoomRepository roomRepository;
+	private RoomNightRepository roomNightRepository;
+	private RoomHoldStore holdStore;
+	private RoomService roomService;
+
+	@Getter
+	@Setter
+	@Value("${hotel.holds.default-minutes:15}")
+	private int defaultMinutes = 15;
+
+	@Getter
+	@Setter
+	@Value("${hotel.holds.max-minutes:60}")
+	private int maxMinutes = 60;
+
+	public RoomHoldServiceImpl(RoomRepository roomRepository, RoomNightRepository roomNightRepository,
+			RoomHoldStore holdStore, RoomService roomService) {
+		this.roomRepository = roomRepository;
+		this.roomNightRepository = roomNightRepository;
+		this.holdStore = holdStore;
+		this.roomService = roomService;
+	}
+
+	/**
+	 * Holds the nights of a Room for the minutes provided, at most the configured
+	 * maximum. The room row is locked while the booked nights are checked, like a
+	 * booking, but the hold itself is only kept in memory.
+	 *
+	 * @param RoomHoldDTO , with the hotel id, room id and the nights to hold.
+	 * @return the RoomHoldDTO, with the hold id and its expiry.
+	 * @throws BookingConflictException when any of the nights is already booked
+	 *                                  or held.
+	 */
+	@Override
+	@Transactional
+	public RoomHoldDTO hold(RoomHoldDTO roomHoldDTO) {
+		roomRepository.findByIdForUpdate(roomHoldDTO.getRoomId());
+
+		List<LocalDate> nights = roomHoldDTO.getNights().stream().distinct().sorted().collect(Collectors.toList());
+		List<LocalDate> bookedNights = roomNightRepository.findBookedNights(roomHoldDTO.getRoomId(), nights);
+		if (!bookedNights.isEmpty())
+			throw new BookingConflictException(roomHoldDTO.getRoomId(), bookedNights);
+
+		int minutes = roomHoldDTO.getMinutes() != null ? Math.min(roomHoldDTO.getMinutes(), maxMinutes)
+				: defaultMinutes;
+		RoomHold hold = holdStore.add(new RoomHold(UUID.randomUUID().toString(), roomHoldDTO.getHotelId(),
+				roomHoldDTO.getRoomId(), nights, Instant.now().plus(minutes, ChronoUnit.MINUTES)));
+		return convertEntityToDTO(hold);
+	}
+
+	/**
+	 * Confirms a hold by booking its nights. The hold is released once the booking
+	 * commits, and kept until it expires when the booking fails.
+	 *
+	 * @param Long   hotelId.
+	 * @param String holdId.
+	 * @return the booked RoomDTO, null when the hold is not found in the hotel or
+	 *         has expired.
+	 * @throws BookingConflictException when any of the nights has been booked
+	 *                                  since.
+	 */
+	@Override
+	@Transactional
+	public RoomDTO confirm(Long hotelId, String holdId) {
+		Optional<RoomHold> hold = find(hotelId, holdId);
+		if (!hold.isPresent())
+			return null;
+
+		RoomDTO room = roomService.book(RoomDTO.builder().id(hold.get().getRoomId()).hotelId(hotelId)
+				.bookedDates(hold.get().getNights()).build(), holdId);
+		afterCommit(() -> holdStore.release(holdId));
+		return room;
+	}
+
+	/**
+	 * Releases a hold, freeing its nights.
+	 *
+	 * @param Long   hotelId.
+	 * @param String holdId.
+	 * @return true when the hold was found in the hotel.
+	 */
+	@Override
+	public boolean release(Long hotelId, String holdId) {
+		return find(hotelId, holdId).isPresent() && holdStore.release(holdId);
+	}
+
+	private Optional<RoomHold> find(Long hotelId, String holdId) {
+		return holdStore.get(holdId).filter(hold -> hold.getHotelId().equals(hotelId));
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private RoomHoldDTO convertEntityToDTO(RoomHold hold) {
+		return RoomHoldDTO.builder().id(hold.getId()).hotelId(hold.getHotelId()).roomId(hold.getRoomId())
+				.nights(hold.getNights()).expiresAt(hold.getExpiresAt()).build();
+	}
+
+}
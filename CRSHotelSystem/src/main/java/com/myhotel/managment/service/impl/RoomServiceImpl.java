@@ -2,20 +2,42 @@ package com.myhotel.managment.service.impl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.myhotel.managment.availability.RoomAvailabilityIndex;
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.availability.RoomNightStore;
+import com.myhotel.managment.constants.HotelConstants;
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
+import com.myhotel.managment.dto.FlexibleStayDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
+import com.myhotel.managment.dto.RoomYearRow;
+import com.myhotel.managment.exception.BookingConflictException;
 import com.myhotel.managment.repository.CategoryRepository;
 import com.myhotel.managment.repository.HotelRepository;
+import com.myhotel.managment.repository.RoomNightRepository;
 import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.AvailabilityCalendarService;
 import com.myhotel.managment.service.RoomService;
 
 /**
@@ -27,14 +49,26 @@ import com.myhotel.managment.service.RoomService;
 public class RoomServiceImpl implements RoomService {
 
 	private RoomRepository roomRepository;
+	private RoomNightRepository roomNightRepository;
 	private HotelRepository hotelRepository;
 	private CategoryRepository categoryRepository;
+	private RoomAvailabilityIndex availabilityIndex;
+	private RoomNightStore nightStore;
+	private AvailabilityCalendarService calendarService;
+	private RoomHoldStore holdStore;
 
-	public RoomServiceImpl(RoomRepository roomRepository, HotelRepository hotelRepository,
-			CategoryRepository categoryRepository) {
+	public RoomServiceImpl(RoomRepository roomRepository, RoomNightRepository roomNightRepository,
+			HotelRepository hotelRepository, CategoryRepository categoryRepository,
+			RoomAvailabilityIndex availabilityIndex, RoomNightStore nightStore,
+			AvailabilityCalendarService calendarService, RoomHoldStore holdStore) {
 		this.roomRepository = roomRepository;
+		this.roomNightRepository = roomNightRepository;
 		this.hotelRepository = hotelRepository;
 		this.categoryRepository = categoryRepository;
+		this.availabilityIndex = availabilityIndex;
+		this.nightStore = nightStore;
+		this.calendarService = calendarService;
+		this.holdStore = holdStore;
 	}
 
 	/**
@@ -44,90 +78,374 @@ public class RoomServiceImpl implements RoomService {
 	 * @return the saved RoomDTO.
 	 */
 	@Override
+	@Transactional
 	public RoomDTO add(RoomDTO roomDTO) {
-		Room room = converteDTOToEntity(roomDTO);
-		return convertEntityToDTO(roomRepository.save(room));
+		Room room = roomRepository.save(converteDTOToEntity(roomDTO));
+		List<LocalDate> bookedDates = insertNights(room.getId(), newNights(roomDTO.getBookedDates(), List.of()), null);
+		availabilityIndex.record(room, bookedDates);
+		calendarService.evict(room.getHotel().getId());
+		return convertEntityToDTO(room, bookedDates);
 	}
 
 	/**
-	 * Updates a Room.
+	 * Updates a Room. Booked dates provided are added to the ones already booked.
 	 * 
 	 * @param RoomDTO , for updating.
 	 * @return the updated roomDTO.
 	 */
 	@Override
+	@Transactional
 	public RoomDTO update(RoomDTO roomDTO) {
+		lock(roomDTO.getId());
+		Room room = roomRepository.save(converteDTOToEntity(roomDTO));
 		addBookingDates(roomDTO);
-		Room room = converteDTOToEntity(roomDTO);
-		return convertEntityToDTO(roomRepository.save(room));
+		List<LocalDate> bookedDates = nightStore.findByRoomId(room.getId());
+		availabilityIndex.record(room, bookedDates);
+		calendarService.evict(room.getHotel().getId());
+		return convertEntityToDTO(room, bookedDates);
 	}
 
-	// Adding new booking dates
-	private RoomDTO addBookingDates(RoomDTO room) {
-		if (room.getBookedDates() != null) {
-			Room roomDb = get(room.getId());
-			room.getBookedDates().addAll(roomDb.getBookedDates());
+	// Adding new booking dates, the room row stays locked until the update commits
+	private void addBookingDates(RoomDTO room) {
+		if (room.getBookedDates() != null && !room.getBookedDates().isEmpty())
+			insertNights(room.getId(), newNights(room.getBookedDates(),
+					roomNightRepository.findBookedNights(room.getId(), room.getBookedDates())), null);
+	}
+
+	/**
+	 * Books the nights of a Room. The room row is locked while the nights are
+	 * checked and inserted, so concurrent bookings of the same room are applied
+	 * one after the other while other rooms are booked in parallel. Nights already
+	 * booked for the reservation of the booking are not a conflict, so a booking
+	 * sent again succeeds without booking anything twice.
+	 *
+	 * @param RoomDTO , with the room id, the nights to book as booked dates and
+	 *                the reservation id when known.
+	 * @return the booked RoomDTO, with the nights booked.
+	 * @throws BookingConflictException when any of the nights is already booked
+	 *                                  for another reservation or held.
+	 */
+	@Override
+	@Transactional
+	public RoomDTO book(RoomDTO roomDTO) {
+		return book(roomDTO, null);
+	}
+
+	/**
+	 * Books the nights of a Room, the nights held by the hold provided are booked
+	 * as if they were free.
+	 *
+	 * @param RoomDTO , with the room id and the nights to book as booked dates.
+	 * @param String  holdId, hold being confirmed, or null.
+	 * @return the booked RoomDTO, with the nights booked.
+	 * @throws BookingConflictException when any of the nights is already booked
+	 *                                  or held by another hold.
+	 */
+	@Override
+	@Transactional
+	public RoomDTO book(RoomDTO roomDTO, String holdId) {
+		Room room = lock(roomDTO.getId());
+		List<LocalDate> rebooked = checkFree(room, roomDTO.getBookedDates(), roomDTO.getReservationId(), holdId);
+
+		List<LocalDate> nights = insertNights(room.getId(), newNights(roomDTO.getBookedDates(), rebooked),
+				roomDTO.getReservationId());
+		availabilityIndex.recordBooking(room, nights);
+		calendarService.evict(room.getHotel().getId());
+		return convertEntityToDTO(room, newNights(roomDTO.getBookedDates(), List.of()));
+	}
+
+	/**
+	 * Books the nights of several Rooms at once, all of them or none. The rooms
+	 * are locked in ascending id order, so concurrent groups sharing rooms do not
+	 * deadlock, and every room is checked before any night is inserted. Nights
+	 * already booked for the reservation of a room are not a conflict.
+	 *
+	 * @param List<RoomDTO> roomDTOs, with the room ids and the nights to book as
+	 *                      booked dates.
+	 * @return the booked List<RoomDTO>, in ascending order by room id.
+	 * @throws BookingConflictException when any of the nights of any room is
+	 *                                  already booked or held, nothing is booked
+	 *                                  then.
+	 */
+	@Override
+	@Transactional
+	public List<RoomDTO> bookAll(List<RoomDTO> roomDTOs) {
+		List<RoomDTO> sorted = new ArrayList<>(roomDTOs);
+		sorted.sort(Comparator.comparing(RoomDTO::getId));
+
+		List<Room> rooms = new ArrayList<>();
+		List<List<LocalDate>> rebooked = new ArrayList<>();
+		sorted.forEach(roomDTO -> {
+			Room room = lock(roomDTO.getId());
+			rebooked.add(checkFree(room, roomDTO.getBookedDates(), roomDTO.getReservationId(), null));
+			rooms.add(room);
+		});
+
+		List<RoomDTO> booked = new ArrayList<>();
+		Set<Long> hotelIds = new TreeSet<>();
+		for (int i = 0; i < rooms.size(); i++) {
+			Room room = rooms.get(i);
+			RoomDTO roomDTO = sorted.get(i);
+			List<LocalDate> nights = insertNights(room.getId(), newNights(roomDTO.getBookedDates(), rebooked.get(i)),
+					roomDTO.getReservationId());
+			availabilityIndex.recordBooking(room, nights);
+			hotelIds.add(room.getHotel().getId());
+			booked.add(convertEntityToDTO(room, newNights(roomDTO.getBookedDates(), List.of())));
 		}
-		return room;
+		hotelIds.forEach(calendarService::evict);
+		return booked;
+	}
+
+	/**
+	 * Changes the booking of a Room by the nights which differ, releasing and
+	 * booking them in one transaction under the lock of the room. The other
+	 * nights of the room, and the nights both to release and to book, are left
+	 * untouched. When the reservation is known only its nights are released, and
+	 * its nights already booked are not a conflict, so a change sent again
+	 * neither fails nor releases the nights of another reservation.
+	 *
+	 * @param BookingChangeDTO , with the room id, the nights to release and to
+	 *                         book and the reservation id when known.
+	 * @return the RoomDTO, with all the nights booked once changed.
+	 * @throws BookingConflictException when any of the nights to book is already
+	 *                                  booked or held, nothing is changed then.
+	 */
+	@Override
+	@Transactional
+	public RoomDTO change(BookingChangeDTO changeDTO) {
+		Room room = lock(changeDTO.getRoomId());
+		List<LocalDate> requested = newNights(changeDTO.getBook(), List.of());
+		List<LocalDate> released = newNights(changeDTO.getRelease(), List.of());
+		// Nights in both lists stay booked as they are, neither released nor checked
+		List<LocalDate> book = newNights(requested, released);
+		List<LocalDate> release = newNights(released, requested);
+		List<LocalDate> rebooked = checkFree(room, book, changeDTO.getReservationId(), null);
+		if (changeDTO.getReservationId() != null && !release.isEmpty())
+			release = roomNightRepository.findReleasableNights(room.getId(), release, changeDTO.getReservationId());
+
+		nightStore.remove(room.getId(), release);
+		insertNights(room.getId(), newNights(book, rebooked), changeDTO.getReservationId());
+		List<LocalDate> bookedDates = nightStore.findByRoomId(room.getId());
+		availabilityIndex.record(room, bookedDates);
+		calendarService.evict(room.getHotel().getId());
+		return convertEntityToDTO(room, bookedDates);
+	}
+
+	// The room must be locked, so the nights stay free until the booking commits.
+	// Nights already booked for the reservation are returned, they are not booked again
+	private List<LocalDate> checkFree(Room room, List<LocalDate> nights, Long reservationId, String holdId) {
+		if (nights == null || nights.isEmpty())
+			return List.of();
+
+		List<LocalDate> bookedNights = roomNightRepository.findBookedNights(room.getId(), nights);
+		List<LocalDate> rebooked = bookedNights.isEmpty() || reservationId == null ? List.of()
+				: roomNightRepository.findNightsOfReservation(room.getId(), bookedNights, reservationId);
+		if (rebooked.size() < bookedNights.size())
+			throw new BookingConflictException(room.getId(), newNights(bookedNights, rebooked));
+
+		List<LocalDate> heldNights = holdStore.findHeldNights(room.getId(), newNights(nights, rebooked), holdId);
+		if (!heldNights.isEmpty())
+			throw new BookingConflictException(room.getId(), heldNights);
+		return rebooked;
+	}
+
+	private Room lock(Long roomId) {
+		Optional<Room> room = roomRepository.findByIdForUpdate(roomId);
+		return room.isPresent() ? room.get() : new Room();
+	}
+
+	// Nights requested which are not booked yet, without duplicates
+	private List<LocalDate> newNights(List<LocalDate> nights, List<LocalDate> bookedNights) {
+		if (nights == null)
+			return new ArrayList<>();
+		return nights.stream().distinct().filter(night -> !bookedNights.contains(night)).collect(Collectors.toList());
+	}
+
+	private List<LocalDate> insertNights(Long roomId, List<LocalDate> nights, Long reservationId) {
+		nightStore.add(roomId, nights, reservationId);
+		return nights;
 	}
 
 	/**
-	 * Get all Rooms for the hotel id provided.
+	 * Get all Rooms for the hotel id provided, read straight into RoomDTO with
+	 * their booked dates read by a second query unless no dates are requested.
 	 * 
-	 * @param Long hotelId to fetch all rooms mapped.
+	 * @param Long              hotelId to fetch all rooms mapped.
+	 * @param BookedDatesFormat dates, representation of the booked dates.
 	 * @return the List<RoomDTO>.
 	 */
 	@Override
-	public List<RoomDTO> getAll(Long hotelId) {
-		Hotel hotel = Hotel.builder().id(hotelId).build();
-		Optional<List<Room>> rooms = roomRepository.findAllByHotel(hotel);
-		List<Room> roomsList = rooms.isPresent() ? rooms.get() : new ArrayList<>();
-		return convertEntityToDTO(roomsList);
+	public List<RoomDTO> getAll(Long hotelId, BookedDatesFormat dates) {
+		return withBookedDates(roomRepository.findAllDTOsByHotelId(hotelId), dates);
+	}
+
+	/**
+	 * Get a page of the Rooms of the hotel id provided ordered by id, with their
+	 * booked dates.
+	 * 
+	 * @param Long              hotelId to fetch the rooms mapped.
+	 * @param String            cursor, of the page to fetch, null for the first
+	 *                          page.
+	 * @param int               size, of the page.
+	 * @param BookedDatesFormat dates, representation of the booked dates.
+	 * @return the RoomPageDTO.
+	 * @throws IllegalArgumentException when the cursor is malformed.
+	 */
+	@Override
+	public RoomPageDTO getPage(Long hotelId, String cursor, int size, BookedDatesFormat dates) {
+		int limit = Math.max(1, Math.min(size, HotelConstants.MAX_PAGE_SIZE));
+		Long afterId = cursor != null ? Long.valueOf(cursor) : 0L;
+
+		// One row past the page is fetched, its presence tells a next page exists
+		List<RoomDTO> rows = roomRepository.findAllDTOsByHotelIdAfter(hotelId, afterId, PageRequest.of(0, limit + 1));
+		if (rows.size() <= limit)
+			return RoomPageDTO.builder().rooms(withBookedDates(rows, dates)).build();
+
+		List<RoomDTO> rooms = withBookedDates(rows.subList(0, limit), dates);
+		return RoomPageDTO.builder().rooms(rooms).next(String.valueOf(rooms.get(limit - 1).getId())).build();
+	}
+
+	/**
+	 * Hands every Room of the hotel id provided to the consumer as it is read from
+	 * a forward-only cursor. Rows come ordered by room and year, so only the
+	 * nights of the current room are held in memory. Nights are not read at all
+	 * when no dates are requested.
+	 * 
+	 * @param Long              hotelId to fetch the rooms mapped.
+	 * @param BookedDatesFormat dates, representation of the booked dates.
+	 * @param Consumer<RoomDTO> consumer, of the rooms.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(Long hotelId, BookedDatesFormat dates, Consumer<? super RoomDTO> consumer) {
+		if (dates == BookedDatesFormat.NONE) {
+			try (Stream<RoomDTO> rooms = roomRepository.streamDTOsByHotelId(hotelId)) {
+				rooms.forEach(consumer);
+			}
+			return;
+		}
+
+		RoomDTO room = null;
+		List<LocalDate> nights = null;
+		try (Stream<RoomYearRow> rows = roomRepository.streamNightsByHotelId(hotelId)) {
+			Iterator<RoomYearRow> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				RoomYearRow row = iterator.next();
+				if (room == null || !room.getId().equals(row.getRoomId())) {
+					if (room != null)
+						consumer.accept(dates.apply(room, nights));
+					room = new RoomDTO(row.getRoomId(), row.getCategoryId(), hotelId);
+					nights = new ArrayList<>();
+				}
+				if (row.getYear() != null)
+					nights.addAll(row.getNights().toDates(row.getYear()));
+			}
+		}
+		if (room != null)
+			consumer.accept(dates.apply(room, nights));
+	}
+
+	private List<RoomDTO> withBookedDates(List<RoomDTO> rooms, BookedDatesFormat dates) {
+		if (dates == BookedDatesFormat.NONE)
+			return rooms;
+
+		List<Long> roomIds = new ArrayList<>();
+		rooms.forEach(room -> roomIds.add(room.getId()));
+
+		Map<Long, List<LocalDate>> bookedDates = getBookedDates(roomIds);
+		rooms.forEach(room -> dates.apply(room, bookedDates.get(room.getId())));
+		return rooms;
+	}
+
+	// Booked dates by room id of all the rooms provided, read with a single query
+	private Map<Long, List<LocalDate>> getBookedDates(List<Long> roomIds) {
+		return nightStore.findByRoomIds(roomIds);
 	}
 
 	private Room converteDTOToEntity(RoomDTO roomDTO) {
 		Hotel hotel = Hotel.builder().id(roomDTO.getHotelId()).build();
 		Category category = Category.builder().hotel(hotel).id(roomDTO.getCategoryId()).build();
-		return Room.builder().id(roomDTO.getId()).hotel(hotel).category(category).bookedDates(roomDTO.getBookedDates())
-				.build();
+		return Room.builder().id(roomDTO.getId()).hotel(hotel).category(category).build();
 	}
 
-	private RoomDTO convertEntityToDTO(Room room) {
+	private RoomDTO convertEntityToDTO(Room room, List<LocalDate> bookedDates) {
 		return RoomDTO.builder().id(room.getId()).categoryId(room.getCategory().getId())
-				.hotelId(room.getHotel().getId()).bookedDates(room.getBookedDates()).build();
-	}
-
-	private List<RoomDTO> convertEntityToDTO(List<Room> rooms) {
-		List<RoomDTO> roomCreateResponseDTO = new ArrayList<>();
-		rooms.forEach(room -> roomCreateResponseDTO.add(convertEntityToDTO(room)));
-		return roomCreateResponseDTO;
+				.hotelId(room.getHotel().getId()).bookedDates(bookedDates).build();
 	}
 
 	/**
 	 * Get available rooms for the hotel id ,category id and the dates provided.
+	 * Rooms with any of the nights held for a booking in progress are left out.
 	 * 
 	 * @param Long hotelId.
 	 * @parm LocalDate from, LocalDate to for the date range.
 	 * @param Long categoryId.
+	 * @param BookedDatesFormat dates, representation of the booked dates, only
+	 *        known when the availability index is enabled.
 	 * @return the List<RoomDTO>.
 	 */
 	@Override
-	public List<RoomDTO> getByParams(Long hotelId, LocalDate from, LocalDate to, Long categoryId) {
-		List<Room> rooms = get(hotelId, categoryId);
-		List<Room> availableRooms = filterAvailableRooms(rooms, from, to);
-		return convertEntityToDTO(availableRooms);
+	public List<RoomDTO> getByParams(Long hotelId, LocalDate from, LocalDate to, Long categoryId,
+			BookedDatesFormat dates) {
+		if (!availabilityIndex.isEnabled())
+			return convertIdsToDTO(notHeld(roomRepository.findAvailableRoomIds(hotelId, categoryId, from, to), from,
+					to), hotelId, categoryId);
+
+		List<Long> roomIds = notHeld(availabilityIndex.findAvailable(hotelId, categoryId, from, to,
+				() -> nightStore.findYearsByRoomIds(roomRepository.findIdsByHotelIdAndCategoryId(hotelId, categoryId))),
+				from, to);
+
+		List<RoomDTO> availableRooms = new ArrayList<>();
+		roomIds.forEach(roomId -> availableRooms.add(dates == BookedDatesFormat.NONE
+				? new RoomDTO(roomId, categoryId, hotelId)
+				: dates.apply(new RoomDTO(roomId, categoryId, hotelId),
+						availabilityIndex.getBookedDates(hotelId, categoryId, roomId))));
+		return availableRooms;
 	}
 
-	private List<Room> filterAvailableRooms(List<Room> rooms, LocalDate from, LocalDate to) {
+	/**
+	 * Get every stay of consecutive nights free in the window provided, for one or
+	 * all the categories of the hotel, and the cheapest of them. Each category is
+	 * read once and all its stays are counted in a single scan of its rooms.
+	 *
+	 * @param Long      hotelId.
+	 * @param LocalDate from, LocalDate to for the nights of the window.
+	 * @param int       nights, of the stay.
+	 * @param Long      categoryId, optional category.
+	 * @return the FlexibleAvailabilityDTO with the stays by first night, then
+	 *         total.
+	 */
+	@Override
+	public FlexibleAvailabilityDTO getFlexible(Long hotelId, LocalDate from, LocalDate to, int nights,
+			Long categoryId) {
+		List<FlexibleStayDTO> stays = new ArrayList<>();
+		for (CategoryDTO category : categoryRepository.findAllDTOsByHotelId(hotelId)) {
+			Long id = category.getId();
+			if (categoryId != null && !categoryId.equals(id))
+				continue;
 
-		List<LocalDate> requestedDates = getListOfDates(from, to);
+			long[] freeRooms = availabilityIndex.countStays(hotelId, id, from, to, nights,
+					() -> nightStore.findYearsByRoomIds(roomRepository.findIdsByHotelIdAndCategoryId(hotelId, id)));
+			double charges = category.getCharges() != null ? category.getCharges() : 0;
+			for (int day = 0; day < freeRooms.length; day++)
+				if (freeRooms[day] > 0)
+					stays.add(new FlexibleStayDTO(id, from.plusDays(day), from.plusDays(day + nights - 1L),
+							freeRooms[day], charges * nights));
+		}
+
+		stays.sort(Comparator.comparing(FlexibleStayDTO::getFrom).thenComparing(FlexibleStayDTO::getTotal));
+		FlexibleStayDTO cheapest = stays.stream().min(Comparator.comparing(FlexibleStayDTO::getTotal)).orElse(null);
+		return FlexibleAvailabilityDTO.builder().hotelId(hotelId).nights(nights).stays(stays).cheapest(cheapest).build();
+	}
 
-		rooms = rooms.stream().filter(room -> {
-			List<LocalDate> clonedRequestedDates = new ArrayList<>(requestedDates);
-			clonedRequestedDates.removeAll(room.getBookedDates());
-			return requestedDates.size() == clonedRequestedDates.size();
-		}).collect(Collectors.toList());
+	private List<Long> notHeld(List<Long> roomIds, LocalDate from, LocalDate to) {
+		return roomIds.stream().filter(roomId -> !holdStore.isHeld(roomId, from, to)).collect(Collectors.toList());
+	}
 
+	// Free rooms resolved by the database are returned without their booked dates
+	private List<RoomDTO> convertIdsToDTO(List<Long> roomIds, Long hotelId, Long categoryId) {
+		List<RoomDTO> rooms = new ArrayList<>();
+		roomIds.forEach(roomId -> rooms.add(RoomDTO.builder().id(roomId).categoryId(categoryId).hotelId(hotelId).build()));
 		return rooms;
 	}
 
@@ -0,0 +1,45 @@
+package com.myhotel.managment.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes each object accepted as one line of JSON, for newline delimited JSON
+ * responses streamed as the rows are read.
+ *
+ * @author Sushil Yadav
+ */
+public class NdjsonWriter implements Consumer<Object> {
+
+	private static final int NEW_LINE = '\n';
+
+	private final ObjectMapper objectMapper;
+
+	private final OutputStream out;
+
+	public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+		this.objectMapper = objectMapper;
+		this.out = out;
+	}
+
+	/**
+	 * Writes the object provided followed by a new line.
+	 *
+	 * @param Object , to serialize.
+	 * @throws UncheckedIOException when the client went away.
+	 */
+	@Override
+	public void accept(Object row) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(row));
+			out.write(NEW_LINE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+-- Adds the primary key of the booked nights to a room_booked_dates table created
+-- before it had one, ddl-auto does not add keys to existing tables. Run once with
+-- the hotel service stopped, a night booked more than once is kept once.
+
+-- Nights booked more than once, to check the reservations holding them
+SELECT room_id, booked_dates, COUNT(*) AS bookings FROM room_booked_dates
+	GROUP BY room_id, booked_dates HAVING COUNT(*) > 1;
+
+CREATE TABLE room_booked_dates_keyed (
+	room_id BIGINT NOT NULL,
+	booked_dates DATE NOT NULL,
+	PRIMARY KEY (room_id, booked_dates)
+);
+
+INSERT INTO room_booked_dates_keyed (room_id, booked_dates)
+	SELECT DISTINCT room_id, booked_dates FROM room_booked_dates WHERE booked_dates IS NOT NULL;
+
+RENAME TABLE room_booked_dates TO room_booked_dates_unkeyed, room_booked_dates_keyed TO room_booked_dates;
+
+DROP TABLE room_booked_dates_unkeyed;
@@ -0,0 +1,67 @@
+package com.myhotel.managment.unit.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.myhotel.managment.availability.NightReconciliationJob;
+import com.myhotel.managment.availability.RoomNightStore;
+import com.myhotel.managment.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NightReconciliationJobTest {
+
+	private NightReconciliationJob reconciliationJob;
+
+	@Mock
+	private RoomRepository roomRepository;
+
+	@Mock
+	private RoomNightStore nightStore;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	public void setup() {
+		reconciliationJob = new NightReconciliationJob(roomRepository, nightStore, transactionManager);
+	}
+
+	@Test
+	void testReconcileRebuildsDriftedRooms() {
+		doReturn(new TreeSet<>(Set.of(1L, 2L))).when(nightStore).findDrifted();
+		doReturn(true).when(nightStore).rebuild(1L);
+		doReturn(false).when(nightStore).rebuild(2L);
+
+		assertEquals(List.of(1L), reconciliationJob.reconcile());
+
+		InOrder inOrder = Mockito.inOrder(roomRepository, nightStore);
+		inOrder.verify(roomRepository).findByIdForUpdate(1L);
+		inOrder.verify(nightStore).rebuild(1L);
+		inOrder.verify(roomRepository).findByIdForUpdate(2L);
+		inOrder.verify(nightStore).rebuild(2L);
+		Mockito.verify(transactionManager, Mockito.times(2)).commit(Mockito.any());
+	}
+
+	@Test
+	void testReconcileDisabled() {
+		reconciliationJob.setEnabled(false);
+
+		reconciliationJob.run();
+
+		Mockito.verify(nightStore, Mockito.never()).findDrifted();
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.myhotel.managment.unit.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.myhotel.managment.availability.NightRetentionJob;
+import com.myhotel.managment.availability.RoomNightStore;
+import com.myhotel.managment.domain.RoomNightHistory;
+import com.myhotel.managment.domain.RoomNightId;
+import com.myhotel.managment.repository.RoomNightHistoryRepository;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NightRetentionJobTest {
+
+	private NightRetentionJob retentionJob;
+
+	@Mock
+	private RoomRepository roomRepository;
+
+	@Mock
+	private RoomNightRepository roomNightRepository;
+
+	@Mock
+	private RoomNightHistoryRepository historyRepository;
+
+	@Mock
+	private RoomNightStore nightStore;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private static final LocalDate BEFORE = LocalDate.of(2021, 1, 1);
+
+	@BeforeEach
+	public void setup() {
+		retentionJob = new NightRetentionJob(roomRepository, roomNightRepository, historyRepository, nightStore,
+				transactionManager);
+		retentionJob.setBatchSize(3);
+		retentionJob.setPauseMillis(0);
+	}
+
+	private List<RoomNightId> nightIdsObj() {
+		return List.of(new RoomNightId(1L, LocalDate.of(2019, 12, 31)), new RoomNightId(1L, LocalDate.of(2020, 5, 1)),
+				new RoomNightId(2L, LocalDate.of(2020, 5, 1)));
+	}
+
+	@Test
+	void testPurgeArchivesInBatches() {
+		doReturn(nightIdsObj(), List.of(new RoomNightId(3L, LocalDate.of(2020, 1, 1))), List.of())
+				.when(roomNightRepository).findIdsBefore(Mockito.eq(BEFORE), Mockito.any(Pageable.class));
+		doReturn(List.of(new RoomNightHistory(new RoomNightId(2L, LocalDate.of(2020, 5, 1))))).when(historyRepository)
+				.findAllById(nightIdsObj());
+
+		assertEquals(4, retentionJob.purge(BEFORE));
+
+		Mockito.verify(roomNightRepository, Mockito.times(2)).findIdsBefore(Mockito.eq(BEFORE),
+				Mockito.any(Pageable.class));
+		Mockito.verify(historyRepository).saveAll(Mockito.argThat(history -> history.spliterator().estimateSize() == 2));
+		Mockito.verify(roomRepository).findByIdForUpdate(1L);
+		Mockito.verify(nightStore).remove(1L, List.of(LocalDate.of(2019, 12, 31), LocalDate.of(2020, 5, 1)));
+		Mockito.verify(nightStore).remove(2L, List.of(LocalDate.of(2020, 5, 1)));
+		Mockito.verify(nightStore).remove(3L, List.of(LocalDate.of(2020, 1, 1)));
+	}
+
+	@Test
+	void testPurgeWithoutArchive() {
+		retentionJob.setArchive(false);
+		doReturn(List.of(new RoomNightId(1L, LocalDate.of(2020, 5, 1)))).when(roomNightRepository)
+				.findIdsBefore(Mockito.eq(BEFORE), Mockito.any(Pageable.class));
+
+		assertEquals(1, retentionJob.purge(BEFORE));
+
+		Mockito.verifyNoInteractions(historyRepository);
+		Mockito.verify(nightStore).remove(1L, List.of(LocalDate.of(2020, 5, 1)));
+	}
+
+	@Test
+	void testRunDisabled() {
+		retentionJob.setEnabled(false);
+
+		retentionJob.run();
+
+		Mockito.verifyNoInteractions(roomNightRepository, nightStore);
+	}
+
+}
@@ -0,0 +1,201 @@
+package com.myhotel.managment.unit.availability;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myhotel.managment.availability.RoomAvailabilityIndex;
+import com.myhotel.managment.domain.Category;
+import com.myhotel.managment.domain.Hotel;
+import com.myhotel.managment.domain.NightBitmap;
+import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.domain.RoomYear;
+
+class RoomAvailabilityIndexTest {
+
+	private RoomAvailabilityIndex availabilityIndex;
+
+	@BeforeEach
+	public void setup() {
+		availabilityIndex = new RoomAvailabilityIndex();
+	}
+
+	private Room roomObj(Long roomId, Long categoryId) {
+		Room room = new Room();
+		room.setId(roomId);
+		room.setHotel(Hotel.builder().id(1L).build());
+		room.setCategory(Category.builder().id(categoryId).build());
+		return room;
+	}
+
+	private RoomYear roomYearObj(Long roomId, LocalDate... nights) {
+		RoomYear roomYear = new RoomYear(roomId, nights[0].getYear());
+		roomYear.setNights(NightBitmap.EMPTY.with(List.of(nights)));
+		return roomYear;
+	}
+
+	private Map<Long, List<RoomYear>> bookedDatesObj() {
+		Map<Long, List<RoomYear>> bookedDates = new LinkedHashMap<>();
+		bookedDates.put(1L, List.of(roomYearObj(1L, LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13),
+				LocalDate.of(2021, 2, 3))));
+		bookedDates.put(2L, List.of(roomYearObj(2L, LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 3),
+				LocalDate.of(2021, 2, 16))));
+		return bookedDates;
+	}
+
+	@Test
+	void testFindAvailable() {
+		assertEquals(List.of(1L, 2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), this::bookedDatesObj));
+		assertEquals(List.of(), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-05"), this::bookedDatesObj));
+		assertEquals(List.of(2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-12"),
+				LocalDate.parse("2021-02-14"), this::bookedDatesObj));
+		assertEquals(List.of(1L, 2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2020-01-01"),
+				LocalDate.parse("2020-01-31"), this::bookedDatesObj));
+	}
+
+	@Test
+	void testFindAvailableAcrossYears() {
+		Map<Long, List<RoomYear>> bookedDates = Map.of(1L,
+				List.of(roomYearObj(1L, LocalDate.of(2020, 12, 31)), roomYearObj(1L, LocalDate.of(2021, 1, 1))));
+
+		assertEquals(List.of(), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2020-12-31"),
+				LocalDate.parse("2020-12-31"), () -> bookedDates));
+		assertEquals(List.of(1L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2020-12-30"),
+				LocalDate.parse("2020-12-30"), () -> bookedDates));
+		assertEquals(List.of(LocalDate.of(2020, 12, 31), LocalDate.of(2021, 1, 1)),
+				availabilityIndex.getBookedDates(1L, 1L, 1L));
+	}
+
+	@Test
+	void testRecordBooking() {
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+
+		availabilityIndex.record(roomObj(2L, 1L), List.of(LocalDate.of(2021, 1, 20), LocalDate.of(2021, 2, 1),
+				LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 16)));
+
+		assertEquals(List.of(1L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-01-19"),
+				LocalDate.parse("2021-01-21"), Map::of));
+		assertEquals(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13)),
+				availabilityIndex.getBookedDates(1L, 1L, 1L));
+	}
+
+	@Test
+	void testRecordNewNights() {
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+
+		availabilityIndex.recordBooking(roomObj(1L, 1L), List.of(LocalDate.of(2021, 2, 5)));
+
+		assertEquals(List.of(2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), Map::of));
+		assertEquals(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 5), LocalDate.of(2021, 2, 12),
+				LocalDate.of(2021, 2, 13)), availabilityIndex.getBookedDates(1L, 1L, 1L));
+	}
+
+	@Test
+	void testRecordCategoryChange() {
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+		availabilityIndex.findAvailable(1L, 2L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				LinkedHashMap::new);
+
+		availabilityIndex.record(roomObj(2L, 2L), List.of());
+
+		assertEquals(List.of(1L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), Map::of));
+		assertEquals(List.of(2L), availabilityIndex.findAvailable(1L, 2L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), Map::of));
+	}
+
+	@Test
+	void testRecordAppliedOnCommit() {
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			availabilityIndex.recordBooking(roomObj(1L, 1L), List.of(LocalDate.of(2021, 2, 5)));
+			assertEquals(List.of(1L, 2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+					LocalDate.parse("2021-02-11"), Map::of));
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(List.of(2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), Map::of));
+	}
+
+	@Test
+	void testRecordDroppedOnRollback() {
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			availabilityIndex.recordBooking(roomObj(1L, 1L), List.of(LocalDate.of(2021, 2, 5)));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(List.of(1L, 2L), availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), Map::of));
+	}
+
+	@Test
+	void testLoadRacingBookingNotKept() {
+		AtomicInteger loads = new AtomicInteger();
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"), () -> {
+			loads.incrementAndGet();
+			availabilityIndex.recordBooking(roomObj(1L, 1L), List.of(LocalDate.of(2021, 2, 5)));
+			return bookedDatesObj();
+		});
+
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"), () -> {
+			loads.incrementAndGet();
+			return bookedDatesObj();
+		});
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void testCountFree() {
+		assertEquals(Optional.empty(), availabilityIndex.countFree(1L, 1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-03")));
+
+		availabilityIndex.findAvailable(1L, 1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"),
+				this::bookedDatesObj);
+
+		assertArrayEquals(new long[] { 1, 2, 0, 2 }, availabilityIndex
+				.countFree(1L, 1L, LocalDate.parse("2021-02-01"), LocalDate.parse("2021-02-04")).get());
+		assertArrayEquals(new long[] { 2, 2 }, availabilityIndex
+				.countFree(1L, 1L, LocalDate.parse("2020-01-01"), LocalDate.parse("2020-01-02")).get());
+	}
+
+	@Test
+	void testCountStays() {
+		assertArrayEquals(new long[] { 0, 0, 0, 2, 2, 2, 2, 2 }, availabilityIndex.countStays(1L, 1L,
+				LocalDate.parse("2021-02-01"), LocalDate.parse("2021-02-10"), 3, this::bookedDatesObj));
+
+		availabilityIndex.setEnabled(false);
+		assertArrayEquals(new long[] { 1, 1 }, availabilityIndex.countStays(1L, 1L, LocalDate.parse("2021-02-12"),
+				LocalDate.parse("2021-02-14"), 2, this::bookedDatesObj));
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.myhotel.managment.unit.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.myhotel.managment.availability.ExpiryWheel;
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.domain.NightListConverter;
+import com.myhotel.managment.domain.RoomHold;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.repository.RoomHoldRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RoomHoldStoreTest {
+
+	@Mock
+	private RoomHoldRepository roomHoldRepository;
+
+	private RoomHoldStore holdStore;
+
+	@BeforeEach
+	public void setup() {
+		holdStore = new RoomHoldStore(roomHoldRepository, 1000);
+	}
+
+	private RoomHold roomHoldObj(String id, Long roomId, Instant expiresAt, LocalDate... nights) {
+		return new RoomHold(id, 1L, roomId, List.of(nights), expiresAt);
+	}
+
+	private Instant inMinutes(long minutes) {
+		return Instant.now().plus(minutes, ChronoUnit.MINUTES);
+	}
+
+	@Test
+	void testAddHoldsNights() {
+		holdStore.add(roomHoldObj("hold-1", 1L, inMinutes(10), LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13)));
+
+		assertTrue(holdStore.isHeld(1L, LocalDate.of(2021, 2, 10), LocalDate.of(2021, 2, 12)));
+		assertFalse(holdStore.isHeld(1L, LocalDate.of(2021, 2, 14), LocalDate.of(2021, 2, 20)));
+		assertFalse(holdStore.isHeld(2L, LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13)));
+		assertEquals(List.of(LocalDate.of(2021, 2, 13)),
+				holdStore.findHeldNights(1L, List.of(LocalDate.of(2021, 2, 14), LocalDate.of(2021, 2, 13)), null));
+		assertEquals(List.of(),
+				holdStore.findHeldNights(1L, List.of(LocalDate.of(2021, 2, 13)), "hold-1"));
+		Mockito.verifyNoInteractions(roomHoldRepository);
+	}
+
+	@Test
+	void testAddConflict() {
+		holdStore.add(roomHoldObj("hold-1", 1L, inMinutes(10), LocalDate.of(2021, 2, 12)));
+
+		BookingConflictException conflict = assertThrows(BookingConflictException.class, () -> holdStore
+				.add(roomHoldObj("hold-2", 1L, inMinutes(10), LocalDate.of(2021, 2, 11), LocalDate.of(2021, 2, 12))));
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 12)), conflict.getBookedNights());
+		assertEquals(1, holdStore.size());
+	}
+
+	@Test
+	void testRelease() {
+		holdStore.add(roomHoldObj("hold-1", 1L, inMinutes(10), LocalDate.of(2021, 2, 12)));
+
+		assertTrue(holdStore.release("hold-1"));
+		assertFalse(holdStore.release("hold-1"));
+		assertFalse(holdStore.isHeld(1L, LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 12)));
+		assertFalse(holdStore.get("hold-1").isPresent());
+	}
+
+	@Test
+	void testExpire() {
+		holdStore.add(roomHoldObj("hold-1", 1L, inMinutes(5), LocalDate.of(2021, 2, 12)));
+		holdStore.add(roomHoldObj("hold-2", 2L, inMinutes(30), LocalDate.of(2021, 2, 12)));
+
+		assertEquals(0, holdStore.expire(System.currentTimeMillis()));
+		assertEquals(1, holdStore.expire(inMinutes(6).toEpochMilli()));
+
+		assertFalse(holdStore.isHeld(1L, LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 12)));
+		assertTrue(holdStore.get("hold-2").isPresent());
+		assertEquals(1, holdStore.expire(inMinutes(31).toEpochMilli()));
+		assertEquals(0, holdStore.size());
+	}
+
+	@Test
+	void testExpiredHoldNotReturned() {
+		holdStore.add(roomHoldObj("hold-1", 1L, Instant.now().minusSeconds(1), LocalDate.of(2021, 2, 12)));
+
+		assertFalse(holdStore.get("hold-1").isPresent());
+	}
+
+	@Test
+	void testPersist() {
+		holdStore.setPersist(true);
+		RoomHold hold = roomHoldObj("hold-1", 1L, inMinutes(10), LocalDate.of(2021, 2, 12));
+
+		holdStore.add(hold);
+		holdStore.release("hold-1");
+
+		Mockito.verify(roomHoldRepository).save(hold);
+		Mockito.verify(roomHoldRepository).deleteById("hold-1");
+	}
+
+	@Test
+	void testLoadPersistedHolds() {
+		holdStore.setPersist(true);
+		RoomHold expired = roomHoldObj("hold-1", 1L, Instant.now().minusSeconds(60), LocalDate.of(2021, 2, 12));
+		RoomHold active = roomHoldObj("hold-2", 2L, inMinutes(10), LocalDate.of(2021, 2, 12));
+		doReturn(new ArrayList<>(List.of(expired, active))).when(roomHoldRepository).findAll();
+
+		holdStore.run(null);
+
+		Mockito.verify(roomHoldRepository).deleteAll(List.of(expired));
+		assertTrue(holdStore.isHeld(2L, LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 12)));
+		assertEquals(1, holdStore.size());
+	}
+
+	@Test
+	void testWheelRounds() {
+		ExpiryWheel<String> wheel = new ExpiryWheel<>(8, 1000, 0);
+		wheel.schedule("a", 2500);
+		wheel.schedule("b", 20_000);
+		wheel.schedule("c", 4000);
+		assertTrue(wheel.cancel("c"));
+
+		assertEquals(List.of(), wheel.advance(2000));
+		assertEquals(List.of("a"), wheel.advance(3000));
+		// b shares its bucket with tick 12, a turn earlier
+		assertEquals(List.of(), wheel.advance(12_000));
+		assertEquals(List.of("b"), wheel.advance(60_000));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void testNightListConversion() {
+		NightListConverter converter = new NightListConverter();
+		List<LocalDate> nights = List.of(LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13));
+
+		assertEquals("2021-02-12,2021-02-13", converter.convertToDatabaseColumn(nights));
+		assertEquals(nights, converter.convertToEntityAttribute("2021-02-12,2021-02-13"));
+		assertEquals(List.of(), converter.convertToEntityAttribute(""));
+	}
+
+}
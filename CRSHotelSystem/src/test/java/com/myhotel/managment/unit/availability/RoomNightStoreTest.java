@@ -0,0 +1,167 @@
+package com.myhotel.managment.unit.availability;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.myhotel.managment.availability.RoomNightStore;
+import com.myhotel.managment.domain.NightBitmap;
+import com.myhotel.managment.domain.NightBitmapConverter;
+import com.myhotel.managment.domain.RoomNightId;
+import com.myhotel.managment.domain.RoomYear;
+import com.myhotel.managment.domain.RoomYearId;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomYearRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RoomNightStoreTest {
+
+	@InjectMocks
+	private RoomNightStore nightStore;
+
+	@Mock
+	private RoomNightRepository roomNightRepository;
+
+	@Mock
+	private RoomYearRepository roomYearRepository;
+
+	private RoomYear roomYearObj(Long roomId, LocalDate... nights) {
+		RoomYear roomYear = new RoomYear(roomId, nights[0].getYear());
+		roomYear.setNights(NightBitmap.EMPTY.with(List.of(nights)));
+		return roomYear;
+	}
+
+	@Test
+	void testAddMergesNightsByYear() {
+		RoomYear year2021 = roomYearObj(1L, LocalDate.of(2021, 2, 3));
+		doReturn(List.of(year2021)).when(roomYearRepository)
+				.findAllById(List.of(new RoomYearId(1L, 2021), new RoomYearId(1L, 2022)));
+
+		nightStore.add(1L, List.of(LocalDate.of(2021, 2, 4), LocalDate.of(2022, 1, 1)), null);
+
+		Mockito.verify(roomNightRepository).saveAll(Mockito.argThat(nights -> nights.spliterator().estimateSize() == 2));
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<RoomYear>> saved = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(roomYearRepository).saveAll(saved.capture());
+		assertEquals(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4)),
+				saved.getValue().get(0).getNights().toDates(2021));
+		assertEquals(List.of(LocalDate.of(2022, 1, 1)), saved.getValue().get(1).getNights().toDates(2022));
+	}
+
+	@Test
+	void testRemoveDropsEmptiedYears() {
+		RoomYear year2020 = roomYearObj(1L, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 6, 1));
+		RoomYear year2021 = roomYearObj(1L, LocalDate.of(2021, 1, 1));
+		doReturn(List.of(year2020, year2021)).when(roomYearRepository)
+				.findAllById(List.of(new RoomYearId(1L, 2020), new RoomYearId(1L, 2021)));
+
+		nightStore.remove(1L, List.of(LocalDate.of(2020, 3, 1), LocalDate.of(2021, 1, 1)));
+
+		Mockito.verify(roomNightRepository).deleteNights(1L, List.of(LocalDate.of(2020, 3, 1), LocalDate.of(2021, 1, 1)));
+		Mockito.verify(roomYearRepository).saveAll(List.of(year2020));
+		Mockito.verify(roomYearRepository).deleteAll(List.of(year2021));
+		assertEquals(List.of(LocalDate.of(2020, 6, 1)), year2020.getNights().toDates(2020));
+	}
+
+	@Test
+	void testFindByRoomIds() {
+		doReturn(List.of(roomYearObj(1L, LocalDate.of(2020, 12, 31)), roomYearObj(1L, LocalDate.of(2021, 1, 1))))
+				.when(roomYearRepository).findAllByRoomIds(Mockito.anyCollection());
+
+		Map<Long, List<LocalDate>> bookedDates = nightStore.findByRoomIds(List.of(1L, 2L));
+
+		assertEquals(List.of(LocalDate.of(2020, 12, 31), LocalDate.of(2021, 1, 1)), bookedDates.get(1L));
+		assertEquals(List.of(), bookedDates.get(2L));
+	}
+
+	@Test
+	void testBackfillFromNights() {
+		doReturn(0L).when(roomYearRepository).count();
+		doReturn(3L).when(roomNightRepository).count();
+		doReturn(Stream.of(new RoomNightId(1L, LocalDate.of(2020, 12, 31)), new RoomNightId(1L, LocalDate.of(2021, 1, 1)),
+				new RoomNightId(2L, LocalDate.of(2021, 1, 1)))).when(roomNightRepository).streamAllIds();
+
+		nightStore.run(null);
+
+		Mockito.verify(roomYearRepository, Mockito.times(3)).save(Mockito.any(RoomYear.class));
+	}
+
+	@Test
+	void testBackfillSkippedOnceBuilt() {
+		doReturn(1L).when(roomYearRepository).count();
+
+		nightStore.run(null);
+
+		Mockito.verify(roomNightRepository, Mockito.never()).streamAllIds();
+	}
+
+	@Test
+	void testFindDrifted() {
+		doReturn(Stream.of(new RoomNightId(1L, LocalDate.of(2021, 1, 1)), new RoomNightId(2L, LocalDate.of(2021, 1, 1)),
+				new RoomNightId(3L, LocalDate.of(2021, 1, 1)), new RoomNightId(5L, LocalDate.of(2021, 1, 1))))
+				.when(roomNightRepository).streamAllIds();
+		doReturn(Stream.of(roomYearObj(1L, LocalDate.of(2021, 1, 1)), roomYearObj(2L, LocalDate.of(2021, 1, 2)),
+				roomYearObj(4L, LocalDate.of(2021, 1, 1)), roomYearObj(5L, LocalDate.of(2021, 1, 1)),
+				roomYearObj(6L, LocalDate.of(2021, 1, 1)))).when(roomYearRepository).streamAll();
+
+		assertEquals(Set.of(2L, 3L, 4L, 6L), nightStore.findDrifted());
+	}
+
+	@Test
+	void testRebuildFromNights() {
+		RoomYear year2020 = roomYearObj(1L, LocalDate.of(2020, 3, 1));
+		RoomYear year2021 = roomYearObj(1L, LocalDate.of(2021, 1, 1));
+		doReturn(List.of(year2020, year2021)).when(roomYearRepository).findAllByRoomIds(List.of(1L));
+		doReturn(List.of(new RoomNightId(1L, LocalDate.of(2021, 1, 1)), new RoomNightId(1L, LocalDate.of(2022, 1, 1))))
+				.when(roomNightRepository).findIdsByRoomId(1L);
+
+		assertTrue(nightStore.rebuild(1L));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<RoomYear>> saved = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(roomYearRepository).saveAll(saved.capture());
+		assertEquals(1, saved.getValue().size());
+		assertEquals(List.of(LocalDate.of(2022, 1, 1)), saved.getValue().get(0).getNights().toDates(2022));
+		Mockito.verify(roomYearRepository).deleteAll(List.of(year2020));
+	}
+
+	@Test
+	void testRebuildKeepsMatchingBitmaps() {
+		doReturn(List.of(roomYearObj(1L, LocalDate.of(2021, 1, 1)))).when(roomYearRepository)
+				.findAllByRoomIds(List.of(1L));
+		doReturn(List.of(new RoomNightId(1L, LocalDate.of(2021, 1, 1)))).when(roomNightRepository).findIdsByRoomId(1L);
+
+		assertFalse(nightStore.rebuild(1L));
+	}
+
+	@Test
+	void testBitmapConversion() {
+		NightBitmapConverter converter = new NightBitmapConverter();
+		NightBitmap nights = NightBitmap.EMPTY.with(List.of(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31)));
+
+		byte[] bytes = converter.convertToDatabaseColumn(nights);
+
+		assertEquals(46, bytes.length);
+		assertEquals(nights, converter.convertToEntityAttribute(bytes));
+		assertArrayEquals(new byte[] { 1 }, converter.convertToDatabaseColumn(NightBitmap.EMPTY.with(
+				List.of(LocalDate.of(2021, 1, 1)))));
+		assertEquals(NightBitmap.EMPTY, converter.convertToEntityAttribute(new byte[0]));
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.myhotel.managment.unit.controller;
+
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.myhotel.managment.controller.impl.AvailabilityCalendarControllerImpl;
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+import com.myhotel.managment.service.AvailabilityCalendarService;
+import com.myhotel.managment.service.OwnershipService;
+
+class AvailabilityCalendarControllerTest extends AbstractTest {
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private AvailabilityCalendarService calendarService;
+
+	@Mock
+	private OwnershipService ownershipService;
+
+	@InjectMocks
+	private AvailabilityCalendarControllerImpl calendarController;
+
+	@BeforeEach
+	public void setup() {
+
+		MockitoAnnotations.openMocks(this);
+		this.mockMvc = MockMvcBuilders.standaloneSetup(calendarController).build();
+	}
+
+	@Test
+	void test1GetCalendar() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+		lenient().when(calendarService.get(1L, LocalDate.parse("2021-02-01"), LocalDate.parse("2021-02-28")))
+				.thenReturn(AvailabilityCalendarDTO.builder().hotelId(1L).categories(List.of()).build());
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/availability/calendar", 1).param("from", "2021-02-01")
+				.param("to", "2021-02-28").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+	}
+
+	@Test
+	void test2GetCalendarHotelNotFound() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(false);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/availability/calendar", 1).param("from", "2021-02-01")
+				.param("to", "2021-02-28").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test3GetCalendarInvalidDates() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/availability/calendar", 1).param("from", "2021-02-05")
+				.param("to", "2021-02-04").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/availability/calendar", 1).param("from", "2021-01-01")
+				.param("to", "2022-01-02").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+}
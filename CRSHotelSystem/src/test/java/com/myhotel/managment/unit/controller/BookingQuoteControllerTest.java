@@ -0,0 +1,77 @@
+package com.myhotel.managment.unit.controller;
+
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.LinkedMultiValueMap;
+
+import com.myhotel.managment.controller.impl.BookingQuoteControllerImpl;
+import com.myhotel.managment.dto.BookingQuoteDTO;
+import com.myhotel.managment.service.BookingQuoteService;
+
+class BookingQuoteControllerTest extends AbstractTest {
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private BookingQuoteService bookingQuoteService;
+
+	@InjectMocks
+	private BookingQuoteControllerImpl bookingQuoteController;
+
+	@BeforeEach
+	public void setup() {
+
+		MockitoAnnotations.openMocks(this);
+		this.mockMvc = MockMvcBuilders.standaloneSetup(bookingQuoteController).build();
+	}
+
+	private LinkedMultiValueMap<String, String> requestParams(String from, String to) {
+		LinkedMultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
+		requestParams.add("category_id", "1");
+		requestParams.add("offer_id", "1");
+		requestParams.add("from", from);
+		requestParams.add("to", to);
+		return requestParams;
+	}
+
+	@Test
+	void test1GetQuote() throws Exception {
+
+		lenient().when(bookingQuoteService.get(1L, 1L, 1L, LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04")))
+				.thenReturn(BookingQuoteDTO.builder().hotelId(1L).categoryId(1L).roomId(1L).total(1800.0).build());
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/quote", 1).queryParams(requestParams("2021-02-03", "2021-02-04"))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+	}
+
+	@Test
+	void test2GetQuoteCategoryNotInHotel() throws Exception {
+
+		lenient().when(bookingQuoteService.get(1L, 1L, 1L, LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04")))
+				.thenReturn(new BookingQuoteDTO());
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/quote", 1).queryParams(requestParams("2021-02-03", "2021-02-04"))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test3GetQuoteInvalidDates() throws Exception {
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/quote", 1).queryParams(requestParams("2021-02-05", "2021-02-04"))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+}
@@ -20,9 +20,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.myhotel.managment.controller.impl.CategoryControllerImpl;
-import com.myhotel.managment.domain.Category;
-import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.CategoryService;
 
 class CategoryControllerTest extends AbstractTest {
@@ -32,6 +31,9 @@ class CategoryControllerTest extends AbstractTest {
 	@Mock
 	private CategoryService categoryService;
 
+	@Mock
+	private OwnershipService ownershipService;
+
 	@InjectMocks
 	private CategoryControllerImpl categoryController;
 
@@ -42,14 +44,6 @@ class CategoryControllerTest extends AbstractTest {
 		this.mockMvc = MockMvcBuilders.standaloneSetup(categoryController).build();
 	}
 
-	private Hotel getHotelObj() {
-		Hotel hotel = new Hotel();
-		hotel.setId(1L);
-		hotel.setAddress("Nagpur");
-		hotel.setContact(9999999999L);
-		return hotel;
-	}
-
 	private CategoryDTO getCategoryDtoObj() {
 		CategoryDTO category = new CategoryDTO();
 		category.setId(1L);
@@ -58,20 +52,12 @@ class CategoryControllerTest extends AbstractTest {
 		return category;
 	}
 
-	private Category getCategoryObj() {
-		Category category = new Category();
-		category.setId(1L);
-		category.setCharges(1000.00);
-		category.setDescription("Single");
-		return category;
-	}
-
 	@Test
 	void test1CreateCategory1() throws Exception {
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
 		lenient().when(categoryService.add(categoryDTO)).thenReturn(categoryDTO);
-		lenient().when(categoryService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
 
 		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/categories", 1).contentType(MediaType.APPLICATION_JSON)
 				.content(asJsonString(categoryDTO)).accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
@@ -83,7 +69,7 @@ class CategoryControllerTest extends AbstractTest {
 	void test1CreateCategory2() throws Exception {
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
-		lenient().when(categoryService.getHotel(2L)).thenReturn(new Hotel());
+		lenient().when(ownershipService.existsHotel(2L)).thenReturn(false);
 		lenient().when(categoryService.add(categoryDTO)).thenReturn(categoryDTO);
 
 		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/categories", 2).contentType(MediaType.APPLICATION_JSON)
@@ -96,6 +82,8 @@ class CategoryControllerTest extends AbstractTest {
 	void test1CreateCategory3() throws Exception {
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
+		lenient().when(ownershipService.existsHotel(2L)).thenThrow(new RuntimeException());
+
 		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/categories", 2).contentType(MediaType.APPLICATION_JSON)
 				.content(asJsonString(categoryDTO)).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isInternalServerError());
@@ -107,8 +95,7 @@ class CategoryControllerTest extends AbstractTest {
 
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
-		lenient().when(categoryService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(categoryService.getCategory(1L)).thenReturn(getCategoryObj());
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenReturn(true);
 
 		lenient().when(categoryService.update(categoryDTO)).thenReturn(categoryDTO);
 
@@ -125,8 +112,7 @@ class CategoryControllerTest extends AbstractTest {
 
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
-		lenient().when(categoryService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(categoryService.getCategory(2L)).thenReturn(new Category());
+		lenient().when(ownershipService.existsCategory(1L, 2L)).thenReturn(false);
 
 		lenient().when(categoryService.update(categoryDTO)).thenReturn(categoryDTO);
 
@@ -143,6 +129,8 @@ class CategoryControllerTest extends AbstractTest {
 
 		CategoryDTO categoryDTO = getCategoryDtoObj();
 
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenThrow(new RuntimeException());
+
 		mockMvc.perform(
 				put("/api/v1/hotels/{hotel_id}/categories/{category_id}", 1, 1).contentType(MediaType.APPLICATION_JSON)
 						.content(asJsonString(categoryDTO)).accept(MediaType.APPLICATION_JSON))
@@ -156,7 +144,7 @@ class CategoryControllerTest extends AbstractTest {
 		List<CategoryDTO> categoryDTO = new ArrayList<>();
 		categoryDTO.add(getCategoryDtoObj());
 
-		lenient().when(categoryService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
 
 		lenient().when(categoryService.getAll(1L)).thenReturn(categoryDTO);
 
@@ -172,7 +160,7 @@ class CategoryControllerTest extends AbstractTest {
 		List<CategoryDTO> categoryDTO = new ArrayList<>();
 		categoryDTO.add(getCategoryDtoObj());
 
-		lenient().when(categoryService.getHotel(2L)).thenReturn(new Hotel());
+		lenient().when(ownershipService.existsHotel(2L)).thenReturn(false);
 
 		lenient().when(categoryService.getAll(1L)).thenReturn(categoryDTO);
 
@@ -186,6 +174,8 @@ class CategoryControllerTest extends AbstractTest {
 		List<CategoryDTO> categoryDTO = new ArrayList<>();
 		categoryDTO.add(getCategoryDtoObj());
 
+		lenient().when(ownershipService.existsHotel(1L)).thenThrow(new RuntimeException());
+
 		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/categories", 1).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isInternalServerError());
 
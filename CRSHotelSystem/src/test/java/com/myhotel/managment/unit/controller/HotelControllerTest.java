@@ -2,14 +2,21 @@ package com.myhotel.managment.unit.controller;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.MediaType;
 
@@ -18,13 +25,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myhotel.managment.controller.impl.HotelControllerImpl;
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 import com.myhotel.managment.service.HotelService;
 
 class HotelControllerTest extends AbstractTest {
@@ -34,6 +45,9 @@ class HotelControllerTest extends AbstractTest {
 	@Mock
 	private HotelService hotelService;
 
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
 	@InjectMocks
 	private HotelControllerImpl hotelController;
 
@@ -103,6 +117,45 @@ class HotelControllerTest extends AbstractTest {
 				.andExpect(MockMvcResultMatchers.jsonPath("$.[0].address", is("Nagpur")));
 	}
 
+	@Test
+	void test2GetHotelsPage() throws Exception {
+
+		lenient().doReturn(HotelPageDTO.builder().hotels(List.of(hotelDtoObj())).next("1").build()).when(hotelService)
+				.getPage(null, 1);
+
+		mockMvc.perform(get("/api/v1/hotels/page").param("size", "1").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(MockMvcResultMatchers.jsonPath("$.hotels[0].id", is(1)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.next", is("1")));
+	}
+
+	@Test
+	void test2GetHotelsPageInvalidCursor() throws Exception {
+
+		doThrow(new NumberFormatException()).when(hotelService).getPage("abc", 50);
+
+		mockMvc.perform(get("/api/v1/hotels/page").param("cursor", "abc").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test3StreamHotels() throws Exception {
+
+		doAnswer(invocation -> {
+			Consumer<HotelDTO> consumer = invocation.getArgument(0);
+			consumer.accept(hotelDtoObj());
+			consumer.accept(hotelDtoObj());
+			return null;
+		}).when(hotelService).streamAll(any());
+
+		MvcResult result = mockMvc.perform(get("/api/v1/hotels/stream")).andExpect(request().asyncStarted())
+				.andReturn();
+
+		String hotel = asJsonString(hotelDtoObj());
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andExpect(content().string(hotel + "\n" + hotel + "\n"));
+	}
+
 	@Test
 	void testValidateHotel() {
 		Hotel hotelObj = hotelObj();
@@ -0,0 +1,69 @@
+package com.myhotel.managment.unit.controller;
+
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.myhotel.managment.controller.impl.HotelSearchControllerImpl;
+import com.myhotel.managment.dto.HotelSearchDTO;
+import com.myhotel.managment.dto.HotelSearchResultDTO;
+import com.myhotel.managment.service.HotelSearchService;
+
+class HotelSearchControllerTest extends AbstractTest {
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private HotelSearchService hotelSearchService;
+
+	@InjectMocks
+	private HotelSearchControllerImpl hotelSearchController;
+
+	@BeforeEach
+	public void setup() {
+
+		MockitoAnnotations.openMocks(this);
+		this.mockMvc = MockMvcBuilders.standaloneSetup(hotelSearchController).build();
+	}
+
+	@Test
+	void test1Search() throws Exception {
+
+		lenient().when(hotelSearchService.search(LocalDate.parse("2021-02-01"), LocalDate.parse("2021-02-02"), "Deluxe",
+				null, 500.0, 10)).thenReturn(HotelSearchDTO.builder().complete(true).results(List.of(
+						HotelSearchResultDTO.builder().hotelId(1L).categoryId(1L).total(400.0).build())).build());
+
+		mockMvc.perform(get("/api/v1/hotels/search").param("from", "2021-02-01").param("to", "2021-02-02")
+				.param("category", "Deluxe").param("max_charges", "500").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.results[0].hotelId").value(1));
+	}
+
+	@Test
+	void test2SearchInvalidLimit() throws Exception {
+
+		mockMvc.perform(get("/api/v1/hotels/search").param("from", "2021-02-01").param("to", "2021-02-02")
+				.param("limit", "0").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test3SearchInvalidDates() throws Exception {
+
+		mockMvc.perform(get("/api/v1/hotels/search").param("from", "2021-02-05").param("to", "2021-02-02")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+}
@@ -16,16 +16,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.myhotel.managment.controller.impl.OfferControllerImpl;
-import com.myhotel.managment.domain.Category;
-import com.myhotel.managment.domain.Hotel;
-import com.myhotel.managment.domain.Offer;
 import com.myhotel.managment.dto.OfferDTO;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.OfferService;
 
 class OffersControllerTest extends AbstractTest {
@@ -35,6 +34,9 @@ class OffersControllerTest extends AbstractTest {
 	@Mock
 	private OfferService offerService;
 
+	@Mock
+	private OwnershipService ownershipService;
+
 	@InjectMocks
 	private OfferControllerImpl offerController;
 
@@ -53,37 +55,13 @@ class OffersControllerTest extends AbstractTest {
 		return offerDTO;
 	}
 
-	private Offer getOfferObj() {
-		Offer offer = new Offer();
-		offer.setId(1L);
-		offer.setValue(1000.00);
-		return offer;
-	}
-
-	private Hotel getHotelObj() {
-		Hotel hotel = new Hotel();
-		hotel.setId(1L);
-		hotel.setAddress("Nagpur");
-		hotel.setContact(9999999999L);
-		return hotel;
-	}
-
-	private Category getCategoryObj() {
-		Category category = new Category();
-		category.setId(1L);
-		category.setCharges(1000.00);
-		category.setDescription("Single");
-		return category;
-	}
-
 	@Test
 	void test1CreateOffer() throws Exception {
 		OfferDTO offerDTO = getOfferDtoObj();
 
 		lenient().when(offerService.add(offerDTO)).thenReturn(offerDTO);
 
-		lenient().when(offerService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(offerService.getCategory(1L)).thenReturn(getCategoryObj());
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenReturn(true);
 
 		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/offers", 1).contentType(MediaType.APPLICATION_JSON)
 				.content(asJsonString(offerDTO)).accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
@@ -96,9 +74,7 @@ class OffersControllerTest extends AbstractTest {
 
 		OfferDTO offerDTO = getOfferDtoObj();
 
-		lenient().when(offerService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(offerService.getCategory(1L)).thenReturn(getCategoryObj());
-		lenient().when(offerService.getOffer(1L)).thenReturn(getOfferObj());
+		lenient().when(ownershipService.existsOffer(1L, 1L, 1L)).thenReturn(true);
 
 		lenient().when(offerService.update(offerDTO)).thenReturn(offerDTO);
 
@@ -114,8 +90,7 @@ class OffersControllerTest extends AbstractTest {
 		List<OfferDTO> offerDTOObj = new ArrayList<>();
 		offerDTOObj.add(getOfferDtoObj());
 
-		lenient().when(offerService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(offerService.getCategory(1L)).thenReturn(getCategoryObj());
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenReturn(true);
 		lenient().when(offerService.getAll(1L, 1L)).thenReturn(offerDTOObj);
 
 		mockMvc.perform(
@@ -128,9 +103,7 @@ class OffersControllerTest extends AbstractTest {
 	@Test
 	void test4DeleteOffer() throws Exception {
 
-		lenient().when(offerService.getHotel(1L)).thenReturn(getHotelObj());
-		lenient().when(offerService.getCategory(1L)).thenReturn(getCategoryObj());
-		lenient().when(offerService.getOffer(1L)).thenReturn(getOfferObj());
+		lenient().when(ownershipService.existsOffer(1L, 1L, 1L)).thenReturn(true);
 
 		lenient().when(offerService.delete(1L)).thenReturn(1L);
 
@@ -138,4 +111,15 @@ class OffersControllerTest extends AbstractTest {
 				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
 
 	}
+
+	@Test
+	void test4DeleteOfferOfOtherHotel() throws Exception {
+
+		lenient().when(ownershipService.existsOffer(2L, 1L, 1L)).thenReturn(false);
+
+		mockMvc.perform(delete("/api/v1/hotels/{hotel_id}/offers/{offer_id}", 2, 1).param("category_id", "1")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+
+		Mockito.verify(offerService, Mockito.never()).delete(1L);
+	}
 }
@@ -1,15 +1,25 @@
 package com.myhotel.managment.unit.controller;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.MediaType;
 
@@ -17,17 +27,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.util.LinkedMultiValueMap;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.myhotel.managment.controller.impl.HotelControllerImpl;
 import com.myhotel.managment.controller.impl.RoomControllerImpl;
-import com.myhotel.managment.domain.Category;
-import com.myhotel.managment.domain.Hotel;
-import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.service.OwnershipService;
 import com.myhotel.managment.service.RoomService;
 
 class RoomControllerTest extends AbstractTest {
@@ -37,6 +55,13 @@ class RoomControllerTest extends AbstractTest {
 	@Mock
 	private RoomService roomService;
 
+	@Mock
+	private OwnershipService ownershipService;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
 	@InjectMocks
 	private RoomControllerImpl roomController;
 
@@ -57,34 +82,12 @@ class RoomControllerTest extends AbstractTest {
 		return room;
 	}
 
-	private Room getRoomObj() {
-		Room room = new Room();
-		room.setId(1L);
-		return room;
-	}
-
-	private Hotel getHotelObj() {
-		Hotel hotel = new Hotel();
-		hotel.setId(1L);
-		hotel.setAddress("Nagpur");
-		hotel.setContact(9999999999L);
-		return hotel;
-	}
-
-	private Category getCategoryObj() {
-		Category category = new Category();
-		category.setId(1L);
-		category.setCharges(1000.00);
-		category.setDescription("Single");
-		return category;
-	}
-
 	@Test
 	void test1SaveRoom() throws Exception {
 
 		RoomDTO roomDTO = roomDtoObj();
 
-		lenient().when(roomService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
 		lenient().when(roomService.add(roomDTO)).thenReturn(roomDTO);
 
 		mockMvc.perform(post("/api/v1/hotels/{hotel_id}//rooms", 1).contentType(MediaType.APPLICATION_JSON)
@@ -98,9 +101,7 @@ class RoomControllerTest extends AbstractTest {
 
 		RoomDTO roomDTO = roomDtoObj();
 
-		lenient().when(roomService.get(1L)).thenReturn(getRoomObj());
-		lenient().when(roomService.getCategory(1L)).thenReturn(getCategoryObj());
-		lenient().when(roomService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsRoom(1L, 1L, 1L)).thenReturn(true);
 
 		lenient().when(roomService.update(roomDTO)).thenReturn(roomDTO);
 
@@ -110,15 +111,149 @@ class RoomControllerTest extends AbstractTest {
 		assertNotNull(roomDTO);
 	}
 
+	@Test
+	void test2UpdateRoomOfOtherCategory() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+
+		lenient().when(ownershipService.existsRoom(1L, 1L, 1L)).thenReturn(false);
+
+		mockMvc.perform(put("/api/v1/hotels/{hotel_id}/rooms/{room_id}", 1, 1).contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(roomDTO)).accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+
+		Mockito.verify(roomService, Mockito.never()).update(Mockito.any(RoomDTO.class));
+	}
+
+	@Test
+	void test1BookRoom() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		lenient().when(roomService.book(Mockito.any(RoomDTO.class))).thenReturn(roomDTO);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/bookings", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomDTO))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
+	}
+
+	@Test
+	void test2BookRoomConflict() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		lenient().when(roomService.book(Mockito.any(RoomDTO.class)))
+				.thenThrow(new BookingConflictException(1L, List.of(LocalDate.of(2021, 2, 12))));
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/bookings", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomDTO))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isConflict());
+	}
+
+	@Test
+	void test3BookRoomWithoutNights() throws Exception {
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/bookings", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomDtoObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test1BookRooms() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setId(1L);
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+		RoomDTO roomDTO2 = roomDtoObj();
+		roomDTO2.setId(2L);
+		roomDTO2.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+		lenient().when(ownershipService.existsRoom(1L, 2L)).thenReturn(true);
+
+		lenient().when(roomService.bookAll(Mockito.anyList())).thenReturn(List.of(roomDTO, roomDTO2));
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/bookings", 1).contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(List.of(roomDTO, roomDTO2))).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated()).andExpect(jsonPath("$.length()", is(2)));
+	}
+
+	@Test
+	void test2BookRoomsConflict() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setId(1L);
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		lenient().when(roomService.bookAll(Mockito.anyList()))
+				.thenThrow(new BookingConflictException(1L, List.of(LocalDate.of(2021, 2, 12))));
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/bookings", 1).contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(List.of(roomDTO))).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void test3BookRoomsTwice() throws Exception {
+
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setId(1L);
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 12)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/bookings", 1).contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(List.of(roomDTO, roomDTO))).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+		Mockito.verify(roomService, Mockito.never()).bookAll(Mockito.anyList());
+	}
+
+	@Test
+	void test1ChangeRoomBooking() throws Exception {
+
+		BookingChangeDTO changeDTO = BookingChangeDTO.builder().release(List.of(LocalDate.of(2021, 2, 3)))
+				.book(List.of(LocalDate.of(2021, 2, 6))).build();
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 6)));
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		lenient().when(roomService.change(Mockito.any(BookingChangeDTO.class))).thenReturn(roomDTO);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/bookings/changes", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(changeDTO))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+	}
+
+	@Test
+	void test2ChangeRoomBookingWithoutNights() throws Exception {
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/bookings/changes", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(new BookingChangeDTO()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+		Mockito.verify(roomService, Mockito.never()).change(Mockito.any(BookingChangeDTO.class));
+	}
+
 	@Test
 	void test1GetAllRooms() throws Exception {
 
 		List<RoomDTO> roomDTOObj = new ArrayList<>();
 		roomDTOObj.add(roomDtoObj());
 
-		lenient().when(roomService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
 
-		lenient().when(roomService.getAll(1L)).thenReturn(roomDTOObj);
+		lenient().when(roomService.getAll(1L, BookedDatesFormat.FULL)).thenReturn(roomDTOObj);
 
 		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms", 1).accept(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk());
@@ -126,17 +261,89 @@ class RoomControllerTest extends AbstractTest {
 		assertNotNull(roomDTOObj);
 	}
 
+	@Test
+	void test1GetAllRoomsAsRanges() throws Exception {
+
+		RoomDTO room = roomDtoObj();
+		room.setBookedRanges(List.of(new long[] { 18676, 18678 }));
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+		lenient().when(roomService.getAll(1L, BookedDatesFormat.RANGES)).thenReturn(List.of(room));
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms", 1).param("dates", "ranges")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].bookedRanges[0][1]", is(18678)))
+				.andExpect(jsonPath("$[0].bookedDates").doesNotExist());
+	}
+
+	@Test
+	void test1GetAllRoomsInvalidDates() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms", 1).param("dates", "bitmap")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test2GetRoomsPage() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+		lenient().when(roomService.getPage(1L, "1", 50, BookedDatesFormat.FULL))
+				.thenReturn(RoomPageDTO.builder().rooms(List.of(roomDtoObj())).build());
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/page", 1).param("cursor", "1")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.rooms[0].hotelId", is(1)));
+	}
+
+	@Test
+	void test2GetRoomsPageOfMissingHotel() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(false);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/page", 1).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test3StreamRooms() throws Exception {
+
+		RoomDTO room = roomDtoObj();
+		room.setBookedDates(List.of(LocalDate.of(2021, 2, 1)));
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+		doAnswer(invocation -> {
+			Consumer<RoomDTO> consumer = invocation.getArgument(2);
+			consumer.accept(room);
+			return null;
+		}).when(roomService).streamAll(eq(1L), eq(BookedDatesFormat.FULL), any());
+
+		MvcResult result = mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/stream", 1))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().string(containsString("\"bookedDates\":[\"2021-02-01\"]")));
+	}
+
+	@Test
+	void test3StreamRoomsOfMissingHotel() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(false);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/stream", 1)).andExpect(status().isBadRequest());
+	}
+
 	@Test
 	void test1GeRoomsByParams() throws Exception {
 
 		List<RoomDTO> roomDTOObj = new ArrayList<>();
 		roomDTOObj.add(roomDtoObj());
 
-		lenient().when(roomService.getCategory(1L)).thenReturn(getCategoryObj());
-		lenient().when(roomService.getHotel(1L)).thenReturn(getHotelObj());
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenReturn(true);
 
 		lenient().doReturn(roomDTOObj).when(roomService).getByParams(1L, LocalDate.parse("2020-02-01"),
-				LocalDate.parse("2020-02-05"), 1L);
+				LocalDate.parse("2020-02-05"), 1L, BookedDatesFormat.FULL);
 
 		LinkedMultiValueMap<String, String> requestParams = new LinkedMultiValueMap<>();
 
@@ -151,4 +358,26 @@ class RoomControllerTest extends AbstractTest {
 
 	}
 
+	@Test
+	void test1GetFlexibleStays() throws Exception {
+
+		lenient().when(ownershipService.existsHotel(1L)).thenReturn(true);
+		lenient().doReturn(FlexibleAvailabilityDTO.builder().hotelId(1L).nights(3).stays(List.of()).build())
+				.when(roomService).getFlexible(1L, LocalDate.parse("2021-02-01"), LocalDate.parse("2021-03-02"), 3, null);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/availability/flexible", 1).param("from", "2021-02-01")
+				.param("to", "2021-03-02").param("nights", "3").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.nights", is(3)));
+	}
+
+	@Test
+	void test2GetFlexibleStaysLongerThanWindow() throws Exception {
+
+		lenient().when(ownershipService.existsCategory(1L, 1L)).thenReturn(true);
+
+		mockMvc.perform(get("/api/v1/hotels/{hotel_id}/rooms/availability/flexible", 1).param("from", "2021-02-01")
+				.param("to", "2021-02-02").param("nights", "3").param("categoryId", "1")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
 }
@@ -0,0 +1,119 @@
+package com.myhotel.managment.unit.controller;
+
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.myhotel.managment.controller.impl.RoomHoldControllerImpl;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.service.OwnershipService;
+import com.myhotel.managment.service.RoomHoldService;
+
+class RoomHoldControllerTest extends AbstractTest {
+
+	private MockMvc mockMvc;
+
+	@Mock
+	private RoomHoldService roomHoldService;
+
+	@Mock
+	private OwnershipService ownershipService;
+
+	@InjectMocks
+	private RoomHoldControllerImpl roomHoldController;
+
+	@BeforeEach
+	public void setup() {
+
+		MockitoAnnotations.openMocks(this);
+		this.mockMvc = MockMvcBuilders.standaloneSetup(roomHoldController).build();
+	}
+
+	private RoomHoldDTO roomHoldDtoObj() {
+		return RoomHoldDTO.builder().nights(List.of(LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13)))
+				.minutes(10).build();
+	}
+
+	@Test
+	void test1Hold() throws Exception {
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+		lenient().when(roomHoldService.hold(Mockito.any(RoomHoldDTO.class)))
+				.thenReturn(RoomHoldDTO.builder().id("hold-1").hotelId(1L).roomId(1L).build());
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/holds", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomHoldDtoObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated())
+				.andExpect(jsonPath("$.id").value("hold-1"));
+	}
+
+	@Test
+	void test2HoldConflict() throws Exception {
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+		lenient().when(roomHoldService.hold(Mockito.any(RoomHoldDTO.class)))
+				.thenThrow(new BookingConflictException(1L, List.of(LocalDate.of(2021, 2, 12))));
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/holds", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomHoldDtoObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isConflict());
+	}
+
+	@Test
+	void test3HoldInvalidMinutes() throws Exception {
+
+		lenient().when(ownershipService.existsRoom(1L, 1L)).thenReturn(true);
+		RoomHoldDTO roomHoldDTO = roomHoldDtoObj();
+		roomHoldDTO.setMinutes(0);
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/rooms/{room_id}/holds", 1, 1)
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(roomHoldDTO))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test1Confirm() throws Exception {
+
+		lenient().when(roomHoldService.confirm(1L, "hold-1"))
+				.thenReturn(RoomDTO.builder().id(1L).bookedDates(List.of(LocalDate.of(2021, 2, 12))).build());
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/holds/{hold_id}/confirm", 1, "hold-1")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
+	}
+
+	@Test
+	void test2ConfirmExpired() throws Exception {
+
+		mockMvc.perform(post("/api/v1/hotels/{hotel_id}/holds/{hold_id}/confirm", 1, "hold-1")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void test1Release() throws Exception {
+
+		lenient().when(roomHoldService.release(1L, "hold-1")).thenReturn(true);
+
+		mockMvc.perform(delete("/api/v1/hotels/{hotel_id}/holds/{hold_id}", 1, "hold-1")).andExpect(status().isOk());
+		mockMvc.perform(delete("/api/v1/hotels/{hotel_id}/holds/{hold_id}", 1, "hold-2"))
+				.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.myhotel.managment.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.myhotel.managment.configuration.CacheConfig;
+import com.myhotel.managment.domain.Hotel;
+import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.OfferDTO;
+import com.myhotel.managment.repository.HotelRepository;
+import com.myhotel.managment.repository.OfferRepository;
+
+@SpringJUnitConfig
+class CatalogCacheTest {
+
+	@Configuration
+	@EnableCaching
+	@Import(CacheConfig.class)
+	static class TestConfig {
+
+		@Bean
+		public HotelRepository hotelRepository() {
+			return Mockito.mock(HotelRepository.class);
+		}
+
+		@Bean
+		public OfferRepository offerRepository() {
+			return Mockito.mock(OfferRepository.class);
+		}
+	}
+
+	@Autowired
+	private HotelRepository hotelRepository;
+
+	@Autowired
+	private OfferRepository offerRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	// The beans are caching proxies, the mocks sit behind them
+	private HotelRepository hotelMock;
+
+	private OfferRepository offerMock;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		hotelMock = (HotelRepository) ((Advised) hotelRepository).getTargetSource()
+				.getTarget();
+		offerMock = (OfferRepository) ((Advised) offerRepository).getTargetSource()
+				.getTarget();
+		reset(hotelMock, offerMock);
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+	private HotelDTO hotelDTOObj() {
+		return HotelDTO.builder().id(1L).address("Delhi").build();
+	}
+
+	@Test
+	void testFindDTOByIdCached() {
+		HotelDTO hotel = hotelDTOObj();
+		doReturn(Optional.of(hotel)).when(hotelMock).findDTOById(1L);
+
+		assertEquals(Optional.of(hotel), hotelRepository.findDTOById(1L));
+		assertEquals(Optional.of(hotel), hotelRepository.findDTOById(1L));
+
+		verify(hotelMock, times(1)).findDTOById(1L);
+	}
+
+	@Test
+	void testFindDTOByIdMissNotCached() {
+		doReturn(Optional.empty()).when(hotelMock).findDTOById(2L);
+
+		assertEquals(Optional.empty(), hotelRepository.findDTOById(2L));
+		assertEquals(Optional.empty(), hotelRepository.findDTOById(2L));
+
+		verify(hotelMock, times(2)).findDTOById(2L);
+	}
+
+	@Test
+	void testSaveEvicts() {
+		doReturn(Optional.of(hotelDTOObj())).when(hotelMock).findDTOById(1L);
+
+		hotelRepository.findDTOById(1L);
+		hotelRepository.save(Hotel.builder().id(1L).address("Delhi").build());
+		hotelRepository.findDTOById(1L);
+
+		verify(hotelMock, times(2)).findDTOById(1L);
+	}
+
+	@Test
+	void testDeleteEvicts() {
+		doReturn(Optional.of(hotelDTOObj())).when(hotelMock).findDTOById(1L);
+		doReturn(Optional.of(OfferDTO.builder().id(1L).value(100.0).build())).when(offerMock).findDTOById(1L);
+
+		hotelRepository.findDTOById(1L);
+		offerRepository.findDTOById(1L);
+		hotelRepository.delete(Hotel.builder().id(1L).build());
+		offerRepository.deleteById(1L);
+		hotelRepository.findDTOById(1L);
+		offerRepository.findDTOById(1L);
+
+		verify(hotelMock, times(2)).findDTOById(1L);
+		verify(offerMock, times(2)).findDTOById(1L);
+	}
+
+	@Test
+	void testEvictedOnCommit() {
+		doReturn(Optional.of(hotelDTOObj())).when(hotelMock).findDTOById(1L);
+		hotelRepository.findDTOById(1L);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			hotelRepository.save(Hotel.builder().id(1L).address("Pune").build());
+			hotelRepository.findDTOById(1L);
+			verify(hotelMock, times(1)).findDTOById(1L);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		hotelRepository.findDTOById(1L);
+		verify(hotelMock, times(2)).findDTOById(1L);
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.myhotel.managment.unit.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.myhotel.managment.security.util.JwtUtil;
+import com.myhotel.managment.security.util.VerifiedToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+
+class JwtUtilTest {
+
+	private JwtUtil jwtUtil;
+
+	@BeforeEach
+	public void setup() {
+		jwtUtil = new JwtUtil();
+	}
+
+	private String tokenObj(String secret, long validity) {
+		return Jwts.builder()
+				.claim("authorities", List.of(Map.of("authority", "ROLE_ADMIN"), Map.of("authority", "ROLE_USER")))
+				.setSubject("admin").setExpiration(new Date(System.currentTimeMillis() + validity))
+				.signWith(SignatureAlgorithm.HS256, secret).compact();
+	}
+
+	@Test
+	void testVerify() {
+		String token = tokenObj("SecretKey", 60000);
+
+		VerifiedToken verified = jwtUtil.verify(token);
+
+		assertEquals("admin", verified.getUsername());
+		assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")),
+				verified.getAuthorities());
+		assertSame(verified, jwtUtil.verify(token));
+		assertEquals("admin", jwtUtil.extractUsername(token));
+	}
+
+	@Test
+	void testVerifyInvalidSignature() {
+		String token = tokenObj("OtherKey", 60000);
+
+		assertThrows(SignatureException.class, () -> jwtUtil.verify(token));
+	}
+
+	@Test
+	void testVerifyExpired() {
+		String token = tokenObj("SecretKey", -60000);
+
+		assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+	}
+
+}
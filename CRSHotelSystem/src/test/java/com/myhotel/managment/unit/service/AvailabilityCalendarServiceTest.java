@@ -0,0 +1,115 @@
+package com.myhotel.managment.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.myhotel.managment.availability.RoomAvailabilityIndex;
+import com.myhotel.managment.constants.HotelConstants;
+import com.myhotel.managment.dto.AvailabilityCalendarDTO;
+import com.myhotel.managment.dto.CalendarCountRow;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.impl.AvailabilityCalendarServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityCalendarServiceTest {
+
+	private AvailabilityCalendarServiceImpl calendarService;
+
+	@Mock
+	private RoomRepository roomRepository;
+
+	@Mock
+	private RoomNightRepository roomNightRepository;
+
+	@Mock
+	private RoomAvailabilityIndex availabilityIndex;
+
+	private static final LocalDate FROM = LocalDate.of(2021, 2, 1);
+	private static final LocalDate TO = LocalDate.of(2021, 2, 3);
+
+	@BeforeEach
+	public void setup() {
+		calendarService = new AvailabilityCalendarServiceImpl(roomRepository, roomNightRepository, availabilityIndex,
+				new ConcurrentMapCacheManager(HotelConstants.CALENDAR_CACHE));
+	}
+
+	private CalendarCountRow countRowObj(Long categoryId, LocalDate night, Long count) {
+		return new CalendarCountRow() {
+
+			@Override
+			public Long getCategoryId() {
+				return categoryId;
+			}
+
+			@Override
+			public LocalDate getNight() {
+				return night;
+			}
+
+			@Override
+			public Long getCount() {
+				return count;
+			}
+		};
+	}
+
+	private List<CalendarCountRow> roomCountsObj() {
+		return List.of(countRowObj(1L, null, 2L), countRowObj(2L, null, 1L));
+	}
+
+	@Test
+	void testGetFromBookedNights() {
+		doReturn(roomCountsObj()).when(roomRepository).countByCategory(1L);
+		doReturn(List.of(countRowObj(1L, FROM, 1L), countRowObj(1L, TO, 2L), countRowObj(2L, TO, 1L)))
+				.when(roomNightRepository).countBookedByCategory(1L, FROM, TO);
+
+		AvailabilityCalendarDTO calendar = calendarService.get(1L, FROM, TO);
+
+		assertEquals(2, calendar.getCategories().size());
+		assertEquals(Map.of(FROM, 1L, FROM.plusDays(1), 2L, TO, 0L), calendar.getCategories().get(0).getFree());
+		assertEquals(Map.of(FROM, 1L, FROM.plusDays(1), 1L, TO, 0L), calendar.getCategories().get(1).getFree());
+	}
+
+	@Test
+	void testGetFromIndex() {
+		doReturn(true).when(availabilityIndex).isEnabled();
+		doReturn(roomCountsObj()).when(roomRepository).countByCategory(1L);
+		doReturn(Optional.of(new long[] { 2, 1, 0 })).when(availabilityIndex).countFree(1L, 1L, FROM, TO);
+		doReturn(Optional.of(new long[] { 1, 1, 1 })).when(availabilityIndex).countFree(1L, 2L, FROM, TO);
+
+		AvailabilityCalendarDTO calendar = calendarService.get(1L, FROM, TO);
+
+		assertEquals(Map.of(FROM, 2L, FROM.plusDays(1), 1L, TO, 0L), calendar.getCategories().get(0).getFree());
+		Mockito.verifyNoInteractions(roomNightRepository);
+	}
+
+	@Test
+	void testGetCachedUntilEvicted() {
+		doReturn(roomCountsObj()).when(roomRepository).countByCategory(1L);
+
+		calendarService.get(1L, FROM, TO);
+		calendarService.get(1L, FROM, TO);
+		calendarService.evict(2L);
+		calendarService.get(1L, FROM, TO);
+		Mockito.verify(roomRepository, Mockito.times(1)).countByCategory(1L);
+
+		calendarService.evict(1L);
+		calendarService.get(1L, FROM, TO);
+		Mockito.verify(roomRepository, Mockito.times(2)).countByCategory(1L);
+	}
+
+}
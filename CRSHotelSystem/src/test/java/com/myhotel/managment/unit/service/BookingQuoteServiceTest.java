@@ -0,0 +1,161 @@
+package com.myhotel.managment.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.domain.RoomAssignment;
+import com.myhotel.managment.dto.BookingQuoteDTO;
+import com.myhotel.managment.dto.BookingQuoteRow;
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.service.impl.BookingQuoteServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@PropertySource("classpath:application-test.properties")
+@ActiveProfiles("test")
+class BookingQuoteServiceTest {
+
+	private static final LocalDate FROM = LocalDate.parse("2021-02-03");
+
+	private static final LocalDate TO = LocalDate.parse("2021-02-04");
+
+	@InjectMocks
+	private BookingQuoteServiceImpl bookingQuoteService;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private RoomHoldStore holdStore;
+
+	private BookingQuoteRow rowObj(Long offerId, Double offerValue, Long roomId) {
+		return rowObj(offerId, offerValue, roomId, null, null, null);
+	}
+
+	private BookingQuoteRow rowObj(Long offerId, Double offerValue, Long roomId, RoomAssignment roomAssignment,
+			String previousNight, String nextNight) {
+		return new BookingQuoteRow() {
+
+			public Long getCategoryId() {
+				return 1L;
+			}
+
+			public Double getCharges() {
+				return 1000.0;
+			}
+
+			public Long getOfferId() {
+				return offerId;
+			}
+
+			public Double getOfferValue() {
+				return offerValue;
+			}
+
+			public Long getRoomId() {
+				return roomId;
+			}
+
+			public RoomAssignment getRoomAssignment() {
+				return roomAssignment;
+			}
+
+			public LocalDate getPreviousNight() {
+				return previousNight != null ? LocalDate.parse(previousNight) : null;
+			}
+
+			public LocalDate getNextNight() {
+				return nextNight != null ? LocalDate.parse(nextNight) : null;
+			}
+		};
+	}
+
+	@Test
+	void testGetQuote() {
+		doReturn(List.of(rowObj(1L, 100.0, 1L), rowObj(1L, 100.0, 2L))).when(categoryRepository)
+				.findBookingQuote(1L, 1L, 1L, FROM, TO);
+
+		BookingQuoteDTO quote = bookingQuoteService.get(1L, 1L, 1L, FROM, TO);
+
+		assertEquals(1L, quote.getRoomId());
+		assertEquals(List.of(1L, 2L), quote.getRoomIds());
+		assertEquals(2L, quote.getNights());
+		assertEquals(1800.0, quote.getTotal());
+	}
+
+	@Test
+	void testGetQuoteAssignsBestFit() {
+		doReturn(List.of(rowObj(null, null, 1L, RoomAssignment.BEST_FIT, null, null),
+				rowObj(null, null, 2L, RoomAssignment.BEST_FIT, "2021-01-20", "2021-02-10"),
+				rowObj(null, null, 3L, RoomAssignment.BEST_FIT, "2021-02-02", "2021-02-06"),
+				rowObj(null, null, 4L, RoomAssignment.BEST_FIT, "2021-02-02", "2021-02-05"))).when(categoryRepository)
+				.findBookingQuote(1L, 1L, null, FROM, TO);
+
+		BookingQuoteDTO quote = bookingQuoteService.get(1L, 1L, null, FROM, TO);
+
+		assertEquals(4L, quote.getRoomId());
+		assertEquals(List.of(4L, 3L, 2L, 1L), quote.getRoomIds());
+	}
+
+	@Test
+	void testGetQuoteAssignsFirstFree() {
+		doReturn(List.of(rowObj(null, null, 1L, RoomAssignment.FIRST_FREE, null, null),
+				rowObj(null, null, 2L, RoomAssignment.FIRST_FREE, "2021-02-02", "2021-02-05"))).when(categoryRepository)
+				.findBookingQuote(1L, 1L, null, FROM, TO);
+
+		assertEquals(List.of(1L, 2L), bookingQuoteService.get(1L, 1L, null, FROM, TO).getRoomIds());
+	}
+
+	@Test
+	void testGetQuoteAssignsFirstFreeUnlessSet() {
+		doReturn(List.of(rowObj(null, null, 1L, null, null, null),
+				rowObj(null, null, 2L, null, "2021-02-02", "2021-02-05"))).when(categoryRepository)
+				.findBookingQuote(1L, 1L, null, FROM, TO);
+
+		assertEquals(List.of(1L, 2L), bookingQuoteService.get(1L, 1L, null, FROM, TO).getRoomIds());
+	}
+
+	@Test
+	void testGetQuoteSkipsHeldRooms() {
+		doReturn(List.of(rowObj(null, null, 1L), rowObj(null, null, 2L))).when(categoryRepository)
+				.findBookingQuote(1L, 1L, null, FROM, TO);
+		doReturn(true).when(holdStore).isHeld(1L, FROM, TO);
+
+		BookingQuoteDTO quote = bookingQuoteService.get(1L, 1L, null, FROM, TO);
+
+		assertEquals(2L, quote.getRoomId());
+		assertEquals(List.of(2L), quote.getRoomIds());
+	}
+
+	@Test
+	void testGetQuoteWithoutOfferAndRooms() {
+		doReturn(List.of(rowObj(null, null, null))).when(categoryRepository).findBookingQuote(1L, 1L, 5L, FROM, TO);
+
+		BookingQuoteDTO quote = bookingQuoteService.get(1L, 1L, 5L, FROM, TO);
+
+		assertNull(quote.getRoomId());
+		assertNull(quote.getOfferId());
+		assertEquals(List.of(), quote.getRoomIds());
+		assertEquals(2000.0, quote.getTotal());
+	}
+
+	@Test
+	void testGetQuoteCategoryNotInHotel() {
+		doReturn(List.of()).when(categoryRepository).findBookingQuote(2L, 1L, 1L, FROM, TO);
+
+		assertNull(bookingQuoteService.get(2L, 1L, 1L, FROM, TO).getCategoryId());
+	}
+
+}
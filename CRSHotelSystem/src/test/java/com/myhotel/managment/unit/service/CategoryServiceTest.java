@@ -98,14 +98,14 @@ class CategoryServiceTest {
 	@Test
 	void test3GetAllCategory() {
 
-		List<Category> categoryList = new ArrayList<>();
-		Category category = getCategoryObj();
+		List<CategoryDTO> categoryList = new ArrayList<>();
+		CategoryDTO category = getCategoryDtoObj();
 		categoryList.add(category);
 
-		doReturn(categoryList).when(categoryRepository).findAllByHotel(Mockito.any(Hotel.class));
+		doReturn(categoryList).when(categoryRepository).findAllDTOsByHotelId(1L);
 
 		List<CategoryDTO> categoryResponse = categoryService.getAll(1L);
-		assertNotNull(categoryResponse);
+		assertEquals(1, categoryResponse.size());
 
 	}
 
@@ -0,0 +1,107 @@
+package com.myhotel.managment.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.dto.HotelSearchDTO;
+import com.myhotel.managment.dto.HotelSearchResultDTO;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.service.RoomService;
+import com.myhotel.managment.service.impl.HotelSearchServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class HotelSearchServiceTest {
+
+	private HotelSearchServiceImpl hotelSearchService;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private RoomService roomService;
+
+	private static final LocalDate FROM = LocalDate.of(2021, 2, 1);
+	private static final LocalDate TO = LocalDate.of(2021, 2, 2);
+
+	@AfterEach
+	public void teardown() {
+		hotelSearchService.shutdown();
+	}
+
+	private List<CategoryDTO> candidatesObj() {
+		return List.of(new CategoryDTO(3L, "Deluxe", 100.0, 2L), new CategoryDTO(1L, "Deluxe", 200.0, 1L),
+				new CategoryDTO(4L, "Suite", 250.0, 2L), new CategoryDTO(2L, "Suite", 300.0, 1L));
+	}
+
+	private void freeRooms(Long hotelId, Long categoryId, int rooms) {
+		lenient().doReturn(Collections.nCopies(rooms, new RoomDTO())).when(roomService).getByParams(hotelId,
+				FROM, TO, categoryId, BookedDatesFormat.NONE);
+	}
+
+	@Test
+	void testSearchKeepsCheapest() {
+		hotelSearchService = new HotelSearchServiceImpl(categoryRepository, roomService, 4, 5000);
+		doReturn(candidatesObj()).when(categoryRepository).findSearchCandidates("deluxe", null, null);
+		freeRooms(2L, 3L, 0);
+		freeRooms(1L, 1L, 2);
+		freeRooms(2L, 4L, 1);
+		freeRooms(1L, 2L, 1);
+
+		HotelSearchDTO search = hotelSearchService.search(FROM, TO, "deluxe", null, null, 2);
+
+		assertTrue(search.isComplete());
+		assertEquals(List.of(1L, 4L),
+				search.getResults().stream().map(HotelSearchResultDTO::getCategoryId).collect(Collectors.toList()));
+		assertEquals(400.0, search.getResults().get(0).getTotal());
+		assertEquals(2, search.getResults().get(0).getFreeRooms());
+	}
+
+	@Test
+	void testSearchSkipsCategoriesPricedOut() {
+		hotelSearchService = new HotelSearchServiceImpl(categoryRepository, roomService, 1, 5000);
+		doReturn(candidatesObj()).when(categoryRepository).findSearchCandidates(null, null, null);
+		freeRooms(2L, 3L, 1);
+		freeRooms(1L, 1L, 1);
+
+		HotelSearchDTO search = hotelSearchService.search(FROM, TO, null, null, null, 1);
+
+		assertEquals(3L, search.getResults().get(0).getCategoryId());
+		Mockito.verify(roomService, Mockito.never()).getByParams(2L, FROM, TO, 4L, BookedDatesFormat.NONE);
+		Mockito.verify(roomService, Mockito.never()).getByParams(1L, FROM, TO, 2L, BookedDatesFormat.NONE);
+	}
+
+	@Test
+	void testSearchReturnsIncompleteAfterDeadline() {
+		hotelSearchService = new HotelSearchServiceImpl(categoryRepository, roomService, 2, 50);
+		doReturn(candidatesObj()).when(categoryRepository).findSearchCandidates(null, null, null);
+		doAnswer(invocation -> {
+			Thread.sleep(500);
+			return List.of(new RoomDTO());
+		}).when(roomService).getByParams(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+		HotelSearchDTO search = hotelSearchService.search(FROM, TO, null, null, null, 10);
+
+		assertFalse(search.isComplete());
+		assertEquals(List.of(), search.getResults());
+	}
+
+}
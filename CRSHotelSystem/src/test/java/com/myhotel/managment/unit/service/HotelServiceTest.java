@@ -2,12 +2,15 @@ package com.myhotel.managment.unit.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +19,12 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.myhotel.managment.domain.Hotel;
 import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.dto.HotelPageDTO;
 import com.myhotel.managment.repository.HotelRepository;
 import com.myhotel.managment.service.impl.HotelServiceImpl;
 
@@ -93,9 +98,10 @@ class HotelServiceTest {
 		List<HotelDTO> hotelResponseDTO = new ArrayList<>();
 		hotelResponseDTO.add(hotelDTOObj());
 
-		List<Hotel> hotelObj = new ArrayList<>();
-		hotelObj.add(hotelObj());
-		lenient().doReturn(hotelObj).when(hotelRepository).findAll();
+		HotelDTO hotelDTO = hotelDTOObj();
+		hotelDTO.setId(1L);
+		hotelResponseDTO.set(0, hotelDTO);
+		lenient().doReturn(hotelResponseDTO).when(hotelRepository).findAllDTOs();
 		List<HotelDTO> createdHotel = hotelService.getAll();
 
 		assertNotNull(createdHotel.get(0).getAddress());
@@ -110,4 +116,43 @@ class HotelServiceTest {
 		Hotel hotelDb = hotelService.get(1L);
 		assertEquals(1L, hotelDb.getId());
 	}
+
+	@Test
+	void test5GetHotelsPage() {
+		doReturn(List.of(new HotelDTO(2L, "Nagpur", 1L, null), new HotelDTO(3L, "Pune", 1L, null)))
+				.when(hotelRepository).findAllDTOsAfter(1L, PageRequest.of(0, 2));
+
+		HotelPageDTO page = hotelService.getPage("1", 1);
+
+		assertEquals(1, page.getHotels().size());
+		assertEquals("2", page.getNext());
+	}
+
+	@Test
+	void test5GetHotelsLastPage() {
+		doReturn(List.of(new HotelDTO(1L, "Nagpur", 1L, null))).when(hotelRepository).findAllDTOsAfter(0L,
+				PageRequest.of(0, 51));
+
+		HotelPageDTO page = hotelService.getPage(null, 50);
+
+		assertEquals(1, page.getHotels().size());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	void test5GetHotelsPageInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> hotelService.getPage("abc", 50));
+	}
+
+	@Test
+	void test6StreamAllHotels() {
+		doReturn(Stream.of(new HotelDTO(1L, "Nagpur", 1L, null), new HotelDTO(2L, "Pune", 1L, null)))
+				.when(hotelRepository).streamAllDTOs();
+
+		List<HotelDTO> hotels = new ArrayList<>();
+		hotelService.streamAll(hotels::add);
+
+		assertEquals(2, hotels.size());
+		assertEquals("Pune", hotels.get(1).getAddress());
+	}
 }
@@ -116,14 +116,13 @@ class OfferServiceTest {
 	@Test
 	void test4getAllOffers() {
 
-		Offer offer = offerObj();
 		Hotel hotel = hotelObj();
 		Category category = categoryObj();
-		List<Offer> offers = new ArrayList<>();
-		offers.add(offer);
+		List<OfferDTO> offers = new ArrayList<>();
+		offers.add(OfferDTO.builder().id(1L).hotelId(hotel.getId()).categoryId(category.getId()).value(100.0).build());
 
-		lenient().doReturn(Optional.of(offers)).when(offerRepository).findByHotelAndCategory(Mockito.any(Hotel.class),
-				Mockito.any(Category.class));
+		lenient().doReturn(offers).when(offerRepository).findAllDTOsByHotelIdAndCategoryId(hotel.getId(),
+				category.getId());
 		List<OfferDTO> offersRes = offerService.getAll(hotel.getId(), category.getId());
 
 		assertEquals(hotel.getId(), offersRes.get(0).getHotelId());
@@ -0,0 +1,75 @@
+package com.myhotel.managment.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.myhotel.managment.dto.HotelDTO;
+import com.myhotel.managment.repository.CategoryRepository;
+import com.myhotel.managment.repository.HotelRepository;
+import com.myhotel.managment.repository.OfferRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.impl.OwnershipServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class OwnershipServiceTest {
+
+	@InjectMocks
+	private OwnershipServiceImpl ownershipService;
+
+	@Mock
+	private HotelRepository hotelRepository;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private RoomRepository roomRepository;
+
+	@Mock
+	private OfferRepository offerRepository;
+
+	@Test
+	void testExistsHotel() {
+		doReturn(Optional.of(HotelDTO.builder().id(1L).build())).when(hotelRepository).findDTOById(1L);
+
+		assertTrue(ownershipService.existsHotel(1L));
+	}
+
+	@Test
+	void testExistsRoomCheckedOncePerRequest() {
+		doReturn(true).when(roomRepository).existsInCategory(1L, 1L, 1L);
+
+		assertTrue(ownershipService.existsRoom(1L, 1L, 1L));
+		assertTrue(ownershipService.existsRoom(1L, 1L, 1L));
+
+		verify(roomRepository, times(1)).existsInCategory(1L, 1L, 1L);
+	}
+
+	@Test
+	void testExistsOfferOfOtherCategory() {
+		doReturn(false).when(offerRepository).existsInCategory(1L, 2L, 1L);
+
+		assertFalse(ownershipService.existsOffer(1L, 2L, 1L));
+	}
+
+	@Test
+	void testExistsCategoryWithoutId() {
+		assertFalse(ownershipService.existsCategory(1L, null));
+
+		verify(categoryRepository, never()).existsInHotel(Mockito.any(), Mockito.any());
+	}
+
+}
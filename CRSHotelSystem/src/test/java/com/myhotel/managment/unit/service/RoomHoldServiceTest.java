@@ -0,0 +1,112 @@
+package com.myhotel.managment.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.domain.RoomHold;
+import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomHoldDTO;
+import com.myhotel.managment.exception.BookingConflictException;
+import com.myhotel.managment.repository.RoomNightRepository;
+import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.RoomService;
+import com.myhotel.managment.service.impl.RoomHoldServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@PropertySource("classpath:application-test.properties")
+@ActiveProfiles("test")
+class RoomHoldServiceTest {
+
+	private static final List<LocalDate> NIGHTS = List.of(LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 13));
+
+	@InjectMocks
+	private RoomHoldServiceImpl roomHoldService;
+
+	@Mock
+	private RoomRepository roomRepository;
+
+	@Mock
+	private RoomNightRepository roomNightRepository;
+
+	@Mock
+	private RoomHoldStore holdStore;
+
+	@Mock
+	private RoomService roomService;
+
+	private RoomHold roomHoldObj() {
+		return new RoomHold("hold-1", 1L, 1L, NIGHTS, Instant.now().plus(10, ChronoUnit.MINUTES));
+	}
+
+	@Test
+	void testHold() {
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, NIGHTS);
+		Mockito.when(holdStore.add(Mockito.any(RoomHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		RoomHoldDTO hold = roomHoldService.hold(RoomHoldDTO.builder().hotelId(1L).roomId(1L)
+				.nights(List.of(LocalDate.of(2021, 2, 13), LocalDate.of(2021, 2, 12), LocalDate.of(2021, 2, 12)))
+				.minutes(600).build());
+
+		Mockito.verify(roomRepository).findByIdForUpdate(1L);
+		assertEquals(NIGHTS, hold.getNights());
+		assertTrue(hold.getExpiresAt().isBefore(Instant.now().plus(61, ChronoUnit.MINUTES)));
+	}
+
+	@Test
+	void testHoldBookedNights() {
+		doReturn(List.of(LocalDate.of(2021, 2, 13))).when(roomNightRepository).findBookedNights(1L, NIGHTS);
+
+		assertThrows(BookingConflictException.class, () -> roomHoldService
+				.hold(RoomHoldDTO.builder().hotelId(1L).roomId(1L).nights(NIGHTS).build()));
+
+		Mockito.verify(holdStore, Mockito.never()).add(Mockito.any());
+	}
+
+	@Test
+	void testConfirm() {
+		doReturn(Optional.of(roomHoldObj())).when(holdStore).get("hold-1");
+		doReturn(RoomDTO.builder().id(1L).bookedDates(NIGHTS).build()).when(roomService)
+				.book(Mockito.any(RoomDTO.class), Mockito.eq("hold-1"));
+
+		RoomDTO room = roomHoldService.confirm(1L, "hold-1");
+
+		ArgumentCaptor<RoomDTO> booked = ArgumentCaptor.forClass(RoomDTO.class);
+		Mockito.verify(roomService).book(booked.capture(), Mockito.eq("hold-1"));
+		assertEquals(NIGHTS, booked.getValue().getBookedDates());
+		assertEquals(NIGHTS, room.getBookedDates());
+		Mockito.verify(holdStore).release("hold-1");
+	}
+
+	@Test
+	void testConfirmHoldOfAnotherHotel() {
+		doReturn(Optional.of(roomHoldObj())).when(holdStore).get("hold-1");
+
+		assertNull(roomHoldService.confirm(2L, "hold-1"));
+		assertFalse(roomHoldService.release(2L, "hold-1"));
+
+		Mockito.verifyNoInteractions(roomService);
+		Mockito.verify(holdStore, Mockito.never()).release(Mockito.any());
+	}
+
+}
@@ -1,31 +1,56 @@
 package com.myhotel.managment.unit.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.myhotel.managment.availability.RoomAvailabilityIndex;
+import com.myhotel.managment.availability.RoomHoldStore;
+import com.myhotel.managment.availability.RoomNightStore;
 import com.myhotel.managment.domain.Category;
 import com.myhotel.managment.domain.Hotel;
+import com.myhotel.managment.domain.NightBitmap;
 import com.myhotel.managment.domain.Room;
+import com.myhotel.managment.domain.RoomYear;
+import com.myhotel.managment.dto.BookedDatesFormat;
+import com.myhotel.managment.dto.BookingChangeDTO;
+import com.myhotel.managment.dto.CategoryDTO;
+import com.myhotel.managment.dto.FlexibleAvailabilityDTO;
+import com.myhotel.managment.dto.FlexibleStayDTO;
 import com.myhotel.managment.dto.RoomDTO;
+import com.myhotel.managment.dto.RoomPageDTO;
+import com.myhotel.managment.dto.RoomYearRow;
+import com.myhotel.managment.exception.BookingConflictException;
 import com.myhotel.managment.repository.CategoryRepository;
 import com.myhotel.managment.repository.HotelRepository;
+import com.myhotel.managment.repository.RoomNightRepository;
 import com.myhotel.managment.repository.RoomRepository;
+import com.myhotel.managment.service.AvailabilityCalendarService;
 import com.myhotel.managment.service.impl.RoomServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,12 +64,27 @@ class RoomServiceTest {
 	@Mock
 	private RoomRepository roomRepository;
 
+	@Mock
+	private RoomNightRepository roomNightRepository;
+
 	@Mock
 	private HotelRepository hotelRepository;
 
 	@Mock
 	private CategoryRepository categoryRepository;
 
+	@Spy
+	private RoomAvailabilityIndex availabilityIndex = new RoomAvailabilityIndex();
+
+	@Mock
+	private RoomNightStore nightStore;
+
+	@Mock
+	private AvailabilityCalendarService calendarService;
+
+	@Mock
+	private RoomHoldStore holdStore;
+
 	private Hotel hotelObj() {
 		Hotel hotel = new Hotel();
 		hotel.setId(1L);
@@ -82,15 +122,6 @@ class RoomServiceTest {
 		room.setId(1L);
 		room.setCategory(Category.builder().id(1L).build());
 		room.setHotel(Hotel.builder().id(1L).build());
-
-		List<LocalDate> bookingDates = new ArrayList<>();
-
-		bookingDates.add(LocalDate.of(2021, 2, 12));
-		bookingDates.add(LocalDate.of(2021, 2, 13));
-		bookingDates.add(LocalDate.of(2021, 2, 14));
-		bookingDates.add(LocalDate.of(2021, 2, 3));
-
-		room.setBookedDates(bookingDates);
 		return room;
 	}
 
@@ -99,15 +130,35 @@ class RoomServiceTest {
 		room.setId(2L);
 		room.setCategory(Category.builder().id(1L).build());
 		room.setHotel(Hotel.builder().id(1L).build());
+		return room;
+	}
 
+	private List<LocalDate> bookingDatesObj() {
 		List<LocalDate> bookingDates = new ArrayList<>();
 
-		bookingDates.add(LocalDate.of(2021, 2, 1));
 		bookingDates.add(LocalDate.of(2021, 2, 3));
-		bookingDates.add(LocalDate.of(2021, 2, 16));
+		bookingDates.add(LocalDate.of(2021, 2, 12));
+		bookingDates.add(LocalDate.of(2021, 2, 13));
+		bookingDates.add(LocalDate.of(2021, 2, 14));
+		return bookingDates;
+	}
 
-		room.setBookedDates(bookingDates);
-		return room;
+	private Map<Long, List<LocalDate>> bookedDatesObj() {
+		Map<Long, List<LocalDate>> bookedDates = new LinkedHashMap<>();
+		bookedDates.put(1L, bookingDatesObj());
+		bookedDates.put(2L, List.of(LocalDate.of(2021, 2, 1), LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 16)));
+		return bookedDates;
+	}
+
+	// The booked dates above as stored, all of them in 2021
+	private Map<Long, List<RoomYear>> bookedYearsObj() {
+		Map<Long, List<RoomYear>> bookedYears = new LinkedHashMap<>();
+		bookedDatesObj().forEach((roomId, dates) -> {
+			RoomYear roomYear = new RoomYear(roomId, 2021);
+			roomYear.setNights(NightBitmap.EMPTY.with(dates));
+			bookedYears.put(roomId, List.of(roomYear));
+		});
+		return bookedYears;
 	}
 
 	@Test
@@ -139,40 +190,356 @@ class RoomServiceTest {
 		RoomDTO roomDTO = roomDtoObj();
 		Room room = roomObj();
 
-		room.getBookedDates().addAll(roomDTO.getBookedDates());
-
-		lenient().doReturn(Optional.of(room)).when(roomRepository).findById(1L);
-
+		lenient().doReturn(Optional.of(room)).when(roomRepository).findByIdForUpdate(1L);
 		doReturn(room).when(roomRepository).save(Mockito.any(Room.class));
+		doReturn(List.of(LocalDate.of(2021, 2, 3))).when(roomNightRepository).findBookedNights(1L,
+				roomDTO.getBookedDates());
+		doReturn(bookingDatesObj()).when(nightStore).findByRoomId(1L);
 
 		RoomDTO updatedRoom = roomService.update(roomDTO);
 
-		assertEquals(room.getBookedDates(), updatedRoom.getBookedDates());
+		assertEquals(bookingDatesObj(), updatedRoom.getBookedDates());
+		Mockito.verify(nightStore).add(Mockito.eq(1L), Mockito.argThat(nights -> nights.size() == 3), Mockito.isNull());
+	}
+
+	@Test
+	void testBookRoom() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+
+		RoomDTO bookedRoom = roomService.book(roomDTO);
+
+		assertEquals(roomDTO.getBookedDates(), bookedRoom.getBookedDates());
+		Mockito.verify(nightStore).add(Mockito.eq(1L), Mockito.argThat(nights -> nights.size() == 2), Mockito.isNull());
+		Mockito.verify(calendarService).evict(1L);
+		Mockito.verify(roomRepository, Mockito.never()).save(Mockito.any(Room.class));
+	}
+
+	@Test
+	void testBookRoomConflict() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 11), LocalDate.of(2021, 2, 12))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of(LocalDate.of(2021, 2, 12))).when(roomNightRepository).findBookedNights(1L,
+				roomDTO.getBookedDates());
+
+		BookingConflictException conflict = assertThrows(BookingConflictException.class,
+				() -> roomService.book(roomDTO));
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 12)), conflict.getBookedNights());
+		Mockito.verify(nightStore, Mockito.never()).add(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verifyNoInteractions(calendarService);
+	}
+
+	@Test
+	void testBookRoomRepeatedForReservation() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setReservationId(5L);
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(roomDTO.getBookedDates()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+		doReturn(roomDTO.getBookedDates()).when(roomNightRepository).findNightsOfReservation(1L,
+				roomDTO.getBookedDates(), 5L);
+
+		RoomDTO bookedRoom = roomService.book(roomDTO);
+
+		assertEquals(roomDTO.getBookedDates(), bookedRoom.getBookedDates());
+		Mockito.verify(nightStore).add(1L, List.of(), 5L);
+	}
+
+	@Test
+	void testBookRoomBookedForOtherReservation() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setReservationId(5L);
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(roomDTO.getBookedDates()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+		doReturn(List.of(LocalDate.of(2021, 2, 15))).when(roomNightRepository).findNightsOfReservation(1L,
+				roomDTO.getBookedDates(), 5L);
+
+		BookingConflictException conflict = assertThrows(BookingConflictException.class,
+				() -> roomService.book(roomDTO));
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 16)), conflict.getBookedNights());
+		Mockito.verify(nightStore, Mockito.never()).add(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	void testBookRoomHeld() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+		doReturn(List.of(LocalDate.of(2021, 2, 16))).when(holdStore).findHeldNights(1L, roomDTO.getBookedDates(),
+				null);
+
+		BookingConflictException conflict = assertThrows(BookingConflictException.class,
+				() -> roomService.book(roomDTO));
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 16)), conflict.getBookedNights());
+		Mockito.verify(nightStore, Mockito.never()).add(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	void testBookRoomOfHold() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(new ArrayList<>(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16))));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+
+		roomService.book(roomDTO, "hold-1");
+
+		Mockito.verify(holdStore).findHeldNights(1L, roomDTO.getBookedDates(), "hold-1");
+		Mockito.verify(nightStore).add(Mockito.eq(1L), Mockito.argThat(nights -> nights.size() == 2), Mockito.isNull());
+	}
+
+	@Test
+	void testBookAllRooms() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 15)));
+		RoomDTO roomDTO2 = roomDtoObj();
+		roomDTO2.setId(2L);
+		roomDTO2.setBookedDates(List.of(LocalDate.of(2021, 2, 15), LocalDate.of(2021, 2, 16)));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(Optional.of(roomObj2())).when(roomRepository).findByIdForUpdate(2L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(Mockito.anyLong(), Mockito.anyList());
+
+		List<RoomDTO> bookedRooms = roomService.bookAll(List.of(roomDTO2, roomDTO));
+
+		assertEquals(1L, bookedRooms.get(0).getId());
+		assertEquals(2, bookedRooms.get(1).getBookedDates().size());
+		InOrder locks = Mockito.inOrder(roomRepository);
+		locks.verify(roomRepository).findByIdForUpdate(1L);
+		locks.verify(roomRepository).findByIdForUpdate(2L);
+		Mockito.verify(nightStore).add(Mockito.eq(1L), Mockito.argThat(nights -> nights.size() == 1), Mockito.isNull());
+		Mockito.verify(nightStore).add(Mockito.eq(2L), Mockito.argThat(nights -> nights.size() == 2), Mockito.isNull());
+		Mockito.verify(calendarService).evict(1L);
+	}
+
+	@Test
+	void testBookAllRoomsConflict() {
+		RoomDTO roomDTO = roomDtoObj();
+		roomDTO.setBookedDates(List.of(LocalDate.of(2021, 2, 15)));
+		RoomDTO roomDTO2 = roomDtoObj();
+		roomDTO2.setId(2L);
+		roomDTO2.setBookedDates(List.of(LocalDate.of(2021, 2, 16)));
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(Optional.of(roomObj2())).when(roomRepository).findByIdForUpdate(2L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, roomDTO.getBookedDates());
+		doReturn(List.of(LocalDate.of(2021, 2, 16))).when(roomNightRepository).findBookedNights(2L,
+				roomDTO2.getBookedDates());
+
+		BookingConflictException conflict = assertThrows(BookingConflictException.class,
+				() -> roomService.bookAll(List.of(roomDTO, roomDTO2)));
+
+		assertEquals(2L, conflict.getRoomId());
+		Mockito.verify(nightStore, Mockito.never()).add(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(availabilityIndex, Mockito.never()).recordBooking(Mockito.any(), Mockito.any());
+		Mockito.verifyNoInteractions(calendarService);
+	}
+
+	@Test
+	void testChangeBooking() {
+		BookingChangeDTO changeDTO = BookingChangeDTO.builder().roomId(1L)
+				.release(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4)))
+				.book(List.of(LocalDate.of(2021, 2, 6))).build();
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, List.of(LocalDate.of(2021, 2, 6)));
+		doReturn(List.of(LocalDate.of(2021, 2, 5), LocalDate.of(2021, 2, 6))).when(nightStore).findByRoomId(1L);
+
+		RoomDTO changedRoom = roomService.change(changeDTO);
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 5), LocalDate.of(2021, 2, 6)), changedRoom.getBookedDates());
+		Mockito.verify(nightStore).remove(1L, List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4)));
+		Mockito.verify(nightStore).add(1L, List.of(LocalDate.of(2021, 2, 6)), null);
+		Mockito.verify(availabilityIndex).record(Mockito.any(Room.class), Mockito.eq(changedRoom.getBookedDates()));
+		Mockito.verify(calendarService).evict(1L);
+	}
+
+	@Test
+	void testChangeBookingOverlappingNights() {
+		BookingChangeDTO changeDTO = BookingChangeDTO.builder().roomId(1L)
+				.release(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4)))
+				.book(List.of(LocalDate.of(2021, 2, 4), LocalDate.of(2021, 2, 5))).build();
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of()).when(roomNightRepository).findBookedNights(1L, List.of(LocalDate.of(2021, 2, 5)));
+		doReturn(List.of(LocalDate.of(2021, 2, 4), LocalDate.of(2021, 2, 5))).when(nightStore).findByRoomId(1L);
+
+		RoomDTO changedRoom = roomService.change(changeDTO);
+
+		assertEquals(List.of(LocalDate.of(2021, 2, 4), LocalDate.of(2021, 2, 5)), changedRoom.getBookedDates());
+		Mockito.verify(nightStore).remove(1L, List.of(LocalDate.of(2021, 2, 3)));
+		Mockito.verify(nightStore).add(1L, List.of(LocalDate.of(2021, 2, 5)), null);
+	}
+
+	@Test
+	void testChangeBookingReleasesOnlyReservationNights() {
+		BookingChangeDTO changeDTO = BookingChangeDTO.builder().roomId(1L).reservationId(5L)
+				.release(List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4))).book(List.of()).build();
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of(LocalDate.of(2021, 2, 4))).when(roomNightRepository).findReleasableNights(1L,
+				List.of(LocalDate.of(2021, 2, 3), LocalDate.of(2021, 2, 4)), 5L);
+		doReturn(List.of(LocalDate.of(2021, 2, 3))).when(nightStore).findByRoomId(1L);
+
+		roomService.change(changeDTO);
+
+		Mockito.verify(nightStore).remove(1L, List.of(LocalDate.of(2021, 2, 4)));
+	}
+
+	@Test
+	void testChangeBookingConflict() {
+		BookingChangeDTO changeDTO = BookingChangeDTO.builder().roomId(1L).release(List.of(LocalDate.of(2021, 2, 3)))
+				.book(List.of(LocalDate.of(2021, 2, 12))).build();
+
+		doReturn(Optional.of(roomObj())).when(roomRepository).findByIdForUpdate(1L);
+		doReturn(List.of(LocalDate.of(2021, 2, 12))).when(roomNightRepository).findBookedNights(1L,
+				List.of(LocalDate.of(2021, 2, 12)));
+
+		assertThrows(BookingConflictException.class, () -> roomService.change(changeDTO));
+
+		Mockito.verify(nightStore, Mockito.never()).remove(Mockito.any(), Mockito.any());
+		Mockito.verify(nightStore, Mockito.never()).add(Mockito.any(), Mockito.any(), Mockito.any());
 	}
 
 	@Test
 	void test3GetAllRooms() {
-		List<Room> roomResDTO = new ArrayList<>();
-		roomResDTO.add(roomObj());
+		doReturn(List.of(new RoomDTO(1L, 1L, 1L), new RoomDTO(2L, 1L, 1L))).when(roomRepository)
+				.findAllDTOsByHotelId(1L);
+		doReturn(bookedDatesObj()).when(nightStore).findByRoomIds(Mockito.anyCollection());
 
-		List<RoomDTO> roomResponse = roomService.getAll(1L);
+		List<RoomDTO> roomResponse = roomService.getAll(1L, BookedDatesFormat.FULL);
 
-		assertNotNull(roomResponse);
+		assertEquals(2, roomResponse.size());
+		assertEquals(bookingDatesObj(), roomResponse.get(0).getBookedDates());
 
 	}
 
 	@Test
-	void testGetAllRoomsWithParams1() {
+	void test3GetAllRoomsAsRanges() {
+		doReturn(List.of(new RoomDTO(1L, 1L, 1L))).when(roomRepository).findAllDTOsByHotelId(1L);
+		doReturn(Map.of(1L, bookingDatesObj())).when(nightStore).findByRoomIds(Mockito.anyCollection());
+
+		List<RoomDTO> roomResponse = roomService.getAll(1L, BookedDatesFormat.RANGES);
+
+		long february3 = LocalDate.of(2021, 2, 3).toEpochDay();
+		long february12 = LocalDate.of(2021, 2, 12).toEpochDay();
+		assertNull(roomResponse.get(0).getBookedDates());
+		assertEquals(2, roomResponse.get(0).getBookedRanges().size());
+		assertArrayEquals(new long[] { february3, february3 + 1 }, roomResponse.get(0).getBookedRanges().get(0));
+		assertArrayEquals(new long[] { february12, february12 + 3 }, roomResponse.get(0).getBookedRanges().get(1));
+	}
+
+	@Test
+	void test3GetAllRoomsWithoutDates() {
+		doReturn(List.of(new RoomDTO(1L, 1L, 1L))).when(roomRepository).findAllDTOsByHotelId(1L);
+
+		List<RoomDTO> roomResponse = roomService.getAll(1L, BookedDatesFormat.NONE);
+
+		assertEquals(1, roomResponse.size());
+		assertNull(roomResponse.get(0).getBookedDates());
+		assertNull(roomResponse.get(0).getBookedRanges());
+		Mockito.verifyNoInteractions(nightStore);
+	}
+
+	@Test
+	void test3GetRoomsPage() {
+		doReturn(List.of(new RoomDTO(1L, 1L, 1L), new RoomDTO(2L, 1L, 1L))).when(roomRepository)
+				.findAllDTOsByHotelIdAfter(1L, 0L, PageRequest.of(0, 2));
+		doReturn(Map.of(1L, bookingDatesObj())).when(nightStore).findByRoomIds(Mockito.anyCollection());
+
+		RoomPageDTO page = roomService.getPage(1L, null, 1, BookedDatesFormat.FULL);
+
+		assertEquals(1, page.getRooms().size());
+		assertEquals(bookingDatesObj(), page.getRooms().get(0).getBookedDates());
+		assertEquals("1", page.getNext());
+	}
+
+	@Test
+	void test3GetRoomsLastPage() {
+		doReturn(List.of(new RoomDTO(2L, 1L, 1L))).when(roomRepository).findAllDTOsByHotelIdAfter(1L, 1L,
+				PageRequest.of(0, 51));
+		doReturn(Map.of(2L, List.of())).when(nightStore).findByRoomIds(Mockito.anyCollection());
+
+		RoomPageDTO page = roomService.getPage(1L, "1", 50, BookedDatesFormat.FULL);
+
+		assertEquals(List.of(), page.getRooms().get(0).getBookedDates());
+		assertNull(page.getNext());
+	}
 
-		List<Room> roomObj = new ArrayList<>();
-		roomObj.add(roomObj());
-		roomObj.add(roomObj2());
+	@Test
+	void test3StreamAllRooms() {
+		doReturn(Stream.of(roomYearRowObj(1L, LocalDate.of(2020, 12, 31)), roomYearRowObj(1L, LocalDate.of(2021, 2, 1)),
+				roomYearRowObj(2L, null), roomYearRowObj(3L, LocalDate.of(2021, 2, 5)))).when(roomRepository)
+						.streamNightsByHotelId(1L);
+
+		List<RoomDTO> rooms = new ArrayList<>();
+		roomService.streamAll(1L, BookedDatesFormat.FULL, rooms::add);
+
+		assertEquals(3, rooms.size());
+		assertEquals(List.of(LocalDate.of(2020, 12, 31), LocalDate.of(2021, 2, 1)), rooms.get(0).getBookedDates());
+		assertEquals(List.of(), rooms.get(1).getBookedDates());
+		assertEquals(List.of(LocalDate.of(2021, 2, 5)), rooms.get(2).getBookedDates());
+	}
+
+	@Test
+	void test3StreamAllRoomsWithoutDates() {
+		doReturn(Stream.of(new RoomDTO(1L, 1L, 1L), new RoomDTO(2L, 1L, 1L))).when(roomRepository)
+				.streamDTOsByHotelId(1L);
+
+		List<RoomDTO> rooms = new ArrayList<>();
+		roomService.streamAll(1L, BookedDatesFormat.NONE, rooms::add);
+
+		assertEquals(2, rooms.size());
+		assertNull(rooms.get(0).getBookedDates());
+		Mockito.verify(roomRepository, Mockito.never()).streamNightsByHotelId(1L);
+	}
+
+	private RoomYearRow roomYearRowObj(Long roomId, LocalDate night) {
+		return new RoomYearRow() {
+
+			@Override
+			public Long getRoomId() {
+				return roomId;
+			}
+
+			@Override
+			public Long getCategoryId() {
+				return 1L;
+			}
+
+			@Override
+			public Integer getYear() {
+				return night != null ? night.getYear() : null;
+			}
+
+			@Override
+			public NightBitmap getNights() {
+				return night != null ? NightBitmap.EMPTY.with(List.of(night)) : null;
+			}
+		};
+	}
+
+	@Test
+	void testGetAllRoomsWithParams1() {
 
-		lenient().doReturn(Optional.of(roomObj)).when(roomRepository)
-				.findAllByHotelAndCategory(Mockito.any(Hotel.class), Mockito.any(Category.class));
+		lenient().doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		lenient().doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(Mockito.anyCollection());
 
 		List<RoomDTO> roomResponse = roomService.getByParams(1L, LocalDate.parse("2021-02-04"),
-				LocalDate.parse("2021-02-11"), 1L);
+				LocalDate.parse("2021-02-11"), 1L, BookedDatesFormat.FULL);
 
 		assertNotNull(roomResponse);
 		assertEquals(2, roomResponse.size());
@@ -182,15 +549,11 @@ class RoomServiceTest {
 	@Test
 	void testGetAllRoomsWithParams2() {
 
-		List<Room> roomObj = new ArrayList<>();
-		roomObj.add(roomObj());
-		roomObj.add(roomObj2());
-
-		lenient().doReturn(Optional.of(roomObj)).when(roomRepository)
-				.findAllByHotelAndCategory(Mockito.any(Hotel.class), Mockito.any(Category.class));
+		lenient().doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		lenient().doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(Mockito.anyCollection());
 
 		List<RoomDTO> roomResponse = roomService.getByParams(1L, LocalDate.parse("2021-02-01"),
-				LocalDate.parse("2021-02-05"), 1L);
+				LocalDate.parse("2021-02-05"), 1L, BookedDatesFormat.FULL);
 
 		assertNotNull(roomResponse);
 		assertEquals(0, roomResponse.size());
@@ -200,20 +563,86 @@ class RoomServiceTest {
 	@Test
 	void testGetAllRoomsWithParams3() {
 
-		List<Room> roomObj = new ArrayList<>();
-		roomObj.add(roomObj());
-		roomObj.add(roomObj2());
-
-		lenient().doReturn(Optional.of(roomObj)).when(roomRepository)
-				.findAllByHotelAndCategory(Mockito.any(Hotel.class), Mockito.any(Category.class));
+		lenient().doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		lenient().doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(Mockito.anyCollection());
 
 		List<RoomDTO> roomResponse = roomService.getByParams(1l, LocalDate.parse("2021-02-12"),
-				LocalDate.parse("2021-02-14"), 1L);
+				LocalDate.parse("2021-02-14"), 1L, BookedDatesFormat.FULL);
+
+		assertNotNull(roomResponse);
+		assertEquals(1, roomResponse.size());
+		assertEquals(2, roomResponse.get(0).getId());
+
+	}
+
+	@Test
+	void testGetAllRoomsWithParamsSkipsHeld() {
+
+		lenient().doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		lenient().doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(Mockito.anyCollection());
+		doReturn(true).when(holdStore).isHeld(1L, LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-11"));
+
+		List<RoomDTO> roomResponse = roomService.getByParams(1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-11"), 1L, BookedDatesFormat.NONE);
+
+		assertEquals(1, roomResponse.size());
+		assertEquals(2, roomResponse.get(0).getId());
+
+	}
+
+	@Test
+	void testGetAllRoomsWithParamsFromDatabase() {
+
+		availabilityIndex.setEnabled(false);
+		doReturn(List.of(2L)).when(roomRepository).findAvailableRoomIds(1L, 1L, LocalDate.parse("2021-02-12"),
+				LocalDate.parse("2021-02-14"));
+
+		List<RoomDTO> roomResponse = roomService.getByParams(1L, LocalDate.parse("2021-02-12"),
+				LocalDate.parse("2021-02-14"), 1L, BookedDatesFormat.FULL);
 
 		assertNotNull(roomResponse);
 		assertEquals(1, roomResponse.size());
 		assertEquals(2, roomResponse.get(0).getId());
+		assertEquals(1, roomResponse.get(0).getCategoryId());
+
+	}
 
+	@Test
+	void testGetFlexibleStays() {
+
+		doReturn(List.of(new CategoryDTO(1L, "Deluxe", 100.0, 1L), new CategoryDTO(2L, "Standard", 50.0, 1L)))
+				.when(categoryRepository).findAllDTOsByHotelId(1L);
+		doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(List.of(1L, 2L));
+
+		FlexibleAvailabilityDTO flexible = roomService.getFlexible(1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-06"), 2, 1L);
+
+		assertEquals(List.of(LocalDate.parse("2021-02-01"), LocalDate.parse("2021-02-04"), LocalDate.parse("2021-02-05")),
+				flexible.getStays().stream().map(FlexibleStayDTO::getFrom).collect(Collectors.toList()));
+		assertEquals(List.of(1L, 2L, 2L),
+				flexible.getStays().stream().map(FlexibleStayDTO::getFreeRooms).collect(Collectors.toList()));
+		assertEquals(LocalDate.parse("2021-02-02"), flexible.getCheapest().getTo());
+		assertEquals(200.0, flexible.getCheapest().getTotal());
+	}
+
+	@Test
+	void testGetFlexibleStaysOfAllCategories() {
+
+		doReturn(List.of(new CategoryDTO(1L, "Deluxe", 100.0, 1L), new CategoryDTO(2L, "Standard", 50.0, 1L)))
+				.when(categoryRepository).findAllDTOsByHotelId(1L);
+		doReturn(List.of(1L, 2L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 1L);
+		doReturn(List.of(3L)).when(roomRepository).findIdsByHotelIdAndCategoryId(1L, 2L);
+		doReturn(bookedYearsObj()).when(nightStore).findYearsByRoomIds(List.of(1L, 2L));
+		doReturn(Map.of(3L, List.of())).when(nightStore).findYearsByRoomIds(List.of(3L));
+
+		FlexibleAvailabilityDTO flexible = roomService.getFlexible(1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-06"), 2, null);
+
+		assertEquals(8, flexible.getStays().size());
+		assertEquals(2L, flexible.getCheapest().getCategoryId());
+		assertEquals(LocalDate.parse("2021-02-01"), flexible.getCheapest().getFrom());
+		assertEquals(100.0, flexible.getCheapest().getTotal());
 	}
 
 	@Test
@@ -0,0 +1,40 @@
+package com.myhotel.configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+/**
+ * Executor running the remote lookups of a reservation concurrently. The
+ * security context of the submitting request is carried to the pool threads so
+ * the Feign interceptor still forwards the caller's token. When the queue is
+ * full the lookups run on the request thread instead of being rejected.
+ *
+ * @author Sushil Yadav
+ */
+@Configuration
+public class LookupExecutorConfig {
+
+	@Value("${reservation.lookup.pool-size:16}")
+	private int poolSize;
+
+	@Value("${reservation.lookup.queue-capacity:64}")
+	private int queueCapacity;
+
+	@Bean(name = "lookupExecutor", destroyMethod = "shutdown")
+	public ExecutorService lookupExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("reservation-lookup-"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return new DelegatingSecurityContextExecutorService(executor);
+	}
+
+}
@@ -10,4 +10,6 @@ public class HotelConstants {
 	public static final String OFFER = "Offer";
 	public static final String ROOM = "Room";
 	public static final String RESERVATION = "Reservation";
+
+	public static final int MAX_GROUP_ROOMS = 200;
 }
\ No newline at end of file
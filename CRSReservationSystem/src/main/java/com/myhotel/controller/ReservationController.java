@@ -1,13 +1,24 @@
 package com.myhotel.controller;
 
+import java.time.LocalDate;
+
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.myhotel.dto.GroupReservationDTO;
 import com.myhotel.dto.ReservationDTO;
+import com.myhotel.dto.ReservationPageDTO;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -22,10 +33,89 @@ public interface ReservationController {
 	@ApiOperation(value = "Create new Reservation information.")
 	@ApiResponses(value = { @ApiResponse(code = 201, message = "Reservation information created successfully."),
 			@ApiResponse(code = 401, message = "Authentication failed."),
-			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 400, message = "Inputs not correct, or Idempotency-Key too long"),
+			@ApiResponse(code = 409, message = "No room available for the dates, or request with the same Idempotency-Key in progress"),
+			@ApiResponse(code = 422, message = "Idempotency-Key already used with another request"),
 			@ApiResponse(code = 500, message = "Internal Server Error") })
 	@PreAuthorize("hasAnyRole('USER','ADMIN')")
 	@PostMapping
-	public ResponseEntity<ReservationDTO> add(@RequestBody ReservationDTO reservation);
+	public ResponseEntity<ReservationDTO> add(@RequestBody ReservationDTO reservation,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey);
+
+	@ApiOperation(value = "Cancel a Reservation, releasing its nights.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Reservation cancelled successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 403, message = "Reservation of another guest"),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Reservation not confirmed, or a change of it in progress"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	@DeleteMapping("{reservation_id}")
+	public ResponseEntity<ReservationDTO> cancel(@PathVariable("reservation_id") Long reservationId);
+
+	@ApiOperation(value = "Modify the dates of a Reservation, changing only the nights which differ.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Reservation modified successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 403, message = "Reservation of another guest"),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 409, message = "Reservation not confirmed, or a change of it in progress"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	@PutMapping("{reservation_id}")
+	public ResponseEntity<ReservationDTO> modify(@PathVariable("reservation_id") Long reservationId,
+			@RequestBody ReservationDTO reservation);
+
+	@ApiOperation(value = "Create the Reservations of a group of rooms, all of them or none.")
+	@ApiResponses(value = { @ApiResponse(code = 201, message = "Group Reservation created successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct, or Idempotency-Key too long"),
+			@ApiResponse(code = 409, message = "Not enough rooms available for the dates, or request with the same Idempotency-Key in progress"),
+			@ApiResponse(code = 422, message = "Idempotency-Key already used with another request"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	@PostMapping("groups")
+	public ResponseEntity<GroupReservationDTO> addGroup(@RequestBody GroupReservationDTO group,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey);
+
+	@ApiOperation(value = "Get the Reservations of a group, with the status of the group.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Group Reservation fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasAnyRole('USER','ADMIN')")
+	@GetMapping("groups/{group_id}")
+	public ResponseEntity<GroupReservationDTO> getGroup(@PathVariable("group_id") String groupId);
+
+	@ApiOperation(value = "Get the Reservations of a hotel starting between the dates, one page at a time.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Reservations fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("hotels/{hotel_id}")
+	public ResponseEntity<ReservationPageDTO> getByHotel(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size);
+
+	@ApiOperation(value = "Get the Reservations of a hotel arriving today, one page at a time.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Reservations fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("hotels/{hotel_id}/arrivals")
+	public ResponseEntity<ReservationPageDTO> getArrivals(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size);
+
+	@ApiOperation(value = "Get the Reservations of a guest, one page at a time.")
+	@ApiResponses(value = { @ApiResponse(code = 200, message = "Reservations fetched successfully."),
+			@ApiResponse(code = 401, message = "Authentication failed."),
+			@ApiResponse(code = 400, message = "Inputs not correct"),
+			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("guests/{guest_id}")
+	public ResponseEntity<ReservationPageDTO> getByGuest(@PathVariable("guest_id") Long guestId,
+			@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "50") int size);
 
 }
@@ -5,11 +5,19 @@ import java.time.LocalDate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.myhotel.constants.HotelConstants;
 import com.myhotel.controller.ReservationController;
 import com.myhotel.domain.Reservation;
+import com.myhotel.dto.GroupReservationDTO;
+import com.myhotel.dto.GroupRoomDTO;
 import com.myhotel.dto.ReservationDTO;
+import com.myhotel.dto.ReservationPageDTO;
+import com.myhotel.exception.ReservationNotChangeableException;
+import com.myhotel.exception.RoomNotAvailableException;
+import com.myhotel.idempotency.IdempotencyStore;
 import com.myhotel.service.ReservationService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -26,20 +34,230 @@ public class ReservationControllerImpl implements ReservationController {
 	@Autowired
 	private ReservationService reservationService;
 
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
 	/**
 	 * Creates a Reservation. Use the returned instance for further operations on
-	 * the clients end.
+	 * the clients end. A request sent again with the same Idempotency-Key gets the
+	 * response of the first one, without creating another Reservation.
 	 * 
 	 * @param ReservationDTO , for creating Reservation.
+	 * @param String         idempotencyKey, optional key of the request.
 	 * @return the saved ResponseEntity<ReservationDTO>.
 	 */
 	@Override
-	public ResponseEntity<ReservationDTO> add(ReservationDTO reservation) {
+	public ResponseEntity<ReservationDTO> add(ReservationDTO reservation, String idempotencyKey) {
+		if (idempotencyKey == null || idempotencyKey.isBlank())
+			return create(reservation);
+		if (!idempotencyStore.isValid(idempotencyKey))
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		try {
+			return idempotencyStore.execute(idempotencyKey, reservation, ReservationDTO.class,
+					() -> create(reservation));
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	private ResponseEntity<ReservationDTO> create(ReservationDTO reservation) {
 		try {
 			if (validateDates(reservation.getStartDate(), reservation.getStartDate()))
 				return new ResponseEntity<>(reservationService.create(reservation), HttpStatus.CREATED);
 			else
 				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RoomNotAvailableException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Cancels a Reservation, its nights are released in the hotel service in the
+	 * background.
+	 * 
+	 * @param Long reservationId
+	 * @return the cancelled ResponseEntity<ReservationDTO>.
+	 */
+	@Override
+	public ResponseEntity<ReservationDTO> cancel(Long reservationId) {
+		try {
+			return new ResponseEntity<>(reservationService.cancel(reservationId), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (AccessDeniedException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+		} catch (ReservationNotChangeableException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Modifies the dates of a Reservation. It is pending until the nights which
+	 * differ are changed in the hotel service, and gets its previous dates back
+	 * when the new nights cannot be booked.
+	 * 
+	 * @param Long           reservationId
+	 * @param ReservationDTO , with the new start and end dates.
+	 * @return the modified ResponseEntity<ReservationDTO>.
+	 */
+	@Override
+	public ResponseEntity<ReservationDTO> modify(Long reservationId, ReservationDTO reservation) {
+		try {
+			if (reservation.getStartDate() != null && reservation.getEndDate() != null
+					&& validateDates(reservation.getStartDate(), reservation.getEndDate()))
+				return new ResponseEntity<>(reservationService.modify(reservationId, reservation.getStartDate(),
+						reservation.getEndDate()), HttpStatus.OK);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (AccessDeniedException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+		} catch (ReservationNotChangeableException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Creates the Reservations of a group. They are booked all together or not at
+	 * all, fetch the group to follow its status. A request sent again with the
+	 * same Idempotency-Key gets the response of the first one.
+	 * 
+	 * @param GroupReservationDTO , with the rooms to reserve by category.
+	 * @param String              idempotencyKey, optional key of the request.
+	 * @return the saved ResponseEntity<GroupReservationDTO>.
+	 */
+	@Override
+	public ResponseEntity<GroupReservationDTO> addGroup(GroupReservationDTO group, String idempotencyKey) {
+		if (idempotencyKey == null || idempotencyKey.isBlank())
+			return createGroup(group);
+		if (!idempotencyStore.isValid(idempotencyKey))
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		try {
+			return idempotencyStore.execute(idempotencyKey, group, GroupReservationDTO.class,
+					() -> createGroup(group));
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	private ResponseEntity<GroupReservationDTO> createGroup(GroupReservationDTO group) {
+		try {
+			if (validateGroup(group))
+				return new ResponseEntity<>(reservationService.createGroup(group), HttpStatus.CREATED);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RoomNotAvailableException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Fetch the Reservations of a group.
+	 * 
+	 * @param String groupId
+	 * @return the ResponseEntity<GroupReservationDTO>.
+	 */
+	@Override
+	public ResponseEntity<GroupReservationDTO> getGroup(String groupId) {
+		try {
+			GroupReservationDTO group = reservationService.getGroup(groupId);
+			if (!group.getReservations().isEmpty())
+				return new ResponseEntity<>(group, HttpStatus.OK);
+			log.info("Unable to find group with id : {}", groupId);
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Fetch a page of the Reservations of a hotel starting between the dates
+	 * provided.
+	 * 
+	 * @param Long      hotelId
+	 * @param LocalDate from, LocalDate to, both inclusive.
+	 * @param String    cursor, returned with the previous page.
+	 * @param int       size, of the page.
+	 * @return the ResponseEntity<ReservationPageDTO>.
+	 */
+	@Override
+	public ResponseEntity<ReservationPageDTO> getByHotel(Long hotelId, LocalDate from, LocalDate to, String cursor,
+			int size) {
+		try {
+			if (validateDates(from, to))
+				return new ResponseEntity<>(reservationService.getByHotel(hotelId, from, to, cursor, size),
+						HttpStatus.OK);
+			else
+				return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (IllegalArgumentException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Fetch a page of the Reservations of a hotel arriving today.
+	 * 
+	 * @param Long   hotelId
+	 * @param String cursor, returned with the previous page.
+	 * @param int    size, of the page.
+	 * @return the ResponseEntity<ReservationPageDTO>.
+	 */
+	@Override
+	public ResponseEntity<ReservationPageDTO> getArrivals(Long hotelId, String cursor, int size) {
+		try {
+			return new ResponseEntity<>(reservationService.getArrivals(hotelId, cursor, size), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+		} catch (RuntimeException e) {
+			log.error(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+		}
+	}
+
+	/**
+	 * Fetch a page of the Reservations of a guest.
+	 * 
+	 * @param Long   guestId
+	 * @param String cursor, returned with the previous page.
+	 * @param int    size, of the page.
+	 * @return the ResponseEntity<ReservationPageDTO>.
+	 */
+	@Override
+	public ResponseEntity<ReservationPageDTO> getByGuest(Long guestId, String cursor, int size) {
+		try {
+			return new ResponseEntity<>(reservationService.getByGuest(guestId, cursor, size), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			log.info(e.getMessage());
+			return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 		} catch (RuntimeException e) {
 			log.error(e.getMessage());
 			return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -76,4 +294,32 @@ public class ReservationControllerImpl implements ReservationController {
 		}
 		return true;
 	}
+
+	/**
+	 * Validate if a group has dates in order and between 1 and the maximum number
+	 * of rooms, each of a category.
+	 * 
+	 * @param GroupReservationDTO group.
+	 * @return boolean.
+	 */
+	private boolean validateGroup(GroupReservationDTO group) {
+		if (group.getHotelId() == null || group.getStartDate() == null || group.getEndDate() == null
+				|| !validateDates(group.getStartDate(), group.getEndDate()))
+			return false;
+
+		int count = 0;
+		if (group.getRooms() != null)
+			for (GroupRoomDTO room : group.getRooms()) {
+				if (room.getCategoryId() == null || room.getCount() < 1) {
+					log.error("Every group room should have a category and at least one room");
+					return false;
+				}
+				count += room.getCount();
+			}
+		if (count < 1 || count > HotelConstants.MAX_GROUP_ROOMS) {
+			log.error("Between 1 and {} rooms should be reserved in a group", HotelConstants.MAX_GROUP_ROOMS);
+			return false;
+		}
+		return true;
+	}
 }
@@ -0,0 +1,49 @@
+package com.myhotel.domain;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * First response of a request sent with an Idempotency-Key, only written when
+ * idempotent requests are configured to persist.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotent_requests", indexes = {
+		@Index(name = "idx_idempotent_request_created", columnList = "createdAt") })
+public class IdempotentRequest {
+
+	public static final int ID_LENGTH = 255;
+
+	@Id
+	@Column(length = ID_LENGTH)
+	private String id;
+
+	@Column(length = 32)
+	private String fingerprint;
+
+	private Integer status;
+
+	@Lob
+	private String body;
+
+	private Instant createdAt;
+}
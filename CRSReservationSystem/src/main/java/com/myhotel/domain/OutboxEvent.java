@@ -0,0 +1,100 @@
+package com.myhotel.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A change of a Reservation waiting to be delivered to the hotel service. It
+ * is saved in the transaction of the change and deleted once delivered, the
+ * events of a room are delivered in id order.
+ *
+ * @author Sushil Yadav
+ */
+@Entity
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "booking_outbox", indexes = {
+		@Index(name = "idx_booking_outbox_failed_room", columnList = "failed, roomId, id"),
+		@Index(name = "idx_booking_outbox_group", columnList = "groupId") })
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	private OutboxEventType type;
+
+	private Long reservationId;
+
+	// The bookings of a group are delivered together, in a single booking call
+	private String groupId;
+
+	private Long hotelId;
+
+	private Long roomId;
+
+	private Long categoryId;
+
+	private LocalDate startDate;
+
+	private LocalDate endDate;
+
+	// Stay and charges before a modification, restored when it is refused
+	private LocalDate previousStartDate;
+
+	private LocalDate previousEndDate;
+
+	private Double previousCharges;
+
+	private int attempts;
+
+	private Instant nextAttemptAt;
+
+	// Set when the event can never be delivered, it is kept for inspection
+	private boolean failed;
+
+	public static OutboxEvent book(Reservation reservation) {
+		return OutboxEvent.builder().type(OutboxEventType.BOOK).reservationId(reservation.getId())
+				.groupId(reservation.getGroupId()).hotelId(reservation.getHotelId()).roomId(reservation.getRoomId())
+				.categoryId(reservation.getCategoryId()).startDate(reservation.getStartDate())
+				.endDate(reservation.getEndDate()).nextAttemptAt(Instant.now()).build();
+	}
+
+	public static OutboxEvent cancel(Reservation reservation) {
+		OutboxEvent event = book(reservation);
+		event.setType(OutboxEventType.CANCEL);
+		event.setGroupId(null);
+		return event;
+	}
+
+	public static OutboxEvent modify(Reservation reservation, LocalDate previousStartDate,
+			LocalDate previousEndDate, Double previousCharges) {
+		OutboxEvent event = book(reservation);
+		event.setType(OutboxEventType.MODIFY);
+		event.setGroupId(null);
+		event.setPreviousStartDate(previousStartDate);
+		event.setPreviousEndDate(previousEndDate);
+		event.setPreviousCharges(previousCharges);
+		return event;
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.myhotel.domain;
+
+/**
+ * Change of a Reservation to carry to the hotel service.
+ *
+ * @author Sushil Yadav
+ */
+public enum OutboxEventType {
+
+	// Book the nights of the reservation on its room
+	BOOK,
+
+	// Release the nights of the cancelled reservation
+	CANCEL,
+
+	// Release and book the nights which differ between the previous and the new stay
+	MODIFY
+
+}
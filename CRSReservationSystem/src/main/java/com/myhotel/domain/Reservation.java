@@ -3,9 +3,12 @@ package com.myhotel.domain;
 import java.time.LocalDate;
 
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 import lombok.AllArgsConstructor;
@@ -20,7 +23,10 @@ import lombok.Setter;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Reservation")
+@Table(name = "Reservation", indexes = {
+		@Index(name = "idx_reservation_hotel_start", columnList = "hotelId, startDate"),
+		@Index(name = "idx_reservation_guest_start", columnList = "guestId, startDate"),
+		@Index(name = "idx_reservation_group", columnList = "groupId") })
 public class Reservation {
 
 	@Id
@@ -42,4 +48,10 @@ public class Reservation {
 	private LocalDate endDate;
 
 	private Double charges;
+
+	@Enumerated(EnumType.STRING)
+	private ReservationStatus status;
+
+	// Set on the reservations of a group, booked all together or not at all
+	private String groupId;
 }
@@ -0,0 +1,23 @@
+package com.myhotel.domain;
+
+/**
+ * State of the room booking of a Reservation, which the booking relay carries
+ * to the hotel service after the Reservation is saved.
+ *
+ * @author Sushil Yadav
+ */
+public enum ReservationStatus {
+
+	// Saved or modified, the room is not booked in the hotel service yet
+	PENDING,
+
+	// Room booked in the hotel service
+	CONFIRMED,
+
+	// No room of the category could be booked for the dates
+	REJECTED,
+
+	// Cancelled, its nights are released in the hotel service
+	CANCELLED
+
+}
@@ -0,0 +1,41 @@
+package com.myhotel.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.myhotel.domain.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupReservationDTO {
+
+	private String groupId;
+
+	private Long hotelId;
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate startDate;
+
+	@JsonFormat(pattern = "yyyy-MM-dd")
+	private LocalDate endDate;
+
+	private List<GroupRoomDTO> rooms;
+
+	// Confirmed once every room is booked, rejected when any of them cannot be
+	private ReservationStatus status;
+
+	private Double charges;
+
+	private List<ReservationDTO> reservations;
+
+}
@@ -0,0 +1,23 @@
+package com.myhotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupRoomDTO {
+
+	private Long categoryId;
+
+	private Long offerId;
+
+	// Rooms of the category to reserve
+	private int count;
+
+}
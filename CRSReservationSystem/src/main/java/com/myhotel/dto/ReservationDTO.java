@@ -3,6 +3,7 @@ package com.myhotel.dto;
 import java.time.LocalDate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.myhotel.domain.ReservationStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -36,4 +37,6 @@ public class ReservationDTO {
 	@JsonFormat(pattern = "yyyy-MM-dd")
 	private LocalDate endDate;
 
+	private ReservationStatus status;
+
 }
@@ -0,0 +1,23 @@
+package com.myhotel.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationPageDTO {
+
+	private List<ReservationDTO> reservations;
+
+	// Cursor of the next page, null on the last page
+	private String next;
+
+}
@@ -0,0 +1,20 @@
+package com.myhotel.exception;
+
+import com.myhotel.domain.ReservationStatus;
+
+/**
+ * Thrown when a Reservation is cancelled or modified while its room booking is
+ * not confirmed, or while a previous change is still being carried to the
+ * hotel service.
+ *
+ * @author Sushil Yadav
+ */
+public class ReservationNotChangeableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReservationNotChangeableException(Long reservationId, ReservationStatus status) {
+		super("Reservation with id: " + reservationId + " cannot be changed while " + status);
+	}
+
+}
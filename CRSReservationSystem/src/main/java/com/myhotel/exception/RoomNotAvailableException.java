@@ -0,0 +1,20 @@
+package com.myhotel.exception;
+
+import java.time.LocalDate;
+
+/**
+ * Thrown when no room of the requested category could be booked for the dates
+ * of a reservation.
+ *
+ * @author Sushil Yadav
+ */
+public class RoomNotAvailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RoomNotAvailableException(Long hotelId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+		super("No room of category: " + categoryId + " in hotel: " + hotelId + " available from " + startDate
+				+ " to " + endDate);
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.myhotel.feign.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingChangeDTO {
+
+	private Long hotelId;
+
+	private Long roomId;
+
+	private List<LocalDate> release;
+
+	private List<LocalDate> book;
+
+	private Long reservationId;
+
+}
@@ -22,5 +22,11 @@ public class RoomDTO {
 
 	private List<LocalDate> bookedDates;
 
+	// Booked nights as [start, end) epoch-day ranges, sent when dates=ranges
+	private List<long[]> bookedRanges;
+
 	private Long hotelId;
+
+	// Reservation the nights are booked for, the hotel service accepts a booking of it sent again
+	private Long reservationId;
 }
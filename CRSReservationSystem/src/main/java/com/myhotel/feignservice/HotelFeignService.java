@@ -6,10 +6,12 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.myhotel.feign.dto.BookingChangeDTO;
+import com.myhotel.feign.dto.BookingQuoteDTO;
 import com.myhotel.feign.dto.CategoryDTO;
 import com.myhotel.feign.dto.HotelDTO;
 import com.myhotel.feign.dto.OfferDTO;
@@ -21,17 +23,29 @@ public interface HotelFeignService {
 	@GetMapping("/hotels")
 	HotelDTO getAllHotels();
 
-	@PutMapping(value = "/hotels/{hotel_id}/rooms/{room_id}")
-	public ResponseEntity<RoomDTO> updateBooking(@PathVariable("hotel_id") Long hotelId,
-			@PathVariable("room_id") Long roomId, @RequestBody RoomDTO roomUpdateRequestDTO);
+	@PostMapping(value = "/hotels/{hotel_id}/rooms/{room_id}/bookings")
+	public ResponseEntity<RoomDTO> bookRoom(@PathVariable("hotel_id") Long hotelId,
+			@PathVariable("room_id") Long roomId, @RequestBody RoomDTO roomBookingRequestDTO);
 
+	// Books all the rooms or none of them
+	@PostMapping(value = "/hotels/{hotel_id}/rooms/bookings")
+	public ResponseEntity<List<RoomDTO>> bookRooms(@PathVariable("hotel_id") Long hotelId,
+			@RequestBody List<RoomDTO> roomBookingRequestDTOs);
+
+	// Releases and books only the nights which change
+	@PostMapping(value = "/hotels/{hotel_id}/rooms/{room_id}/bookings/changes")
+	public ResponseEntity<RoomDTO> changeRoom(@PathVariable("hotel_id") Long hotelId,
+			@PathVariable("room_id") Long roomId, @RequestBody BookingChangeDTO bookingChangeDTO);
+
+	// dates is one of full, ranges or none, ranges and none keep the payload small
 	@GetMapping(value = "/hotels/{hotel_id}/rooms")
-	public ResponseEntity<List<RoomDTO>> getAllRooms(@PathVariable("hotel_id") Long hotelId);
+	public ResponseEntity<List<RoomDTO>> getAllRooms(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam String dates);
 
 	@GetMapping(value = "/hotels/{hotel_id}/rooms/availability")
 	public ResponseEntity<List<RoomDTO>> getAvailableRooms(
 			@PathVariable(required = true, name = "hotel_id") Long hotelId, @RequestParam String from,
-			@RequestParam String to, @RequestParam Long categoryId);
+			@RequestParam String to, @RequestParam Long categoryId, @RequestParam String dates);
 
 	@GetMapping(value = "/hotels/{hotel_id}/offers/{offer_id}")
 	public ResponseEntity<OfferDTO> getOffer(@PathVariable("hotel_id") Long hotelId,
@@ -40,4 +54,9 @@ public interface HotelFeignService {
 	@GetMapping(value = "/hotels/{hotel_id}/categories/{category_id}")
 	public ResponseEntity<CategoryDTO> getCategory(@PathVariable("hotel_id") Long hotelId,
 			@PathVariable("category_id") Long categoryId);
+
+	@GetMapping(value = "/hotels/{hotel_id}/quote")
+	public ResponseEntity<BookingQuoteDTO> getBookingQuote(@PathVariable("hotel_id") Long hotelId,
+			@RequestParam("category_id") Long categoryId, @RequestParam(name = "offer_id", required = false) Long offerId,
+			@RequestParam String from, @RequestParam String to);
 }
@@ -0,0 +1,226 @@
+package com.myhotel.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myhotel.domain.IdempotentRequest;
+import com.myhotel.repository.IdempotentRequestRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Responses of the requests sent with an Idempotency-Key. The first request of
+ * a key runs, and every request with the same key gets its response back until
+ * the key expires, without running again. Duplicates arriving while the first
+ * request still runs wait for it and share its response.
+ *
+ * Keys are scoped to the caller and kept in a bounded cache evicting them after
+ * their time to live. Server errors are not kept, so the request can be
+ * retried. When configured to persist, responses are also written to the
+ * database and read back on a cache miss, so a retry reaching the service after
+ * a restart is still answered with the first response.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private IdempotentRequestRepository idempotentRequestRepository;
+	private ObjectMapper objectMapper;
+	private final Duration ttl;
+	private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+	@Getter
+	@Setter
+	@Value("${reservation.idempotency.persist:false}")
+	private boolean persist;
+
+	@Getter
+	@Setter
+	@Value("${reservation.idempotency.wait-millis:10000}")
+	private long waitMillis = 10000;
+
+	public IdempotencyStore(IdempotentRequestRepository idempotentRequestRepository, ObjectMapper objectMapper,
+			@Value("${reservation.idempotency.max-keys:100000}") long maxKeys,
+			@Value("${reservation.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+		this.idempotentRequestRepository = idempotentRequestRepository;
+		this.objectMapper = objectMapper;
+		this.ttl = Duration.ofMinutes(ttlMinutes);
+		this.responses = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterWrite(ttl).build();
+	}
+
+	/**
+	 * Tells whether the key provided can be kept, once scoped to the caller.
+	 *
+	 * @param String key, the Idempotency-Key of the request.
+	 * @return true when the key is not too long.
+	 */
+	public boolean isValid(String key) {
+		return scope(key).length() <= IdempotentRequest.ID_LENGTH;
+	}
+
+	/**
+	 * Runs the action once for the key provided. A request with the same key but
+	 * a different body is refused, and a duplicate still waiting when the first
+	 * request has not finished in time is answered with a conflict.
+	 *
+	 * @param String      key, the Idempotency-Key of the request.
+	 * @param Object      request, the body of the request.
+	 * @param Class<T>    type, of the response body.
+	 * @param Supplier<ResponseEntity<T>> action, running the request.
+	 * @return the ResponseEntity<T> of the first request with the key.
+	 */
+	public <T> ResponseEntity<T> execute(String key, Object request, Class<T> type,
+			Supplier<ResponseEntity<T>> action) {
+		String scopedKey = scope(key);
+		String fingerprint = fingerprint(request);
+
+		CompletableFuture<StoredResponse> created = new CompletableFuture<>();
+		CompletableFuture<StoredResponse> running = responses.asMap().putIfAbsent(scopedKey, created);
+		if (running == null)
+			return run(scopedKey, fingerprint, type, action, created);
+		return replay(await(running), fingerprint, type);
+	}
+
+	private <T> ResponseEntity<T> run(String key, String fingerprint, Class<T> type,
+			Supplier<ResponseEntity<T>> action, CompletableFuture<StoredResponse> created) {
+		ResponseEntity<T> response;
+		StoredResponse stored;
+		try {
+			StoredResponse persisted = persist ? load(key, type) : null;
+			if (persisted != null) {
+				created.complete(persisted);
+				return replay(persisted, fingerprint, type);
+			}
+
+			response = action.get();
+			stored = new StoredResponse(fingerprint, response.getStatusCodeValue(), response.getBody());
+			created.complete(stored);
+		} catch (RuntimeException e) {
+			responses.asMap().remove(key, created);
+			created.completeExceptionally(e);
+			throw e;
+		}
+
+		// The request has run by now, storing its response must not turn it into an error
+		if (response.getStatusCode().is5xxServerError())
+			responses.asMap().remove(key, created);
+		else if (persist)
+			save(key, stored);
+		return response;
+	}
+
+	private StoredResponse await(CompletableFuture<StoredResponse> running) {
+		try {
+			return running.get(waitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> type) {
+		if (stored == null) {
+			log.info("Request with the same Idempotency-Key still in progress");
+			return new ResponseEntity<>(HttpStatus.CONFLICT);
+		}
+		if (!stored.getFingerprint().equals(fingerprint)) {
+			log.info("Idempotency-Key reused with a different request");
+			return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+		}
+		return ResponseEntity.status(stored.getStatus()).header(REPLAYED_HEADER, "true")
+				.body(type.cast(stored.getBody()));
+	}
+
+	private <T> StoredResponse load(String key, Class<T> type) {
+		IdempotentRequest request = idempotentRequestRepository.findById(key).orElse(null);
+		if (request == null || request.getCreatedAt().isBefore(Instant.now().minus(ttl)))
+			return null;
+		try {
+			return new StoredResponse(request.getFingerprint(), request.getStatus(),
+					request.getBody() != null ? objectMapper.readValue(request.getBody(), type) : null);
+		} catch (JsonProcessingException e) {
+			log.error("Unable to read the stored response of an Idempotency-Key");
+			return null;
+		}
+	}
+
+	private void save(String key, StoredResponse stored) {
+		try {
+			idempotentRequestRepository.save(IdempotentRequest.builder().id(key).fingerprint(stored.getFingerprint())
+					.status(stored.getStatus())
+					.body(stored.getBody() != null ? objectMapper.writeValueAsString(stored.getBody()) : null)
+					.createdAt(Instant.now()).build());
+		} catch (JsonProcessingException | RuntimeException e) {
+			log.error("Unable to store the response of an Idempotency-Key: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Drops the persisted responses older than the time to live.
+	 */
+	@Scheduled(fixedDelayString = "${reservation.idempotency.purge-millis:3600000}")
+	public void purge() {
+		if (persist) {
+			int purged = idempotentRequestRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+			if (purged > 0)
+				log.info("Dropped {} expired idempotent requests", purged);
+		}
+	}
+
+	// Keys are only unique to the client which generated them
+	private String scope(String key) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return (authentication != null ? authentication.getName() : "") + ":" + key;
+	}
+
+	private String fingerprint(Object request) {
+		try {
+			return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Unable to read the request", e);
+		}
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class StoredResponse {
+
+		private final String fingerprint;
+
+		private final int status;
+
+		private final Object body;
+	}
+
+}
@@ -0,0 +1,378 @@
+package com.myhotel.outbox;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.myhotel.domain.OutboxEvent;
+import com.myhotel.domain.OutboxEventType;
+import com.myhotel.domain.Reservation;
+import com.myhotel.domain.ReservationStatus;
+import com.myhotel.feign.dto.BookingChangeDTO;
+import com.myhotel.feign.dto.BookingQuoteDTO;
+import com.myhotel.feign.dto.RoomDTO;
+import com.myhotel.feignservice.HotelFeignService;
+import com.myhotel.repository.OutboxEventRepository;
+import com.myhotel.repository.ReservationRepository;
+import com.myhotel.security.util.JwtUtil;
+
+import feign.FeignException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background relay delivering the booking events of the outbox to the hotel
+ * service. Every pass reads a batch of the due events, the first pending one
+ * of each room, so the events of a room are delivered in the order they were
+ * saved while other rooms go ahead. A delivered event is deleted and its
+ * Reservation confirmed in one transaction.
+ *
+ * Events are claimed before they are sent, their next attempt moved past a
+ * lease, so relays of several instances never send the same event together.
+ * An event whose outcome is lost, to a timeout or a crash, is sent again once
+ * its lease ends. Bookings and changes carry the reservation id, and the hotel
+ * service treats nights already booked for it as booked, so a repeated event is
+ * confirmed instead of being moved to another room.
+ *
+ * The events of a group are delivered together, all the rooms of the group
+ * being booked in a single call which books all of them or none. A group is
+ * held back until every one of its events is due and first of its room, so it
+ * never overtakes an earlier event of any of its rooms.
+ *
+ * When a room has been booked meanwhile, the reservation, or every reservation
+ * of the group, is moved to the next free rooms of a fresh quote, or rejected
+ * when not enough rooms are left. Failures of the hotel service are retried
+ * with an exponential backoff, holding back the later events of the room.
+ *
+ * Cancellations and modifications release and book only the nights which
+ * change, in a single call. A modification whose new nights are booked
+ * meanwhile is refused and the reservation keeps its previous stay.
+ *
+ * @author Sushil Yadav
+ */
+@Component
+@Slf4j
+public class BookingRelay {
+
+	private static final String BEARER = "Bearer ";
+
+	private OutboxEventRepository outboxEventRepository;
+	private ReservationRepository reservationRepository;
+	private HotelFeignService hotelFeignService;
+	private JwtUtil jwtUtil;
+	private TransactionTemplate transactionTemplate;
+
+	@Getter
+	@Setter
+	@Value("${reservation.outbox.enabled:true}")
+	private boolean enabled = true;
+
+	@Getter
+	@Setter
+	@Value("${reservation.outbox.batch-size:100}")
+	private int batchSize = 100;
+
+	@Getter
+	@Setter
+	@Value("${reservation.outbox.lease-millis:120000}")
+	private long leaseMillis = 120000;
+
+	@Getter
+	@Setter
+	@Value("${reservation.outbox.retry-base-millis:1000}")
+	private long retryBaseMillis = 1000;
+
+	@Getter
+	@Setter
+	@Value("${reservation.outbox.retry-max-millis:300000}")
+	private long retryMaxMillis = 300000;
+
+	public BookingRelay(OutboxEventRepository outboxEventRepository, ReservationRepository reservationRepository,
+			HotelFeignService hotelFeignService, JwtUtil jwtUtil, PlatformTransactionManager transactionManager) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.reservationRepository = reservationRepository;
+		this.hotelFeignService = hotelFeignService;
+		this.jwtUtil = jwtUtil;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(fixedDelayString = "${reservation.outbox.relay-millis:500}")
+	public void run() {
+		if (!enabled)
+			return;
+
+		// Calls to the hotel service carry a token of the service itself
+		UserDetails service = User.withUsername("reservation-service").password("").roles("ADMIN").build();
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				service.getUsername(), BEARER + jwtUtil.generateToken(service), service.getAuthorities()));
+		try {
+			// A pass which held back any event ends the run, its page would be read again at once
+			int relayed;
+			do {
+				relayed = relay();
+			} while (relayed == batchSize);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	/**
+	 * Delivers a batch of the due events. The events of a group are all delivered
+	 * with the first of them, once all of them can be delivered.
+	 *
+	 * @return the number of events read and handed to the hotel service, the
+	 *         events held back are not counted.
+	 */
+	public int relay() {
+		Instant now = Instant.now();
+		List<OutboxEvent> events = outboxEventRepository.findDue(now, PageRequest.of(0, batchSize));
+		Set<String> groups = new HashSet<>();
+		int relayed = 0;
+		for (OutboxEvent event : events) {
+			if (event.getType() != OutboxEventType.BOOK) {
+				if (!claim(List.of(event), now))
+					continue;
+				deliverChange(event);
+			} else if (event.getGroupId() == null) {
+				if (!claim(List.of(event), now))
+					continue;
+				deliver(List.of(event));
+			} else if (!groups.add(event.getGroupId()) || !deliverGroup(event, now))
+				continue;
+			relayed++;
+		}
+		return relayed;
+	}
+
+	// Skipped until the lowest event of the group is read and none of its events waits
+	private boolean deliverGroup(OutboxEvent event, Instant now) {
+		List<OutboxEvent> events = outboxEventRepository.findAllByGroupIdAndFailedFalseOrderById(event.getGroupId());
+		if (events.isEmpty() || !events.get(0).getId().equals(event.getId())
+				|| outboxEventRepository.countWaitingInGroup(event.getGroupId(), now) > 0 || !claim(events, now))
+			return false;
+		deliver(events);
+		return true;
+	}
+
+	// False when any of the events was claimed by another relay meanwhile
+	private boolean claim(List<OutboxEvent> events, Instant now) {
+		List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+		if (outboxEventRepository.claim(ids, now, now.plusMillis(leaseMillis)) == ids.size())
+			return true;
+		log.info("Events {} claimed by another relay, skipped", ids);
+		return false;
+	}
+
+	// The events are of a single reservation, or of all the reservations of a group
+	private void deliver(List<OutboxEvent> events) {
+		OutboxEvent first = events.get(0);
+		try {
+			book(events);
+			transactionTemplate.executeWithoutResult(status -> events.forEach(event -> {
+				updateReservation(event, ReservationStatus.CONFIRMED, event.getRoomId());
+				outboxEventRepository.delete(event);
+			}));
+		} catch (FeignException.Conflict e) {
+			log.info("Rooms booked meanwhile, moving reservation with id: {} of group: {}", first.getReservationId(),
+					first.getGroupId());
+			try {
+				Map<Long, List<Long>> quotedRooms = quoteRooms(events);
+				transactionTemplate.executeWithoutResult(status -> reassign(events, quotedRooms));
+			} catch (RuntimeException quoteError) {
+				retryLater(events, quoteError);
+			}
+		} catch (FeignException e) {
+			if (e.status() >= 400 && e.status() < 500 && e.status() != 401 && e.status() != 403) {
+				log.error("Booking of reservation with id: {} refused: {}", first.getReservationId(), e.status());
+				transactionTemplate.executeWithoutResult(status -> reject(events));
+			} else {
+				retryLater(events, e);
+			}
+		} catch (RuntimeException e) {
+			retryLater(events, e);
+		}
+	}
+
+	// Cancellations and modifications send only the nights which change
+	private void deliverChange(OutboxEvent event) {
+		try {
+			hotelFeignService.changeRoom(event.getHotelId(), event.getRoomId(), changeDTO(event));
+			transactionTemplate.executeWithoutResult(status -> {
+				if (event.getType() == OutboxEventType.MODIFY)
+					updateReservation(event, ReservationStatus.CONFIRMED, event.getRoomId());
+				outboxEventRepository.delete(event);
+			});
+		} catch (FeignException e) {
+			if (e.status() >= 400 && e.status() < 500 && e.status() != 401 && e.status() != 403) {
+				log.error("{} of reservation with id: {} refused: {}", event.getType(), event.getReservationId(),
+						e.status());
+				transactionTemplate.executeWithoutResult(status -> restore(event));
+			} else {
+				retryLater(List.of(event), e);
+			}
+		} catch (RuntimeException e) {
+			retryLater(List.of(event), e);
+		}
+	}
+
+	// A refused modification leaves the reservation on its previous stay, still booked
+	private void restore(OutboxEvent event) {
+		if (event.getType() == OutboxEventType.MODIFY)
+			reservationRepository.findById(event.getReservationId()).ifPresent(reservation -> {
+				reservation.setStartDate(event.getPreviousStartDate());
+				reservation.setEndDate(event.getPreviousEndDate());
+				reservation.setCharges(event.getPreviousCharges());
+				reservation.setStatus(ReservationStatus.CONFIRMED);
+				reservationRepository.save(reservation);
+			});
+		event.setFailed(true);
+		outboxEventRepository.save(event);
+	}
+
+	// A group is booked in one call, all of its rooms or none of them
+	private void book(List<OutboxEvent> events) {
+		OutboxEvent first = events.get(0);
+		if (first.getGroupId() == null) {
+			hotelFeignService.bookRoom(first.getHotelId(), first.getRoomId(), roomDTO(first));
+			return;
+		}
+		List<RoomDTO> rooms = new ArrayList<>();
+		events.forEach(event -> rooms.add(roomDTO(event)));
+		hotelFeignService.bookRooms(first.getHotelId(), rooms);
+	}
+
+	// Rooms of a fresh quote of every category, asked before any transaction starts
+	private Map<Long, List<Long>> quoteRooms(List<OutboxEvent> events) {
+		Map<Long, List<Long>> quotedRooms = new LinkedHashMap<>();
+		events.forEach(event -> {
+			if (!quotedRooms.containsKey(event.getCategoryId()))
+				quotedRooms.put(event.getCategoryId(), quote(event));
+		});
+		return quotedRooms;
+	}
+
+	private List<Long> quote(OutboxEvent event) {
+		Optional<Reservation> reservation = reservationRepository.findById(event.getReservationId());
+		BookingQuoteDTO quote = reservation.isPresent() ? hotelFeignService.getBookingQuote(event.getHotelId(),
+				event.getCategoryId(), reservation.get().getOfferId(), event.getStartDate().toString(),
+				event.getEndDate().toString()).getBody() : null;
+		return quote != null && quote.getRoomIds() != null ? quote.getRoomIds() : List.of();
+	}
+
+	// Next free rooms of the quote of every category, skipping the rooms other events are booking
+	private void reassign(List<OutboxEvent> events, Map<Long, List<Long>> quotedRooms) {
+		OutboxEvent first = events.get(0);
+		Map<Long, List<OutboxEvent>> eventsByCategory = new LinkedHashMap<>();
+		events.forEach(event -> eventsByCategory.computeIfAbsent(event.getCategoryId(), id -> new ArrayList<>())
+				.add(event));
+
+		Map<OutboxEvent, Long> roomIds = new HashMap<>();
+		for (List<OutboxEvent> categoryEvents : eventsByCategory.values()) {
+			OutboxEvent categoryEvent = categoryEvents.get(0);
+			Iterator<Long> freeRooms = freeRooms(categoryEvent, quotedRooms.get(categoryEvent.getCategoryId()))
+					.iterator();
+			for (OutboxEvent event : categoryEvents) {
+				if (!freeRooms.hasNext()) {
+					reject(events);
+					return;
+				}
+				roomIds.put(event, freeRooms.next());
+			}
+		}
+
+		log.info("Reservation with id: {} of group: {} moved to rooms {}", first.getReservationId(),
+				first.getGroupId(), roomIds.values());
+		events.forEach(event -> {
+			event.setRoomId(roomIds.get(event));
+			event.setNextAttemptAt(Instant.now());
+			outboxEventRepository.save(event);
+			updateReservation(event, ReservationStatus.PENDING, event.getRoomId());
+		});
+	}
+
+	private List<Long> freeRooms(OutboxEvent event, List<Long> roomIds) {
+		if (roomIds.isEmpty())
+			return roomIds;
+		List<Long> claimed = event.getGroupId() == null
+				? outboxEventRepository.findClaimedRoomIds(roomIds, event.getStartDate(), event.getEndDate())
+				: outboxEventRepository.findClaimedRoomIdsOutsideGroup(roomIds, event.getStartDate(),
+						event.getEndDate(), event.getGroupId());
+		return roomIds.stream().filter(id -> !claimed.contains(id)).collect(Collectors.toList());
+	}
+
+	private void reject(List<OutboxEvent> events) {
+		log.info("No room available for reservation with id: {} of group: {}", events.get(0).getReservationId(),
+				events.get(0).getGroupId());
+		events.forEach(event -> {
+			updateReservation(event, ReservationStatus.REJECTED, event.getRoomId());
+			event.setFailed(true);
+			outboxEventRepository.save(event);
+		});
+	}
+
+	private void retryLater(List<OutboxEvent> events, RuntimeException e) {
+		int attempts = events.get(0).getAttempts() + 1;
+		long backoff = Math.min(retryBaseMillis << Math.min(attempts - 1, 30), retryMaxMillis);
+		log.warn("Booking of reservation with id: {} failed, attempt {} retried in {} ms: {}",
+				events.get(0).getReservationId(), attempts, backoff, e.getMessage());
+
+		events.forEach(event -> {
+			event.setAttempts(attempts);
+			event.setNextAttemptAt(Instant.now().plusMillis(backoff));
+			outboxEventRepository.save(event);
+		});
+	}
+
+	private void updateReservation(OutboxEvent event, ReservationStatus status, Long roomId) {
+		reservationRepository.findById(event.getReservationId()).ifPresent(reservation -> {
+			reservation.setStatus(status);
+			reservation.setRoomId(roomId);
+			reservationRepository.save(reservation);
+		});
+	}
+
+	private BookingChangeDTO changeDTO(OutboxEvent event) {
+		List<LocalDate> nights = nights(event.getStartDate(), event.getEndDate());
+		if (event.getType() == OutboxEventType.CANCEL)
+			return BookingChangeDTO.builder().release(nights).book(List.of()).reservationId(event.getReservationId())
+					.build();
+
+		List<LocalDate> previousNights = nights(event.getPreviousStartDate(), event.getPreviousEndDate());
+		return BookingChangeDTO.builder()
+				.release(previousNights.stream().filter(night -> !nights.contains(night)).collect(Collectors.toList()))
+				.book(nights.stream().filter(night -> !previousNights.contains(night)).collect(Collectors.toList()))
+				.reservationId(event.getReservationId()).build();
+	}
+
+	private List<LocalDate> nights(LocalDate startDate, LocalDate endDate) {
+		return startDate.datesUntil(endDate.plusDays(1)).collect(Collectors.toList());
+	}
+
+	private RoomDTO roomDTO(OutboxEvent event) {
+		return RoomDTO.builder().id(event.getRoomId()).categoryId(event.getCategoryId())
+				.bookedDates(nights(event.getStartDate(), event.getEndDate())).reservationId(event.getReservationId())
+				.build();
+	}
+
+}
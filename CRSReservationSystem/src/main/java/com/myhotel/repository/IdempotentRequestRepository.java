@@ -0,0 +1,22 @@
+package com.myhotel.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.myhotel.domain.IdempotentRequest;
+
+@Repository
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+
+	@Modifying
+	@Transactional
+	@Query("delete from IdempotentRequest r where r.createdAt < :before")
+	int deleteCreatedBefore(@Param("before") Instant before);
+
+}
@@ -0,0 +1,80 @@
+package com.myhotel.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.myhotel.domain.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Get the first pending event of every room which is due, so the events of a
+	 * room are delivered one after the other in id order. Answered from the
+	 * (failed, room_id, id) index. A group is read once, as its lowest event, and
+	 * only when none of its events waits, so a group held back never fills a page.
+	 */
+	@Query("select e from OutboxEvent e where e.failed = false and e.nextAttemptAt <= :now and e.id = "
+			+ "(select min(p.id) from OutboxEvent p where p.failed = false and p.roomId = e.roomId) "
+			+ "and (e.groupId is null or (e.id = (select min(g.id) from OutboxEvent g where g.failed = false "
+			+ "and g.groupId = e.groupId) and not exists (select w.id from OutboxEvent w where w.groupId = e.groupId "
+			+ "and w.failed = false and (w.nextAttemptAt > :now or exists (select p.id from OutboxEvent p "
+			+ "where p.failed = false and p.roomId = w.roomId and p.id < w.id))))) order by e.id")
+	List<OutboxEvent> findDue(@Param("now") Instant now, Pageable page);
+
+	/**
+	 * Get the rooms of the ones provided with a pending booking or modification
+	 * overlapping the dates, which the hotel service does not know about yet.
+	 */
+	@Query("select distinct e.roomId from OutboxEvent e where e.failed = false and e.roomId in :roomIds "
+			+ "and e.startDate <= :endDate and e.endDate >= :startDate "
+			+ "and e.type <> com.myhotel.domain.OutboxEventType.CANCEL")
+	List<Long> findClaimedRoomIds(@Param("roomIds") Collection<Long> roomIds, @Param("startDate") LocalDate startDate,
+			@Param("endDate") LocalDate endDate);
+
+	/**
+	 * Get the rooms of the ones provided with a pending booking overlapping the
+	 * dates, leaving out the bookings of the group provided.
+	 */
+	@Query("select distinct e.roomId from OutboxEvent e where e.failed = false and e.roomId in :roomIds "
+			+ "and e.startDate <= :endDate and e.endDate >= :startDate "
+			+ "and e.type <> com.myhotel.domain.OutboxEventType.CANCEL and (e.groupId is null or e.groupId <> :groupId)")
+	List<Long> findClaimedRoomIdsOutsideGroup(@Param("roomIds") Collection<Long> roomIds,
+			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+			@Param("groupId") String groupId);
+
+	List<OutboxEvent> findAllByGroupIdAndFailedFalseOrderById(String groupId);
+
+	/**
+	 * Count the pending events of the group which are not due yet, or which wait
+	 * for an earlier event of their room.
+	 */
+	@Query("select count(e) from OutboxEvent e where e.groupId = :groupId and e.failed = false "
+			+ "and (e.nextAttemptAt > :now or exists (select p.id from OutboxEvent p where p.failed = false "
+			+ "and p.roomId = e.roomId and p.id < e.id))")
+	long countWaitingInGroup(@Param("groupId") String groupId, @Param("now") Instant now);
+
+	boolean existsByReservationIdAndFailedFalse(Long reservationId);
+
+	/**
+	 * Claim the events provided until the lease ends by moving their next attempt
+	 * past it. Only events still due are claimed, so each event is sent by a
+	 * single relay at a time.
+	 */
+	@Modifying
+	@Transactional
+	@Query("update OutboxEvent e set e.nextAttemptAt = :leaseEnd where e.id in :ids and e.failed = false "
+			+ "and e.nextAttemptAt <= :now")
+	int claim(@Param("ids") Collection<Long> ids, @Param("now") Instant now, @Param("leaseEnd") Instant leaseEnd);
+
+}
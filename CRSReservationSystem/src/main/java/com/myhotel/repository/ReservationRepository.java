@@ -1,11 +1,52 @@
 package com.myhotel.repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.myhotel.domain.Reservation;
+import com.myhotel.dto.ReservationDTO;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+	/**
+	 * Get the reservations of a hotel starting up to a date, seeking past the
+	 * (startDate, id) key of the last reservation already read. Answered from the
+	 * (hotel_id, start_date) index.
+	 */
+	@Query("select new com.myhotel.dto.ReservationDTO(r.id, r.guestId, r.hotelId, r.roomId, r.categoryId, r.offerId, "
+			+ "r.charges, r.startDate, r.endDate, r.status) from Reservation r where r.hotelId = :hotelId "
+			+ "and r.startDate <= :to and (r.startDate > :afterDate or (r.startDate = :afterDate and r.id > :afterId)) "
+			+ "order by r.startDate, r.id")
+	List<ReservationDTO> findByHotelIdAfter(@Param("hotelId") Long hotelId, @Param("to") LocalDate to,
+			@Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Pageable page);
+
+	/**
+	 * Get the reservations of a guest, seeking past the (startDate, id) key of the
+	 * last reservation already read. Answered from the (guest_id, start_date)
+	 * index.
+	 */
+	@Query("select new com.myhotel.dto.ReservationDTO(r.id, r.guestId, r.hotelId, r.roomId, r.categoryId, r.offerId, "
+			+ "r.charges, r.startDate, r.endDate, r.status) from Reservation r where r.guestId = :guestId "
+			+ "and (r.startDate > :afterDate or (r.startDate = :afterDate and r.id > :afterId)) "
+			+ "order by r.startDate, r.id")
+	List<ReservationDTO> findByGuestIdAfter(@Param("guestId") Long guestId, @Param("afterDate") LocalDate afterDate,
+			@Param("afterId") Long afterId, Pageable page);
+
+	List<Reservation> findAllByGroupIdOrderById(String groupId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select r from Reservation r where r.id = :reservationId")
+	Optional<Reservation> findByIdForUpdate(@Param("reservationId") Long reservationId);
+
 }
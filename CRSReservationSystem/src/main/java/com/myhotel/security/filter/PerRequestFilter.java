@@ -1,10 +1,6 @@
 package com.myhotel.security.filter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -13,14 +9,13 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.myhotel.security.util.JwtUtil;
+import com.myhotel.security.util.VerifiedToken;
 
 @Service
 public class PerRequestFilter extends OncePerRequestFilter {
@@ -32,26 +27,15 @@ public class PerRequestFilter extends OncePerRequestFilter {
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
-		String username = null;
 		String authorization = request.getHeader("Authorization");
-		Collection<? extends GrantedAuthority> grantedAuthorities = null;
+		VerifiedToken verified = null;
 		if (authorization != null && authorization.startsWith(BEARER)) {
 			String token = authorization.substring(7);
-			username = jwtUtil.extractUsername(token);
-			grantedAuthorities = jwtUtil.extractAuthorities(token);
-
+			verified = jwtUtil.verify(token);
 		}
-		if (grantedAuthorities != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			Map<String, String> authority = (Map<String, String>) ((ArrayList) grantedAuthorities).get(0);
-
-			List<GrantedAuthority> authorities = new ArrayList<>();
-
-			for (Map.Entry<String, String> entry : authority.entrySet()) {
-				SimpleGrantedAuthority simpleGrantedAuthority = new SimpleGrantedAuthority(entry.getValue());
-				authorities.add(simpleGrantedAuthority);
-			}
-			UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(username, authorization,
-					authorities);
+		if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
+					verified.getUsername(), authorization, verified.getAuthorities());
 			token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 			SecurityContextHolder.getContext().setAuthentication(token);
 		}
@@ -4,12 +4,17 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -19,9 +24,17 @@ public class JwtUtil {
 
 	private static final String SECRET = "SecretKey";
 
+	private static final long MAX_VERIFIED_TOKENS = 10000;
+
+	// Verified tokens are kept until they expire, so a token is parsed once
+	private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+			.maximumSize(MAX_VERIFIED_TOKENS).expireAfter(new TokenExpiry()).build();
+
+	private final Function<String, VerifiedToken> verifier = token -> new VerifiedToken(extractAllClaims(token));
+
 	public String generateToken(UserDetails userDetails) {
 		Map<String, Object> claims = new HashMap<>();
-		claims.put("Authorities", userDetails.getAuthorities());
+		claims.put("authorities", userDetails.getAuthorities());
 		return createToken(claims, userDetails.getUsername());
 	}
 
@@ -35,8 +48,20 @@ public class JwtUtil {
 		return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
 	}
 
+	/**
+	 * Get the verified claims of the token, the signature is only checked the
+	 * first time a token is seen.
+	 *
+	 * @param String token.
+	 * @return the VerifiedToken.
+	 * @throws io.jsonwebtoken.JwtException when the token is invalid or expired.
+	 */
+	public VerifiedToken verify(String token) {
+		return verifiedTokens.get(token, verifier);
+	}
+
 	public <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-		final Claims claims = extractAllClaims(token);
+		final Claims claims = verify(token).getClaims();
 		return claimResolver.apply(claims);
 	}
 
@@ -60,4 +85,24 @@ public class JwtUtil {
 	public Collection<? extends GrantedAuthority> extractAuthorities(String token) {
 		return extractClaim(token, claims -> claims.get("authorities", Collection.class));
 	}
-}
\ No newline at end of file
+
+	private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+		@Override
+		public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+			Date expiration = verified.getClaims().getExpiration();
+			long remaining = expiration != null ? expiration.getTime() - System.currentTimeMillis() : 0;
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -1,7 +1,11 @@
 package com.myhotel.service;
 
+import java.time.LocalDate;
+
 import com.myhotel.domain.Reservation;
+import com.myhotel.dto.GroupReservationDTO;
 import com.myhotel.dto.ReservationDTO;
+import com.myhotel.dto.ReservationPageDTO;
 
 public interface ReservationService {
 
@@ -11,10 +15,62 @@ public interface ReservationService {
 	 */
 	ReservationDTO create(ReservationDTO reservationReqObj);
 
+	/**
+	 * @param GroupReservationDTO
+	 * @return GroupReservationDTO
+	 */
+	GroupReservationDTO createGroup(GroupReservationDTO groupReqObj);
+
+	/**
+	 * @param groupId
+	 * @return GroupReservationDTO
+	 */
+	GroupReservationDTO getGroup(String groupId);
+
+	/**
+	 * @param reservationId
+	 * @return ReservationDTO
+	 */
+	ReservationDTO cancel(Long reservationId);
+
+	/**
+	 * @param reservationId
+	 * @param startDate
+	 * @param endDate
+	 * @return ReservationDTO
+	 */
+	ReservationDTO modify(Long reservationId, LocalDate startDate, LocalDate endDate);
+
 	/**
 	 * @param reservationId
 	 * @return Reservation
 	 */
 	Reservation get(Long reservationId);
 
+	/**
+	 * @param hotelId
+	 * @param from
+	 * @param to
+	 * @param cursor
+	 * @param size
+	 * @return ReservationPageDTO
+	 */
+	ReservationPageDTO getByHotel(Long hotelId, LocalDate from, LocalDate to, String cursor, int size);
+
+	/**
+	 * @param hotelId
+	 * @param cursor
+	 * @param size
+	 * @return ReservationPageDTO
+	 */
+	ReservationPageDTO getArrivals(Long hotelId, String cursor, int size);
+
+	/**
+	 * @param guestId
+	 * @param cursor
+	 * @param size
+	 * @return ReservationPageDTO
+	 */
+	ReservationPageDTO getByGuest(Long guestId, String cursor, int size);
+
 }
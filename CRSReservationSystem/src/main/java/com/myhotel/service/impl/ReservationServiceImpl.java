@@ -1,23 +1,45 @@
 package com.myhotel.service.impl;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.myhotel.domain.OutboxEvent;
 import com.myhotel.domain.Reservation;
+import com.myhotel.domain.ReservationStatus;
+import com.myhotel.dto.GroupReservationDTO;
+import com.myhotel.dto.GroupRoomDTO;
 import com.myhotel.dto.ReservationDTO;
-import com.myhotel.feign.dto.CategoryDTO;
+import com.myhotel.dto.ReservationPageDTO;
+import com.myhotel.exception.ReservationNotChangeableException;
+import com.myhotel.exception.RoomNotAvailableException;
+import com.myhotel.feign.dto.BookingQuoteDTO;
 import com.myhotel.feign.dto.GuestDTO;
-import com.myhotel.feign.dto.OfferDTO;
-import com.myhotel.feign.dto.RoomDTO;
 import com.myhotel.feignservice.GuestFeignService;
 import com.myhotel.feignservice.HotelFeignService;
+import com.myhotel.repository.OutboxEventRepository;
 import com.myhotel.repository.ReservationRepository;
 import com.myhotel.service.ReservationService;
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
@@ -33,192 +55,358 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ReservationServiceImpl implements ReservationService {
 
+	private static final int MAX_PAGE_SIZE = 500;
+
+	private static final String CURSOR_SEPARATOR = ":";
+
+	private static final String ROLE_ADMIN = "ROLE_ADMIN";
+
 	private HotelFeignService hotelFeignService;
 	private GuestFeignService guestFeignService;
 	private ReservationRepository reservationRepository;
+	private OutboxEventRepository outboxEventRepository;
+	private ExecutorService lookupExecutor;
+	private TransactionTemplate transactionTemplate;
 
 	public ReservationServiceImpl(HotelFeignService hotelFeignService, ReservationRepository reservationRepository,
-			GuestFeignService guestFeignService) {
+			GuestFeignService guestFeignService, @Qualifier("lookupExecutor") ExecutorService lookupExecutor,
+			OutboxEventRepository outboxEventRepository, PlatformTransactionManager transactionManager) {
 		this.hotelFeignService = hotelFeignService;
 		this.reservationRepository = reservationRepository;
 		this.guestFeignService = guestFeignService;
+		this.lookupExecutor = lookupExecutor;
+		this.outboxEventRepository = outboxEventRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	/**
-	 * Creates a Reservation.
+	 * Creates a Reservation. The booking quote and the guest are looked up
+	 * concurrently, then the Reservation is saved as pending on a free room along
+	 * with the event booking the room, in one local transaction. The room is
+	 * booked in the hotel service by the BookingRelay.
 	 * 
 	 * @param ReservationDTO , for creating Reservation.
 	 * @return the saved ReservationDTO.
+	 * @throws RoomNotAvailableException when the quote has no room left.
 	 */
 	@Override
 	public ReservationDTO create(ReservationDTO reservationReqObj) {
 
 		LocalDate startDate = reservationReqObj.getStartDate();
 		LocalDate endDate = reservationReqObj.getEndDate();
-		List<LocalDate> requestedDates = getListOfDates(startDate, endDate);
 
-		RoomDTO room = getAvailableRooms(reservationReqObj, startDate, endDate);
-		OfferDTO offerDTO = getOffer(reservationReqObj);
-		CategoryDTO category = getCategory(reservationReqObj);
+		CompletableFuture<BookingQuoteDTO> quote = CompletableFuture
+				.supplyAsync(() -> getQuote(reservationReqObj.getHotelId(), reservationReqObj.getCategoryId(),
+						reservationReqObj.getOfferId(), startDate, endDate), lookupExecutor);
+		CompletableFuture<GuestDTO> guest = CompletableFuture.supplyAsync(this::getPrincipalUser, lookupExecutor);
+
+		BookingQuoteDTO bookingQuote = join(quote);
+		Long roomId = pickRoom(reservationReqObj, bookingQuote.getRoomIds());
+		GuestDTO guestDTO = join(guest);
 
-		return converteEntityToDTO(createReservationEntry(category, requestedDates, offerDTO, reservationReqObj, room));
+		return converteEntityToDTO(transactionTemplate.execute(status -> {
+			Reservation reservation = createEntry(reservationReqObj, bookingQuote, roomId, guestDTO, null);
+			outboxEventRepository.save(OutboxEvent.book(reservation));
+			return reservation;
+		}));
 	}
 
 	/**
-	 * Get the logged in principal
+	 * Creates the Reservations of a group, booked all together or not at all. The
+	 * booking quote of every category and the guest are looked up concurrently,
+	 * then the rooms of all the categories are picked against the pending
+	 * reservations with a single query. The Reservations are saved as pending
+	 * along with their events in one local transaction, and the BookingRelay
+	 * books all the rooms of the group in one call to the hotel service.
+	 * 
+	 * @param GroupReservationDTO , with the rooms to reserve by category.
+	 * @return the saved GroupReservationDTO.
+	 * @throws RoomNotAvailableException when a category has not enough rooms
+	 *                                   left, nothing is saved then.
 	 */
-	@HystrixCommand(fallbackMethod = "getPrincipalFallback")
-	private GuestDTO getPrincipalUser() {
-		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-		Object principal = auth.getPrincipal();
-		GuestDTO guest = guestFeignService.getGuestByName(principal.toString());
-		return guest != null ? guest : new GuestDTO();
+	@Override
+	public GroupReservationDTO createGroup(GroupReservationDTO groupReqObj) {
+
+		LocalDate startDate = groupReqObj.getStartDate();
+		LocalDate endDate = groupReqObj.getEndDate();
+
+		List<CompletableFuture<BookingQuoteDTO>> quotes = new ArrayList<>();
+		groupReqObj.getRooms()
+				.forEach(room -> quotes.add(CompletableFuture.supplyAsync(() -> getQuote(groupReqObj.getHotelId(),
+						room.getCategoryId(), room.getOfferId(), startDate, endDate), lookupExecutor)));
+		CompletableFuture<GuestDTO> guest = CompletableFuture.supplyAsync(this::getPrincipalUser, lookupExecutor);
+
+		List<BookingQuoteDTO> bookingQuotes = new ArrayList<>();
+		quotes.forEach(quote -> bookingQuotes.add(join(quote)));
+		List<List<Long>> roomIds = pickRooms(groupReqObj, bookingQuotes);
+		GuestDTO guestDTO = join(guest);
+
+		String groupId = UUID.randomUUID().toString();
+		List<Reservation> reservations = transactionTemplate.execute(status -> {
+			List<Reservation> saved = new ArrayList<>();
+			for (int i = 0; i < roomIds.size(); i++) {
+				ReservationDTO reservationReqObj = ReservationDTO.builder().hotelId(groupReqObj.getHotelId())
+						.categoryId(groupReqObj.getRooms().get(i).getCategoryId()).startDate(startDate)
+						.endDate(endDate).build();
+				for (Long roomId : roomIds.get(i)) {
+					Reservation reservation = createEntry(reservationReqObj, bookingQuotes.get(i), roomId, guestDTO,
+							groupId);
+					outboxEventRepository.save(OutboxEvent.book(reservation));
+					saved.add(reservation);
+				}
+			}
+			return saved;
+		});
+		return converteEntitiesToGroupDTO(groupId, reservations);
 	}
 
 	/**
-	 * Circuit breaker fallback method for getting current logged in principal
+	 * Fetch the Reservations of a group, with the status of the group.
+	 * 
+	 * @param String groupId
+	 * @return the GroupReservationDTO, without reservations when the group is not
+	 *         found.
 	 */
-	public GuestDTO getPrincipalFallback() {
-		log.error("Guest Service is down ");
-		return GuestDTO.builder().id(0L).name("Fallback").build();
+	@Override
+	public GroupReservationDTO getGroup(String groupId) {
+		return converteEntitiesToGroupDTO(groupId, reservationRepository.findAllByGroupIdOrderById(groupId));
 	}
 
 	/**
-	 * Creates a Reservation.
+	 * Cancels a Reservation. The Reservation is cancelled along with the event
+	 * releasing its nights in one local transaction, the BookingRelay releases
+	 * them in the hotel service.
 	 * 
-	 * @param CategoryDTO
-	 * @param List<LocalDate>
-	 * @param OfferDTO
-	 * @param ReservationDTO
-	 * @param RoomDTO         for creating Reservation.
-	 * @return the saved Reservation.
+	 * @param Long reservationId
+	 * @return the cancelled ReservationDTO.
+	 * @throws IllegalArgumentException          when the Reservation is not found.
+	 * @throws AccessDeniedException             when the Reservation is of
+	 *                                           another guest.
+	 * @throws ReservationNotChangeableException when the Reservation is not
+	 *                                           confirmed.
 	 */
-	private Reservation createReservationEntry(CategoryDTO category, List<LocalDate> requestedDates, OfferDTO offerDTO,
-			ReservationDTO reservationReqObj, RoomDTO room) {
+	@Override
+	public ReservationDTO cancel(Long reservationId) {
+		checkOwner(reservationId);
+		return converteEntityToDTO(transactionTemplate.execute(status -> {
+			Reservation reservation = lockChangeable(reservationId);
+			reservation.setStatus(ReservationStatus.CANCELLED);
+			reservationRepository.save(reservation);
+			outboxEventRepository.save(OutboxEvent.cancel(reservation));
+			return reservation;
+		}));
+	}
+
+	/**
+	 * Modifies the dates of a Reservation on its room. The Reservation is saved
+	 * as pending with the new stay and the charges of its nights, along with the
+	 * event changing the nights in one local transaction. The BookingRelay
+	 * releases and books only the nights which differ between the two stays,
+	 * and restores the previous stay when the new nights cannot be booked.
+	 * 
+	 * @param Long      reservationId
+	 * @param LocalDate startDate, LocalDate endDate of the new stay.
+	 * @return the modified ReservationDTO.
+	 * @throws IllegalArgumentException          when the Reservation is not found.
+	 * @throws AccessDeniedException             when the Reservation is of
+	 *                                           another guest.
+	 * @throws ReservationNotChangeableException when the Reservation is not
+	 *                                           confirmed.
+	 */
+	@Override
+	public ReservationDTO modify(Long reservationId, LocalDate startDate, LocalDate endDate) {
+		checkOwner(reservationId);
+		return converteEntityToDTO(transactionTemplate.execute(status -> {
+			Reservation reservation = lockChangeable(reservationId);
+			if (startDate.equals(reservation.getStartDate()) && endDate.equals(reservation.getEndDate()))
+				return reservation;
+
+			OutboxEvent event = OutboxEvent.modify(reservation, reservation.getStartDate(),
+					reservation.getEndDate(), reservation.getCharges());
+			if (reservation.getCharges() != null)
+				reservation.setCharges(reservation.getCharges() / nights(reservation.getStartDate(),
+						reservation.getEndDate()) * nights(startDate, endDate));
+			reservation.setStartDate(startDate);
+			reservation.setEndDate(endDate);
+			reservation.setStatus(ReservationStatus.PENDING);
+			reservationRepository.save(reservation);
+
+			event.setStartDate(startDate);
+			event.setEndDate(endDate);
+			outboxEventRepository.save(event);
+			return reservation;
+		}));
+	}
 
-		updateBookingDates(requestedDates, reservationReqObj, room.getId());
-		Double charges = category != null ? category.getCharges() : 0;
+	private long nights(LocalDate startDate, LocalDate endDate) {
+		return ChronoUnit.DAYS.between(startDate, endDate) + 1;
+	}
 
-		Double offerValue = offerDTO != null ? offerDTO.getValue() : 0;
-		Double totalCharges = (charges - offerValue) * requestedDates.size();
+	// Admins change any Reservation, guests only their own
+	private void checkOwner(Long reservationId) {
+		Reservation reservation = reservationRepository.findById(reservationId).orElseThrow(
+				() -> new IllegalArgumentException("Unable to find reservation with id: " + reservationId));
 
-		return createEntry(reservationReqObj, totalCharges, offerDTO, room);
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		if (auth.getAuthorities().stream().anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority())))
+			return;
+		if (!Objects.equals(getPrincipalUser().getId(), reservation.getGuestId()))
+			throw new AccessDeniedException("Reservation with id: " + reservationId + " is of another guest");
 	}
 
 	/**
-	 * Fetch the OfferDTO.
-	 * 
-	 * @param ReservationDTO , for getting Offer using the offerId.
-	 * @return the OfferDTO.
+	 * Locks a Reservation to change it. Reservations saved before the statuses
+	 * were introduced were booked right away, they are confirmed.
 	 */
-	@HystrixCommand(fallbackMethod = "getOfferFallback")
-	private OfferDTO getOffer(ReservationDTO reservationReqObj) {
-		OfferDTO offer = hotelFeignService.getOffer(reservationReqObj.getHotelId(), reservationReqObj.getOfferId(),
-				reservationReqObj.getCategoryId()).getBody();
-		return offer != null ? offer : OfferDTO.builder().id(0L).build();
+	private Reservation lockChangeable(Long reservationId) {
+		Reservation reservation = reservationRepository.findByIdForUpdate(reservationId).orElseThrow(
+				() -> new IllegalArgumentException("Unable to find reservation with id: " + reservationId));
+		if ((reservation.getStatus() != null && reservation.getStatus() != ReservationStatus.CONFIRMED)
+				|| outboxEventRepository.existsByReservationIdAndFailedFalse(reservationId))
+			throw new ReservationNotChangeableException(reservationId, reservation.getStatus());
+		return reservation;
 	}
 
 	/**
-	 * Fetch the OfferDTO fallback method
+	 * Waits for a lookup, rethrowing its failure as it was raised.
 	 */
-	public OfferDTO getOfferFallback() {
-		log.error("Offer Service is down ");
-		return OfferDTO.builder().id(0L).build();
+	private <T> T join(CompletableFuture<T> lookup) {
+		try {
+			return lookup.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
 	}
 
 	/**
-	 * Fetch the CategoryDTO.
-	 * 
-	 * @param ReservationDTO , for getting Category using the categoryId.
-	 * @return the CategoryDTO.
+	 * Get the logged in principal
 	 */
-	@HystrixCommand(fallbackMethod = "getCategoryFallback")
-	private CategoryDTO getCategory(ReservationDTO reservationReqObj) {
-		CategoryDTO category = hotelFeignService
-				.getCategory(reservationReqObj.getHotelId(), reservationReqObj.getCategoryId()).getBody();
-		return category != null ? category : new CategoryDTO();
+	@HystrixCommand(fallbackMethod = "getPrincipalFallback")
+	private GuestDTO getPrincipalUser() {
+		Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+		Object principal = auth.getPrincipal();
+		GuestDTO guest = guestFeignService.getGuestByName(principal.toString());
+		return guest != null ? guest : new GuestDTO();
 	}
 
 	/**
-	 * Fetch the CategoryDTO fallback method
+	 * Circuit breaker fallback method for getting current logged in principal
 	 */
-	public CategoryDTO getCategoryFallback() {
-		log.error("Category Service is down ");
-		return CategoryDTO.builder().id(0L).build();
+	public GuestDTO getPrincipalFallback() {
+		log.error("Guest Service is down ");
+		return GuestDTO.builder().id(0L).name("Fallback").build();
 	}
 
 	/**
-	 * Updating the booking dates in the Room entity
+	 * Fetch the BookingQuoteDTO, with the free rooms of the category and the
+	 * charges of the requested dates once the offer is applied.
+	 * 
+	 * @param Long      hotelId
+	 * @param Long      categoryId
+	 * @param Long      offerId, optional offer to apply.
+	 * @param LocalDate startDate
+	 * @param LocalDate endDate , for getting the quote.
+	 * @return the BookingQuoteDTO.
 	 */
-	private RoomDTO updateBookingDates(List<LocalDate> requestedDates, ReservationDTO reservationReqObj, Long roomId) {
-		RoomDTO roomRequestDTO = new RoomDTO();
-		roomRequestDTO.setCategoryId(reservationReqObj.getCategoryId());
-		roomRequestDTO.setBookedDates(requestedDates);
-
-		RoomDTO room = hotelFeignService.updateBooking(reservationReqObj.getHotelId(), roomId, roomRequestDTO)
-				.getBody();
-		return room != null ? room : new RoomDTO();
+	@HystrixCommand(fallbackMethod = "getQuoteFallback")
+	private BookingQuoteDTO getQuote(Long hotelId, Long categoryId, Long offerId, LocalDate startDate,
+			LocalDate endDate) {
+		BookingQuoteDTO quote = hotelFeignService
+				.getBookingQuote(hotelId, categoryId, offerId, startDate.toString(), endDate.toString()).getBody();
+		return quote != null ? quote : new BookingQuoteDTO();
 	}
 
 	/**
-	 * Getting the list of dates using the start date and end date.
+	 * Fetch the BookingQuoteDTO fallback method
 	 */
-	private List<LocalDate> getListOfDates(LocalDate startDate, LocalDate endDate) {
-
-		if (startDate.isAfter(endDate)) {
-			log.error("Start Date: {} is greater than: {}", startDate, endDate);
-		}
-		Stream<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1));
-		return dates.collect(Collectors.toList());
+	public BookingQuoteDTO getQuoteFallback(Long hotelId, Long categoryId, Long offerId, LocalDate startDate,
+			LocalDate endDate) {
+		log.error("Hotel Service is down ");
+		return new BookingQuoteDTO();
 	}
 
 	/**
-	 * Fetch the RoomDTO.
+	 * Picks the first room of the quote no pending reservation is booking for the
+	 * dates yet. A room booked meanwhile in the hotel service is replaced by the
+	 * BookingRelay.
 	 * 
 	 * @param ReservationDTO
-	 * @param LocalDate      startDate
-	 * @param LocalDate      endDate , for getting Room.
-	 * @return the RoomDTO.
+	 * @param List<Long>     roomIds, available for the requested dates.
+	 * @return the room id.
+	 * @throws RoomNotAvailableException when all the rooms are taken.
 	 */
-	@HystrixCommand(fallbackMethod = "getAvailableRoomsFallback")
-	private RoomDTO getAvailableRooms(ReservationDTO reservationReqObj, LocalDate startDate, LocalDate endDate) {
-
-		List<RoomDTO> rooms = hotelFeignService.getAvailableRooms(reservationReqObj.getHotelId(), startDate.toString(),
-				endDate.toString(), reservationReqObj.getCategoryId()).getBody();
-
-		RoomDTO room = new RoomDTO();
-
-		if (rooms != null && !rooms.isEmpty())
-			room = rooms.get(0);
-
-		return room;
+	private Long pickRoom(ReservationDTO reservationReqObj, List<Long> roomIds) {
+		if (roomIds != null && !roomIds.isEmpty()) {
+			List<Long> claimed = outboxEventRepository.findClaimedRoomIds(roomIds, reservationReqObj.getStartDate(),
+					reservationReqObj.getEndDate());
+			for (Long roomId : roomIds)
+				if (!claimed.contains(roomId))
+					return roomId;
+		}
+		throw new RoomNotAvailableException(reservationReqObj.getHotelId(), reservationReqObj.getCategoryId(),
+				reservationReqObj.getStartDate(), reservationReqObj.getEndDate());
 	}
 
 	/**
-	 * Getting the list of available rooms fallback.
+	 * Picks the rooms of every category of a group, the first ones of each quote
+	 * no pending reservation is booking for the dates yet, a room being picked
+	 * once.
+	 * 
+	 * @param GroupReservationDTO
+	 * @param List<BookingQuoteDTO> quotes, of the categories in the order of the
+	 *                              group rooms.
+	 * @return the room ids of every category, in the order of the group rooms.
+	 * @throws RoomNotAvailableException when a category has not enough rooms
+	 *                                   left.
 	 */
-	@SuppressWarnings("unused")
-	private RoomDTO getAvailableRoomsFallback(Long hotelId, LocalDate startDate, LocalDate endDate, Long categoryId) {
-		log.error("Room Service is down ");
-		return new RoomDTO();
+	private List<List<Long>> pickRooms(GroupReservationDTO groupReqObj, List<BookingQuoteDTO> quotes) {
+		Set<Long> candidates = new LinkedHashSet<>();
+		quotes.forEach(quote -> {
+			if (quote.getRoomIds() != null)
+				candidates.addAll(quote.getRoomIds());
+		});
+		Set<Long> taken = new HashSet<>(candidates.isEmpty() ? List.of()
+				: outboxEventRepository.findClaimedRoomIds(candidates, groupReqObj.getStartDate(),
+						groupReqObj.getEndDate()));
+
+		List<List<Long>> picked = new ArrayList<>();
+		for (int i = 0; i < quotes.size(); i++) {
+			GroupRoomDTO room = groupReqObj.getRooms().get(i);
+			List<Long> roomIds = new ArrayList<>();
+			if (quotes.get(i).getRoomIds() != null)
+				for (Long roomId : quotes.get(i).getRoomIds())
+					if (roomIds.size() < room.getCount() && taken.add(roomId))
+						roomIds.add(roomId);
+
+			if (roomIds.size() < room.getCount())
+				throw new RoomNotAvailableException(groupReqObj.getHotelId(), room.getCategoryId(),
+						groupReqObj.getStartDate(), groupReqObj.getEndDate());
+			picked.add(roomIds);
+		}
+		return picked;
 	}
 
 	/**
 	 * Creates a Reservation.
 	 * 
 	 * @param ReservationDTO ,
-	 * @param Double         toatlCharges,
-	 * @param OfferDTO
-	 * @param RoomDTO        for creating Reservation.
+	 * @param BookingQuoteDTO quote, with the total charges and the offer applied.
+	 * @param Long            roomId,
+	 * @param GuestDTO        for creating Reservation.
+	 * @param String          groupId, of the group the Reservation is part of, or
+	 *                        null.
 	 * @return the saved Reservation.
 	 */
-	private Reservation createEntry(ReservationDTO reservationReqObj, Double totalCharges, OfferDTO offerDTO,
-			RoomDTO roomDTO) {
+	private Reservation createEntry(ReservationDTO reservationReqObj, BookingQuoteDTO quote, Long roomId,
+			GuestDTO guest, String groupId) {
 
 		Reservation reservation = Reservation.builder().categoryId(reservationReqObj.getCategoryId())
-				.charges(totalCharges).startDate(reservationReqObj.getStartDate())
-				.endDate(reservationReqObj.getEndDate()).guestId(getPrincipalUser().getId())
-				.hotelId(reservationReqObj.getHotelId()).offerId(offerDTO.getId()).roomId(roomDTO.getId()).build();
+				.charges(quote.getTotal()).startDate(reservationReqObj.getStartDate())
+				.endDate(reservationReqObj.getEndDate()).guestId(guest.getId())
+				.hotelId(reservationReqObj.getHotelId()).offerId(quote.getOfferId()).roomId(roomId)
+				.status(ReservationStatus.PENDING).groupId(groupId).build();
 		reservationRepository.save(reservation);
 
 		return reservation != null ? reservation : new Reservation();
@@ -228,7 +416,47 @@ public class ReservationServiceImpl implements ReservationService {
 		return ReservationDTO.builder().id(reservation.getId()).categoryId(reservation.getCategoryId())
 				.charges(reservation.getCharges()).endDate(reservation.getEndDate()).guestId(reservation.getGuestId())
 				.hotelId(reservation.getHotelId()).offerId(reservation.getOfferId()).roomId(reservation.getRoomId())
-				.startDate(reservation.getStartDate()).build();
+				.startDate(reservation.getStartDate()).status(reservation.getStatus()).build();
+	}
+
+	// A group is rejected as soon as a room is, confirmed once all its rooms are
+	private GroupReservationDTO converteEntitiesToGroupDTO(String groupId, List<Reservation> reservations) {
+		GroupReservationDTO group = GroupReservationDTO.builder().groupId(groupId).reservations(new ArrayList<>())
+				.build();
+		if (reservations.isEmpty())
+			return group;
+
+		Reservation first = reservations.get(0);
+		group.setHotelId(first.getHotelId());
+		group.setStartDate(first.getStartDate());
+		group.setEndDate(first.getEndDate());
+
+		Map<Long, GroupRoomDTO> rooms = new LinkedHashMap<>();
+		double charges = 0;
+		Set<ReservationStatus> statuses = new HashSet<>();
+		for (Reservation reservation : reservations) {
+			group.getReservations().add(converteEntityToDTO(reservation));
+			GroupRoomDTO room = rooms.computeIfAbsent(reservation.getCategoryId(), categoryId -> GroupRoomDTO
+					.builder().categoryId(categoryId).offerId(reservation.getOfferId()).build());
+			room.setCount(room.getCount() + 1);
+			charges += reservation.getCharges() != null ? reservation.getCharges() : 0;
+			statuses.add(reservation.getStatus());
+		}
+		group.setRooms(new ArrayList<>(rooms.values()));
+		group.setCharges(charges);
+		group.setStatus(groupStatus(statuses));
+		return group;
+	}
+
+	// Rooms cancelled from a confirmed group leave it confirmed
+	private ReservationStatus groupStatus(Set<ReservationStatus> statuses) {
+		if (statuses.contains(ReservationStatus.REJECTED))
+			return ReservationStatus.REJECTED;
+		if (statuses.contains(ReservationStatus.PENDING))
+			return ReservationStatus.PENDING;
+		if (statuses.contains(ReservationStatus.CONFIRMED))
+			return ReservationStatus.CONFIRMED;
+		return ReservationStatus.CANCELLED;
 	}
 
 	/**
@@ -243,4 +471,98 @@ public class ReservationServiceImpl implements ReservationService {
 		return reservation.orElse(new Reservation());
 	}
 
+	/**
+	 * Fetch a page of the reservations of a hotel starting between the dates
+	 * provided, ordered by start date.
+	 * 
+	 * @param Long      hotelId
+	 * @param LocalDate from, LocalDate to, both inclusive.
+	 * @param String    cursor, of the page to fetch, null for the first page.
+	 * @param int       size, of the page.
+	 * @return the ReservationPageDTO.
+	 * @throws IllegalArgumentException when the cursor is malformed.
+	 */
+	@Override
+	public ReservationPageDTO getByHotel(Long hotelId, LocalDate from, LocalDate to, String cursor, int size) {
+		int limit = pageSize(size);
+		LocalDate afterDate = cursor != null ? cursorDate(cursor) : from;
+		Long afterId = cursor != null ? cursorId(cursor) : 0L;
+		if (afterDate.isBefore(from)) {
+			afterDate = from;
+			afterId = 0L;
+		}
+		return toPage(reservationRepository.findByHotelIdAfter(hotelId, to, afterDate, afterId,
+				PageRequest.of(0, limit + 1)), limit);
+	}
+
+	/**
+	 * Fetch a page of the reservations of a hotel starting today.
+	 * 
+	 * @param Long   hotelId
+	 * @param String cursor, of the page to fetch, null for the first page.
+	 * @param int    size, of the page.
+	 * @return the ReservationPageDTO.
+	 */
+	@Override
+	public ReservationPageDTO getArrivals(Long hotelId, String cursor, int size) {
+		LocalDate today = LocalDate.now();
+		return getByHotel(hotelId, today, today, cursor, size);
+	}
+
+	/**
+	 * Fetch a page of the reservations of a guest, ordered by start date.
+	 * 
+	 * @param Long   guestId
+	 * @param String cursor, of the page to fetch, null for the first page.
+	 * @param int    size, of the page.
+	 * @return the ReservationPageDTO.
+	 * @throws IllegalArgumentException when the cursor is malformed.
+	 */
+	@Override
+	public ReservationPageDTO getByGuest(Long guestId, String cursor, int size) {
+		int limit = pageSize(size);
+		LocalDate afterDate = cursor != null ? cursorDate(cursor) : LocalDate.EPOCH;
+		Long afterId = cursor != null ? cursorId(cursor) : 0L;
+		return toPage(
+				reservationRepository.findByGuestIdAfter(guestId, afterDate, afterId, PageRequest.of(0, limit + 1)),
+				limit);
+	}
+
+	private int pageSize(int size) {
+		return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+	}
+
+	/**
+	 * One row past the page is fetched, its presence tells a next page exists. The
+	 * cursor is the (startDate, id) key of the last reservation of the page.
+	 */
+	private ReservationPageDTO toPage(List<ReservationDTO> rows, int limit) {
+		if (rows.size() <= limit)
+			return ReservationPageDTO.builder().reservations(rows).build();
+
+		List<ReservationDTO> reservations = rows.subList(0, limit);
+		ReservationDTO last = reservations.get(limit - 1);
+		return ReservationPageDTO.builder().reservations(reservations)
+				.next(last.getStartDate() + CURSOR_SEPARATOR + last.getId()).build();
+	}
+
+	private LocalDate cursorDate(String cursor) {
+		try {
+			return LocalDate.parse(cursorPart(cursor, 0));
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+		}
+	}
+
+	private Long cursorId(String cursor) {
+		return Long.valueOf(cursorPart(cursor, 1));
+	}
+
+	private String cursorPart(String cursor, int index) {
+		String[] parts = cursor.split(CURSOR_SEPARATOR);
+		if (parts.length != 2)
+			throw new IllegalArgumentException("Invalid cursor: " + cursor);
+		return parts[index];
+	}
+
 }
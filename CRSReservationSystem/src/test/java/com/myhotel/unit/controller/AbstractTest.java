@@ -14,7 +14,7 @@ public abstract class AbstractTest {
 
 	public static String asJsonString(final Object obj) {
 		try {
-			return new ObjectMapper().writeValueAsString(obj);
+			return new ObjectMapper().findAndRegisterModules().writeValueAsString(obj);
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
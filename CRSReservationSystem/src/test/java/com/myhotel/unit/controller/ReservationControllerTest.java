@@ -2,10 +2,15 @@ package com.myhotel.unit.controller;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import javax.ws.rs.core.MediaType;
 
@@ -15,12 +20,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myhotel.controller.impl.ReservationControllerImpl;
+import com.myhotel.domain.ReservationStatus;
+import com.myhotel.dto.GroupReservationDTO;
+import com.myhotel.dto.GroupRoomDTO;
 import com.myhotel.dto.ReservationDTO;
+import com.myhotel.dto.ReservationPageDTO;
+import com.myhotel.exception.ReservationNotChangeableException;
+import com.myhotel.exception.RoomNotAvailableException;
+import com.myhotel.idempotency.IdempotencyStore;
 import com.myhotel.service.ReservationService;
 
 class ReservationControllerTest extends AbstractTest {
@@ -33,6 +47,10 @@ class ReservationControllerTest extends AbstractTest {
 	@Mock
 	ReservationService reservationService;
 
+	@Spy
+	IdempotencyStore idempotencyStore = new IdempotencyStore(null, new ObjectMapper().findAndRegisterModules(), 100,
+			60);
+
 	@BeforeEach
 	public void setup() {
 
@@ -78,4 +96,129 @@ class ReservationControllerTest extends AbstractTest {
 
 	}
 
+	@Test
+	void testReservationNoRoomAvailable() throws Exception {
+
+		ReservationDTO reservationReqObj = reservationRequestObj();
+
+		lenient().doThrow(new RoomNotAvailableException(1L, 1L, reservationReqObj.getStartDate(),
+				reservationReqObj.getEndDate())).when(reservationService).create(Mockito.any(ReservationDTO.class));
+
+		mockMvc.perform(post("/api/v1/reservations").contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(reservationReqObj)).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isConflict());
+
+	}
+
+	@Test
+	void testReservationRetriedWithIdempotencyKey() throws Exception {
+
+		lenient().doReturn(reservationResponseObj()).when(reservationService).create(Mockito.any(ReservationDTO.class));
+
+		mockMvc.perform(post("/api/v1/reservations").header("Idempotency-Key", "key-1")
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(reservationRequestObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated());
+		mockMvc.perform(post("/api/v1/reservations").header("Idempotency-Key", "key-1")
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(reservationRequestObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isCreated())
+				.andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.id", is(1)));
+
+		Mockito.verify(reservationService, Mockito.times(1)).create(Mockito.any(ReservationDTO.class));
+	}
+
+	@Test
+	void testReservationWithTooLongIdempotencyKey() throws Exception {
+
+		mockMvc.perform(post("/api/v1/reservations").header("Idempotency-Key", "k".repeat(300))
+				.contentType(MediaType.APPLICATION_JSON).content(asJsonString(reservationRequestObj()))
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+
+		Mockito.verify(reservationService, Mockito.never()).create(Mockito.any(ReservationDTO.class));
+	}
+
+	private GroupReservationDTO groupRequestObj(int count) {
+		return GroupReservationDTO.builder().hotelId(1L).startDate(LocalDate.parse("2021-02-03"))
+				.endDate(LocalDate.parse("2021-02-07"))
+				.rooms(List.of(GroupRoomDTO.builder().categoryId(1L).count(count).build())).build();
+	}
+
+	@Test
+	void testGroupReservation() throws Exception {
+
+		GroupReservationDTO group = groupRequestObj(2);
+		group.setGroupId("group-1");
+		group.setReservations(List.of(reservationResponseObj(), reservationResponseObj()));
+
+		lenient().doReturn(group).when(reservationService).createGroup(Mockito.any(GroupReservationDTO.class));
+
+		mockMvc.perform(post("/api/v1/reservations/groups").contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(groupRequestObj(2))).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isCreated()).andExpect(MockMvcResultMatchers.jsonPath("$.groupId", is("group-1")))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.reservations.length()", is(2)));
+
+	}
+
+	@Test
+	void testGroupReservationWithoutRooms() throws Exception {
+
+		mockMvc.perform(post("/api/v1/reservations/groups").contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(groupRequestObj(0))).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+
+		Mockito.verify(reservationService, Mockito.never()).createGroup(Mockito.any(GroupReservationDTO.class));
+	}
+
+	@Test
+	void testCancelReservation() throws Exception {
+
+		ReservationDTO reservation = reservationResponseObj();
+		reservation.setStatus(ReservationStatus.CANCELLED);
+
+		lenient().doReturn(reservation).when(reservationService).cancel(1L);
+
+		mockMvc.perform(delete("/api/v1/reservations/1").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(MockMvcResultMatchers.jsonPath("$.status", is("CANCELLED")));
+
+	}
+
+	@Test
+	void testModifyReservationInProgress() throws Exception {
+
+		lenient().doThrow(new ReservationNotChangeableException(1L, ReservationStatus.PENDING))
+				.when(reservationService).modify(1L, LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-07"));
+
+		mockMvc.perform(put("/api/v1/reservations/1").contentType(MediaType.APPLICATION_JSON)
+				.content(asJsonString(reservationRequestObj())).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isConflict());
+
+	}
+
+	@Test
+	void testGetByHotel() throws Exception {
+
+		ReservationPageDTO page = ReservationPageDTO.builder().reservations(List.of(reservationResponseObj()))
+				.next("2021-02-03:1").build();
+
+		lenient().doReturn(page).when(reservationService).getByHotel(1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-10"), null, 50);
+
+		mockMvc.perform(get("/api/v1/reservations/hotels/1").param("from", "2021-02-01").param("to", "2021-02-10")
+				.accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.reservations[0].id", is(1)))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.next", is("2021-02-03:1")));
+
+	}
+
+	@Test
+	void testGetByGuestInvalidCursor() throws Exception {
+
+		lenient().doThrow(new IllegalArgumentException("Invalid cursor: abc")).when(reservationService)
+				.getByGuest(1L, "abc", 50);
+
+		mockMvc.perform(get("/api/v1/reservations/guests/1").param("cursor", "abc").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+
+	}
+
 }
@@ -0,0 +1,193 @@
+package com.myhotel.unit.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myhotel.domain.IdempotentRequest;
+import com.myhotel.dto.ReservationDTO;
+import com.myhotel.idempotency.IdempotencyStore;
+import com.myhotel.repository.IdempotentRequestRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+	@Mock
+	private IdempotentRequestRepository idempotentRequestRepository;
+
+	private IdempotencyStore idempotencyStore;
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@BeforeEach
+	public void setup() {
+		idempotencyStore = new IdempotencyStore(idempotentRequestRepository, new ObjectMapper().findAndRegisterModules(),
+				100, 60);
+	}
+
+	private ReservationDTO reservationObj(Long categoryId) {
+		return ReservationDTO.builder().hotelId(1L).categoryId(categoryId).startDate(LocalDate.parse("2021-02-03"))
+				.endDate(LocalDate.parse("2021-02-07")).build();
+	}
+
+	private Supplier<ResponseEntity<ReservationDTO>> create(HttpStatus status) {
+		return () -> {
+			calls.incrementAndGet();
+			return new ResponseEntity<>(ReservationDTO.builder().id(1L).build(), status);
+		};
+	}
+
+	@Test
+	void testDuplicateReplayed() {
+		ResponseEntity<ReservationDTO> first = idempotencyStore.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+		ResponseEntity<ReservationDTO> second = idempotencyStore.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+
+		assertEquals(1, calls.get());
+		assertEquals(HttpStatus.CREATED, second.getStatusCode());
+		assertSame(first.getBody(), second.getBody());
+		assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		Mockito.verifyNoInteractions(idempotentRequestRepository);
+	}
+
+	@Test
+	void testKeyReusedWithAnotherRequest() {
+		idempotencyStore.execute("key-1", reservationObj(1L), ReservationDTO.class, create(HttpStatus.CREATED));
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, idempotencyStore
+				.execute("key-1", reservationObj(2L), ReservationDTO.class, create(HttpStatus.CREATED)).getStatusCode());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void testServerErrorNotKept() {
+		idempotencyStore.execute("key-1", reservationObj(1L), ReservationDTO.class,
+				create(HttpStatus.INTERNAL_SERVER_ERROR));
+
+		assertEquals(HttpStatus.CREATED, idempotencyStore
+				.execute("key-1", reservationObj(1L), ReservationDTO.class, create(HttpStatus.CREATED)).getStatusCode());
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	void testConcurrentDuplicatesShareResponse() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<ResponseEntity<ReservationDTO>> first = CompletableFuture
+				.supplyAsync(() -> idempotencyStore.execute("key-1", reservationObj(1L), ReservationDTO.class, () -> {
+					started.countDown();
+					await(release);
+					return create(HttpStatus.CREATED).get();
+				}));
+		started.await(5, TimeUnit.SECONDS);
+
+		CompletableFuture<ResponseEntity<ReservationDTO>> second = CompletableFuture.supplyAsync(() -> idempotencyStore
+				.execute("key-1", reservationObj(1L), ReservationDTO.class, create(HttpStatus.CREATED)));
+		release.countDown();
+
+		assertSame(first.get(5, TimeUnit.SECONDS).getBody(), second.get(5, TimeUnit.SECONDS).getBody());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void testDuplicateGivesUpWaiting() throws Exception {
+		idempotencyStore.setWaitMillis(10);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<ResponseEntity<ReservationDTO>> first = CompletableFuture
+				.supplyAsync(() -> idempotencyStore.execute("key-1", reservationObj(1L), ReservationDTO.class, () -> {
+					started.countDown();
+					await(release);
+					return create(HttpStatus.CREATED).get();
+				}));
+		started.await(5, TimeUnit.SECONDS);
+
+		assertEquals(HttpStatus.CONFLICT, idempotencyStore
+				.execute("key-1", reservationObj(1L), ReservationDTO.class, create(HttpStatus.CREATED)).getStatusCode());
+		release.countDown();
+		assertEquals(HttpStatus.CREATED, first.get(5, TimeUnit.SECONDS).getStatusCode());
+	}
+
+	@Test
+	void testPersistedResponseReplayed() {
+		idempotencyStore.setPersist(true);
+		idempotencyStore.execute("key-1", reservationObj(1L), ReservationDTO.class, create(HttpStatus.CREATED));
+
+		ArgumentCaptor<IdempotentRequest> saved = ArgumentCaptor.forClass(IdempotentRequest.class);
+		Mockito.verify(idempotentRequestRepository).save(saved.capture());
+		assertEquals(":key-1", saved.getValue().getId());
+
+		IdempotencyStore restarted = new IdempotencyStore(idempotentRequestRepository,
+				new ObjectMapper().findAndRegisterModules(), 100, 60);
+		restarted.setPersist(true);
+		doReturn(Optional.of(saved.getValue())).when(idempotentRequestRepository).findById(":key-1");
+
+		ResponseEntity<ReservationDTO> replayed = restarted.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+
+		assertEquals(1, calls.get());
+		assertEquals(1L, replayed.getBody().getId());
+		assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+	}
+
+	@Test
+	void testResponseKeptWhenNotPersisted() {
+		idempotencyStore.setPersist(true);
+		Mockito.doThrow(new IllegalStateException("database down")).when(idempotentRequestRepository)
+				.save(Mockito.any(IdempotentRequest.class));
+
+		ResponseEntity<ReservationDTO> first = idempotencyStore.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+		ResponseEntity<ReservationDTO> second = idempotencyStore.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+
+		assertEquals(HttpStatus.CREATED, first.getStatusCode());
+		assertEquals("true", second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void testExpiredPersistedResponseIgnored() {
+		idempotencyStore.setPersist(true);
+		doReturn(Optional.of(IdempotentRequest.builder().id(":key-1").fingerprint("x").status(201)
+				.createdAt(Instant.now().minusSeconds(7200)).build())).when(idempotentRequestRepository)
+						.findById(":key-1");
+
+		ResponseEntity<ReservationDTO> response = idempotencyStore.execute("key-1", reservationObj(1L),
+				ReservationDTO.class, create(HttpStatus.CREATED));
+
+		assertEquals(1, calls.get());
+		assertNull(response.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,359 @@
+package com.myhotel.unit.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.myhotel.domain.OutboxEvent;
+import com.myhotel.domain.OutboxEventType;
+import com.myhotel.domain.Reservation;
+import com.myhotel.domain.ReservationStatus;
+import com.myhotel.feign.dto.BookingChangeDTO;
+import com.myhotel.feign.dto.BookingQuoteDTO;
+import com.myhotel.feign.dto.RoomDTO;
+import com.myhotel.feignservice.HotelFeignService;
+import com.myhotel.outbox.BookingRelay;
+import com.myhotel.repository.OutboxEventRepository;
+import com.myhotel.repository.ReservationRepository;
+import com.myhotel.security.util.JwtUtil;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+
+@ExtendWith(MockitoExtension.class)
+class BookingRelayTest {
+
+	@InjectMocks
+	private BookingRelay bookingRelay;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private ReservationRepository reservationRepository;
+
+	@Mock
+	private HotelFeignService hotelFeignService;
+
+	@Mock
+	private JwtUtil jwtUtil;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	public void setup() {
+		lenient().doAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size()).when(outboxEventRepository)
+				.claim(Mockito.anyCollection(), Mockito.any(Instant.class), Mockito.any(Instant.class));
+	}
+
+	private OutboxEvent eventObj() {
+		return OutboxEvent.builder().id(1L).type(OutboxEventType.BOOK).reservationId(1L).hotelId(1L).roomId(1L)
+				.categoryId(1L).startDate(LocalDate.parse("2021-02-03")).endDate(LocalDate.parse("2021-02-04"))
+				.nextAttemptAt(Instant.now()).build();
+	}
+
+	private Reservation reservationObj() {
+		return Reservation.builder().id(1L).hotelId(1L).roomId(1L).categoryId(1L).offerId(1L)
+				.status(ReservationStatus.PENDING).build();
+	}
+
+	private FeignException error(int status) {
+		Request request = Request.create(Request.HttpMethod.POST, "/api/v1/hotels/1/rooms/1/bookings",
+				new HashMap<>(), null, StandardCharsets.UTF_8, null);
+		return FeignException.errorStatus("HotelFeignService#bookRoom",
+				Response.builder().status(status).reason("error").request(request).headers(new HashMap<>())
+						.build());
+	}
+
+	private void mockDue(OutboxEvent event, Reservation reservation) {
+		doReturn(List.of(event)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(Optional.of(reservation)).when(reservationRepository).findById(1L);
+	}
+
+	@Test
+	void testRelayConfirmsBooking() {
+		OutboxEvent event = eventObj();
+		Reservation reservation = reservationObj();
+		mockDue(event, reservation);
+
+		assertEquals(1, bookingRelay.relay());
+
+		ArgumentCaptor<RoomDTO> room = ArgumentCaptor.forClass(RoomDTO.class);
+		Mockito.verify(hotelFeignService).bookRoom(Mockito.eq(1L), Mockito.eq(1L), room.capture());
+		assertEquals(List.of(LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04")),
+				room.getValue().getBookedDates());
+		assertEquals(1L, room.getValue().getReservationId());
+		assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+		Mockito.verify(outboxEventRepository).delete(event);
+	}
+
+	@Test
+	void testRelayMovesToNextRoomOnConflict() {
+		OutboxEvent event = eventObj();
+		Reservation reservation = reservationObj();
+		mockDue(event, reservation);
+		doThrow(error(409)).when(hotelFeignService).bookRoom(Mockito.eq(1L), Mockito.eq(1L), Mockito.any(RoomDTO.class));
+		BookingQuoteDTO quote = BookingQuoteDTO.builder().roomIds(List.of(2L, 3L)).build();
+		doReturn(ResponseEntity.ok(quote)).when(hotelFeignService).getBookingQuote(1L, 1L, 1L, "2021-02-03",
+				"2021-02-04");
+		doReturn(List.of(2L)).when(outboxEventRepository).findClaimedRoomIds(List.of(2L, 3L),
+				LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04"));
+
+		bookingRelay.relay();
+
+		assertEquals(3L, event.getRoomId());
+		assertEquals(3L, reservation.getRoomId());
+		assertEquals(ReservationStatus.PENDING, reservation.getStatus());
+		Mockito.verify(outboxEventRepository).save(event);
+		Mockito.verify(outboxEventRepository, Mockito.never()).delete(event);
+	}
+
+	@Test
+	void testRelayRetriesWhenQuoteFails() {
+		OutboxEvent event = eventObj();
+		Reservation reservation = reservationObj();
+		mockDue(event, reservation);
+		doThrow(error(409)).when(hotelFeignService).bookRoom(Mockito.eq(1L), Mockito.eq(1L), Mockito.any(RoomDTO.class));
+		doThrow(error(503)).when(hotelFeignService).getBookingQuote(1L, 1L, 1L, "2021-02-03", "2021-02-04");
+
+		assertEquals(1, bookingRelay.relay());
+
+		assertEquals(1, event.getAttempts());
+		assertTrue(event.getNextAttemptAt().isAfter(Instant.now()));
+		assertEquals(1L, event.getRoomId());
+		Mockito.verify(outboxEventRepository).save(event);
+		Mockito.verifyNoInteractions(transactionManager);
+	}
+
+	@Test
+	void testRelayRejectsWhenNoRoomLeft() {
+		OutboxEvent event = eventObj();
+		Reservation reservation = reservationObj();
+		mockDue(event, reservation);
+		doThrow(error(409)).when(hotelFeignService).bookRoom(Mockito.eq(1L), Mockito.eq(1L), Mockito.any(RoomDTO.class));
+		doReturn(ResponseEntity.ok(BookingQuoteDTO.builder().roomIds(List.of()).build())).when(hotelFeignService)
+				.getBookingQuote(1L, 1L, 1L, "2021-02-03", "2021-02-04");
+
+		bookingRelay.relay();
+
+		assertEquals(ReservationStatus.REJECTED, reservation.getStatus());
+		assertTrue(event.isFailed());
+		Mockito.verify(outboxEventRepository).save(event);
+	}
+
+	private OutboxEvent groupEventObj(Long id, Long roomId) {
+		OutboxEvent event = eventObj();
+		event.setId(id);
+		event.setReservationId(id);
+		event.setRoomId(roomId);
+		event.setGroupId("group-1");
+		return event;
+	}
+
+	@Test
+	void testRelayBooksGroupAtOnce() {
+		OutboxEvent event = groupEventObj(1L, 1L);
+		OutboxEvent event2 = groupEventObj(2L, 2L);
+		doReturn(List.of(event, event2)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(List.of(event, event2)).when(outboxEventRepository).findAllByGroupIdAndFailedFalseOrderById("group-1");
+		Reservation reservation = reservationObj();
+		Reservation reservation2 = reservationObj();
+		doReturn(Optional.of(reservation)).when(reservationRepository).findById(1L);
+		doReturn(Optional.of(reservation2)).when(reservationRepository).findById(2L);
+
+		bookingRelay.relay();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<RoomDTO>> rooms = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(hotelFeignService).bookRooms(Mockito.eq(1L), rooms.capture());
+		assertEquals(List.of(1L, 2L), List.of(rooms.getValue().get(0).getId(), rooms.getValue().get(1).getId()));
+		Mockito.verify(hotelFeignService, Mockito.never()).bookRoom(Mockito.anyLong(), Mockito.anyLong(),
+				Mockito.any(RoomDTO.class));
+		assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+		assertEquals(ReservationStatus.CONFIRMED, reservation2.getStatus());
+		Mockito.verify(outboxEventRepository).delete(event);
+		Mockito.verify(outboxEventRepository).delete(event2);
+	}
+
+	@Test
+	void testRelayRejectsWholeGroup() {
+		OutboxEvent event = groupEventObj(1L, 1L);
+		OutboxEvent event2 = groupEventObj(2L, 2L);
+		doReturn(List.of(event)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(List.of(event, event2)).when(outboxEventRepository).findAllByGroupIdAndFailedFalseOrderById("group-1");
+		Reservation reservation = reservationObj();
+		Reservation reservation2 = reservationObj();
+		doReturn(Optional.of(reservation)).when(reservationRepository).findById(1L);
+		doReturn(Optional.of(reservation2)).when(reservationRepository).findById(2L);
+		doThrow(error(409)).when(hotelFeignService).bookRooms(Mockito.eq(1L), Mockito.anyList());
+		doReturn(ResponseEntity.ok(BookingQuoteDTO.builder().roomIds(List.of(2L, 3L)).build())).when(hotelFeignService)
+				.getBookingQuote(1L, 1L, 1L, "2021-02-03", "2021-02-04");
+		doReturn(List.of(3L)).when(outboxEventRepository).findClaimedRoomIdsOutsideGroup(List.of(2L, 3L),
+				LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04"), "group-1");
+
+		bookingRelay.relay();
+
+		assertEquals(ReservationStatus.REJECTED, reservation.getStatus());
+		assertEquals(ReservationStatus.REJECTED, reservation2.getStatus());
+		assertTrue(event.isFailed());
+		assertTrue(event2.isFailed());
+	}
+
+	@Test
+	void testRelayHoldsBackGroupNotDue() {
+		OutboxEvent event = groupEventObj(1L, 1L);
+		OutboxEvent event2 = groupEventObj(2L, 2L);
+		event2.setNextAttemptAt(Instant.now().plusSeconds(60));
+		doReturn(List.of(event)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(List.of(event, event2)).when(outboxEventRepository).findAllByGroupIdAndFailedFalseOrderById("group-1");
+		doReturn(1L).when(outboxEventRepository).countWaitingInGroup(Mockito.eq("group-1"), Mockito.any(Instant.class));
+
+		assertEquals(0, bookingRelay.relay());
+
+		Mockito.verifyNoInteractions(hotelFeignService);
+		Mockito.verify(outboxEventRepository, Mockito.never()).save(Mockito.any(OutboxEvent.class));
+	}
+
+	@Test
+	void testRelaySkipsEventClaimedElsewhere() {
+		doReturn(List.of(eventObj())).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(0).when(outboxEventRepository).claim(Mockito.eq(List.of(1L)), Mockito.any(Instant.class),
+				Mockito.any(Instant.class));
+
+		assertEquals(0, bookingRelay.relay());
+
+		Mockito.verifyNoInteractions(hotelFeignService);
+		Mockito.verify(outboxEventRepository, Mockito.never()).delete(Mockito.any(OutboxEvent.class));
+	}
+
+	@Test
+	void testRunStopsOnPageHeldBack() {
+		bookingRelay.setBatchSize(2);
+		OutboxEvent event = groupEventObj(1L, 1L);
+		OutboxEvent event2 = groupEventObj(2L, 2L);
+		event2.setGroupId("group-2");
+		doReturn(List.of(event, event2)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doReturn(List.of(event)).when(outboxEventRepository).findAllByGroupIdAndFailedFalseOrderById("group-1");
+		doReturn(List.of(event2)).when(outboxEventRepository).findAllByGroupIdAndFailedFalseOrderById("group-2");
+		doReturn(1L).when(outboxEventRepository).countWaitingInGroup(Mockito.anyString(), Mockito.any(Instant.class));
+
+		bookingRelay.run();
+
+		Mockito.verify(outboxEventRepository, Mockito.times(1)).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		Mockito.verifyNoInteractions(hotelFeignService);
+	}
+
+	private OutboxEvent modifyEventObj() {
+		OutboxEvent event = eventObj();
+		event.setType(OutboxEventType.MODIFY);
+		event.setStartDate(LocalDate.parse("2021-02-04"));
+		event.setEndDate(LocalDate.parse("2021-02-05"));
+		event.setPreviousStartDate(LocalDate.parse("2021-02-03"));
+		event.setPreviousEndDate(LocalDate.parse("2021-02-04"));
+		event.setPreviousCharges(1800.0);
+		return event;
+	}
+
+	@Test
+	void testRelayChangesOnlyModifiedNights() {
+		OutboxEvent event = modifyEventObj();
+		Reservation reservation = reservationObj();
+		mockDue(event, reservation);
+
+		bookingRelay.relay();
+
+		ArgumentCaptor<BookingChangeDTO> change = ArgumentCaptor.forClass(BookingChangeDTO.class);
+		Mockito.verify(hotelFeignService).changeRoom(Mockito.eq(1L), Mockito.eq(1L), change.capture());
+		assertEquals(List.of(LocalDate.parse("2021-02-03")), change.getValue().getRelease());
+		assertEquals(List.of(LocalDate.parse("2021-02-05")), change.getValue().getBook());
+		assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+		Mockito.verify(outboxEventRepository).delete(event);
+	}
+
+	@Test
+	void testRelayRestoresRefusedModification() {
+		OutboxEvent event = modifyEventObj();
+		Reservation reservation = reservationObj();
+		reservation.setStartDate(LocalDate.parse("2021-02-04"));
+		reservation.setEndDate(LocalDate.parse("2021-02-05"));
+		reservation.setCharges(1800.0);
+		mockDue(event, reservation);
+		doThrow(error(409)).when(hotelFeignService).changeRoom(Mockito.eq(1L), Mockito.eq(1L),
+				Mockito.any(BookingChangeDTO.class));
+
+		bookingRelay.relay();
+
+		assertEquals(LocalDate.parse("2021-02-03"), reservation.getStartDate());
+		assertEquals(LocalDate.parse("2021-02-04"), reservation.getEndDate());
+		assertEquals(ReservationStatus.CONFIRMED, reservation.getStatus());
+		assertTrue(event.isFailed());
+	}
+
+	@Test
+	void testRelayReleasesCancelledNights() {
+		OutboxEvent event = eventObj();
+		event.setType(OutboxEventType.CANCEL);
+		doReturn(List.of(event)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+
+		bookingRelay.relay();
+
+		ArgumentCaptor<BookingChangeDTO> change = ArgumentCaptor.forClass(BookingChangeDTO.class);
+		Mockito.verify(hotelFeignService).changeRoom(Mockito.eq(1L), Mockito.eq(1L), change.capture());
+		assertEquals(List.of(LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04")),
+				change.getValue().getRelease());
+		assertTrue(change.getValue().getBook().isEmpty());
+		Mockito.verify(outboxEventRepository).delete(event);
+		Mockito.verify(reservationRepository, Mockito.never()).save(Mockito.any(Reservation.class));
+	}
+
+	@Test
+	void testRelayRetriesWithBackoff() {
+		OutboxEvent event = eventObj();
+		event.setAttempts(2);
+		doReturn(List.of(event)).when(outboxEventRepository).findDue(Mockito.any(Instant.class),
+				Mockito.any(Pageable.class));
+		doThrow(error(503)).when(hotelFeignService).bookRoom(Mockito.eq(1L), Mockito.eq(1L), Mockito.any(RoomDTO.class));
+
+		Instant before = Instant.now();
+		bookingRelay.relay();
+
+		assertEquals(3, event.getAttempts());
+		assertTrue(!event.getNextAttemptAt().isBefore(before.plusMillis(4000)));
+		assertTrue(!event.isFailed());
+		Mockito.verify(outboxEventRepository).save(event);
+		Mockito.verify(reservationRepository, Mockito.never()).save(Mockito.any(Reservation.class));
+	}
+
+}
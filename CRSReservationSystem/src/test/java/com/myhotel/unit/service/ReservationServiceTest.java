@@ -1,12 +1,54 @@
 package com.myhotel.unit.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.myhotel.domain.OutboxEvent;
+import com.myhotel.domain.OutboxEventType;
+import com.myhotel.domain.Reservation;
+import com.myhotel.domain.ReservationStatus;
+import com.myhotel.dto.GroupReservationDTO;
+import com.myhotel.dto.GroupRoomDTO;
+import com.myhotel.dto.ReservationDTO;
+import com.myhotel.dto.ReservationPageDTO;
+import com.myhotel.exception.ReservationNotChangeableException;
+import com.myhotel.exception.RoomNotAvailableException;
+import com.myhotel.feign.dto.BookingQuoteDTO;
+import com.myhotel.feign.dto.GuestDTO;
+import com.myhotel.feign.dto.RoomDTO;
+import com.myhotel.feignservice.GuestFeignService;
+import com.myhotel.feignservice.HotelFeignService;
+import com.myhotel.repository.OutboxEventRepository;
 import com.myhotel.repository.ReservationRepository;
 import com.myhotel.service.impl.ReservationServiceImpl;
 
@@ -21,4 +63,252 @@ public class ReservationServiceTest {
 	@Mock
 	private ReservationRepository reservationRepository;
 
+	@Mock
+	private HotelFeignService hotelFeignService;
+
+	@Mock
+	private GuestFeignService guestFeignService;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Spy
+	private ExecutorService lookupExecutor = new DelegatingSecurityContextExecutorService(
+			Executors.newFixedThreadPool(4));
+
+	@BeforeEach
+	public void setup() {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("guest", null));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private ReservationDTO reservationRequestObj() {
+		ReservationDTO reservation = new ReservationDTO();
+		reservation.setHotelId(1L);
+		reservation.setCategoryId(1L);
+		reservation.setOfferId(1L);
+		reservation.setStartDate(LocalDate.parse("2021-02-03"));
+		reservation.setEndDate(LocalDate.parse("2021-02-04"));
+		return reservation;
+	}
+
+	private void mockQuote() {
+		BookingQuoteDTO quote = BookingQuoteDTO.builder().hotelId(1L).categoryId(1L).roomId(1L)
+				.roomIds(List.of(1L, 2L)).offerId(1L).total(1800.0).build();
+		doReturn(ResponseEntity.ok(quote)).when(hotelFeignService).getBookingQuote(1L, 1L, 1L, "2021-02-03",
+				"2021-02-04");
+	}
+
+	@Test
+	void testCreateSavesBookingEvent() {
+		mockQuote();
+		doReturn(List.of(1L)).when(outboxEventRepository).findClaimedRoomIds(List.of(1L, 2L),
+				LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04"));
+		doReturn(GuestDTO.builder().id(1L).build()).when(guestFeignService).getGuestByName("guest");
+
+		ReservationDTO reservation = reservationService.create(reservationRequestObj());
+
+		assertEquals(2L, reservation.getRoomId());
+		assertEquals(1L, reservation.getGuestId());
+		assertEquals(1L, reservation.getOfferId());
+		assertEquals(1800.0, reservation.getCharges());
+		assertEquals(ReservationStatus.PENDING, reservation.getStatus());
+
+		ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+		Mockito.verify(outboxEventRepository).save(event.capture());
+		assertEquals(2L, event.getValue().getRoomId());
+		assertEquals(LocalDate.parse("2021-02-04"), event.getValue().getEndDate());
+		Mockito.verify(reservationRepository).save(Mockito.any(Reservation.class));
+		Mockito.verify(transactionManager).commit(Mockito.any());
+		Mockito.verify(hotelFeignService, Mockito.never()).bookRoom(Mockito.anyLong(), Mockito.anyLong(),
+				Mockito.any(RoomDTO.class));
+	}
+
+	@Test
+	void testCreateNoRoomAvailable() {
+		mockQuote();
+		doReturn(List.of(1L, 2L)).when(outboxEventRepository).findClaimedRoomIds(List.of(1L, 2L),
+				LocalDate.parse("2021-02-03"), LocalDate.parse("2021-02-04"));
+
+		ReservationDTO reservationReqObj = reservationRequestObj();
+
+		assertThrows(RoomNotAvailableException.class, () -> reservationService.create(reservationReqObj));
+		Mockito.verify(reservationRepository, Mockito.never()).save(Mockito.any(Reservation.class));
+		Mockito.verify(outboxEventRepository, Mockito.never()).save(Mockito.any(OutboxEvent.class));
+	}
+
+	private GroupReservationDTO groupRequestObj(int singles, int doubles) {
+		return GroupReservationDTO.builder().hotelId(1L).startDate(LocalDate.parse("2021-02-03"))
+				.endDate(LocalDate.parse("2021-02-04"))
+				.rooms(List.of(GroupRoomDTO.builder().categoryId(1L).offerId(1L).count(singles).build(),
+						GroupRoomDTO.builder().categoryId(2L).count(doubles).build()))
+				.build();
+	}
+
+	private void mockGroupQuotes() {
+		mockQuote();
+		BookingQuoteDTO quote = BookingQuoteDTO.builder().hotelId(1L).categoryId(2L).roomIds(List.of(3L, 4L))
+				.total(2500.0).build();
+		doReturn(ResponseEntity.ok(quote)).when(hotelFeignService).getBookingQuote(1L, 2L, null, "2021-02-03",
+				"2021-02-04");
+		doReturn(List.of(1L)).when(outboxEventRepository).findClaimedRoomIds(Mockito.anyCollection(),
+				Mockito.eq(LocalDate.parse("2021-02-03")), Mockito.eq(LocalDate.parse("2021-02-04")));
+	}
+
+	@Test
+	void testCreateGroupSavesAllRooms() {
+		mockGroupQuotes();
+		doReturn(GuestDTO.builder().id(1L).build()).when(guestFeignService).getGuestByName("guest");
+
+		GroupReservationDTO group = reservationService.createGroup(groupRequestObj(1, 2));
+
+		assertNotNull(group.getGroupId());
+		assertEquals(ReservationStatus.PENDING, group.getStatus());
+		assertEquals(6800.0, group.getCharges());
+		assertEquals(List.of(2L, 3L, 4L), group.getReservations().stream().map(ReservationDTO::getRoomId)
+				.collect(Collectors.toList()));
+
+		ArgumentCaptor<OutboxEvent> events = ArgumentCaptor.forClass(OutboxEvent.class);
+		Mockito.verify(outboxEventRepository, Mockito.times(3)).save(events.capture());
+		events.getAllValues().forEach(event -> assertEquals(group.getGroupId(), event.getGroupId()));
+		Mockito.verify(outboxEventRepository).findClaimedRoomIds(Mockito.anyCollection(), Mockito.any(),
+				Mockito.any());
+		Mockito.verify(transactionManager).commit(Mockito.any());
+	}
+
+	@Test
+	void testCreateGroupNotEnoughRooms() {
+		mockGroupQuotes();
+
+		GroupReservationDTO groupReqObj = groupRequestObj(2, 2);
+
+		assertThrows(RoomNotAvailableException.class, () -> reservationService.createGroup(groupReqObj));
+		Mockito.verify(reservationRepository, Mockito.never()).save(Mockito.any(Reservation.class));
+		Mockito.verify(outboxEventRepository, Mockito.never()).save(Mockito.any(OutboxEvent.class));
+	}
+
+	@Test
+	void testGetGroupStatus() {
+		Reservation confirmed = Reservation.builder().id(1L).hotelId(1L).categoryId(1L).charges(1000.0)
+				.status(ReservationStatus.CONFIRMED).groupId("group-1").build();
+		Reservation rejected = Reservation.builder().id(2L).hotelId(1L).categoryId(1L).charges(1000.0)
+				.status(ReservationStatus.REJECTED).groupId("group-1").build();
+		doReturn(List.of(confirmed, rejected)).when(reservationRepository).findAllByGroupIdOrderById("group-1");
+
+		GroupReservationDTO group = reservationService.getGroup("group-1");
+
+		assertEquals(ReservationStatus.REJECTED, group.getStatus());
+		assertEquals(2, group.getRooms().get(0).getCount());
+		assertEquals(2000.0, group.getCharges());
+	}
+
+	private Reservation confirmedObj() {
+		return Reservation.builder().id(1L).guestId(1L).hotelId(1L).roomId(1L).categoryId(1L).charges(1800.0)
+				.startDate(LocalDate.parse("2021-02-03")).endDate(LocalDate.parse("2021-02-04"))
+				.status(ReservationStatus.CONFIRMED).build();
+	}
+
+	private void mockChangeable(Reservation reservation) {
+		doReturn(Optional.of(reservation)).when(reservationRepository).findById(1L);
+		doReturn(Optional.of(reservation)).when(reservationRepository).findByIdForUpdate(1L);
+		doReturn(GuestDTO.builder().id(1L).build()).when(guestFeignService).getGuestByName("guest");
+	}
+
+	@Test
+	void testCancelReleasesNights() {
+		mockChangeable(confirmedObj());
+
+		ReservationDTO reservation = reservationService.cancel(1L);
+
+		assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+		ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+		Mockito.verify(outboxEventRepository).save(event.capture());
+		assertEquals(OutboxEventType.CANCEL, event.getValue().getType());
+		assertEquals(LocalDate.parse("2021-02-04"), event.getValue().getEndDate());
+	}
+
+	@Test
+	void testCancelOtherGuest() {
+		Reservation reservation = confirmedObj();
+		reservation.setGuestId(2L);
+		doReturn(Optional.of(reservation)).when(reservationRepository).findById(1L);
+		doReturn(GuestDTO.builder().id(1L).build()).when(guestFeignService).getGuestByName("guest");
+
+		assertThrows(AccessDeniedException.class, () -> reservationService.cancel(1L));
+		Mockito.verify(outboxEventRepository, Mockito.never()).save(Mockito.any(OutboxEvent.class));
+	}
+
+	@Test
+	void testModifySavesDatesAndCharges() {
+		mockChangeable(confirmedObj());
+
+		ReservationDTO reservation = reservationService.modify(1L, LocalDate.parse("2021-02-04"),
+				LocalDate.parse("2021-02-06"));
+
+		assertEquals(ReservationStatus.PENDING, reservation.getStatus());
+		assertEquals(2700.0, reservation.getCharges());
+		assertEquals(LocalDate.parse("2021-02-04"), reservation.getStartDate());
+
+		ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+		Mockito.verify(outboxEventRepository).save(event.capture());
+		assertEquals(OutboxEventType.MODIFY, event.getValue().getType());
+		assertEquals(LocalDate.parse("2021-02-06"), event.getValue().getEndDate());
+		assertEquals(LocalDate.parse("2021-02-03"), event.getValue().getPreviousStartDate());
+		assertEquals(1800.0, event.getValue().getPreviousCharges());
+	}
+
+	@Test
+	void testModifyWhileChangeInProgress() {
+		mockChangeable(confirmedObj());
+		doReturn(true).when(outboxEventRepository).existsByReservationIdAndFailedFalse(1L);
+
+		LocalDate startDate = LocalDate.parse("2021-02-04");
+		LocalDate endDate = LocalDate.parse("2021-02-06");
+		assertThrows(ReservationNotChangeableException.class, () -> reservationService.modify(1L, startDate, endDate));
+		Mockito.verify(outboxEventRepository, Mockito.never()).save(Mockito.any(OutboxEvent.class));
+	}
+
+	private ReservationDTO reservationRowObj(Long id, String startDate) {
+		return ReservationDTO.builder().id(id).hotelId(1L).guestId(1L).startDate(LocalDate.parse(startDate))
+				.endDate(LocalDate.parse(startDate).plusDays(1)).build();
+	}
+
+	@Test
+	void testGetByHotelFirstPage() {
+		doReturn(List.of(reservationRowObj(1L, "2021-02-03"), reservationRowObj(2L, "2021-02-03"),
+				reservationRowObj(3L, "2021-02-04"))).when(reservationRepository).findByHotelIdAfter(1L,
+						LocalDate.parse("2021-02-10"), LocalDate.parse("2021-02-01"), 0L, PageRequest.of(0, 3));
+
+		ReservationPageDTO page = reservationService.getByHotel(1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-10"), null, 2);
+
+		assertEquals(2, page.getReservations().size());
+		assertEquals("2021-02-03:2", page.getNext());
+	}
+
+	@Test
+	void testGetByHotelLastPage() {
+		doReturn(List.of(reservationRowObj(3L, "2021-02-04"))).when(reservationRepository).findByHotelIdAfter(1L,
+				LocalDate.parse("2021-02-10"), LocalDate.parse("2021-02-03"), 2L, PageRequest.of(0, 3));
+
+		ReservationPageDTO page = reservationService.getByHotel(1L, LocalDate.parse("2021-02-01"),
+				LocalDate.parse("2021-02-10"), "2021-02-03:2", 2);
+
+		assertEquals(1, page.getReservations().size());
+		assertNull(page.getNext());
+	}
+
+	@Test
+	void testGetByGuestInvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> reservationService.getByGuest(1L, "2021-02-03", 2));
+		assertThrows(IllegalArgumentException.class, () -> reservationService.getByGuest(1L, "03-02-2021:2", 2));
+	}
+
 }